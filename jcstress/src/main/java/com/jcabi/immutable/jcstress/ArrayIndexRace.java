@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable.jcstress;
+
+import com.jcabi.immutable.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Hash index of {@link Array}, built by two threads at once.
+ *
+ * <p>The array is scanned almost enough times to get its index, so
+ * both actors race to build it and to write it into the slot. Whichever
+ * index wins, all positions must be right, also for the arbiter, which
+ * comes after both.
+ *
+ * @since 2.0
+ */
+@JCStressTest
+@Outcome(id = "10, 42, 31", expect = Expect.ACCEPTABLE, desc = "Found")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Index is broken")
+@State
+public class ArrayIndexRace {
+
+    /**
+     * Scans before the index is built, as in {@link Array}.
+     */
+    private static final int SCANS = Integer.getInteger(
+        "com.jcabi.immutable.Array.scans", 32
+    );
+
+    /**
+     * The array, with every item twice.
+     */
+    private final Array<Integer> array;
+
+    /**
+     * Ctor.
+     */
+    public ArrayIndexRace() {
+        final Collection<Integer> items = new ArrayList<>(64);
+        for (int idx = 0; idx < 64; ++idx) {
+            items.add(idx % 32);
+        }
+        this.array = new Array<>(items);
+        for (int scan = 1; scan < ArrayIndexRace.SCANS; ++scan) {
+            this.array.indexOf(0);
+        }
+    }
+
+    /**
+     * Find the first position.
+     * @param result Where to put it
+     */
+    @Actor
+    public void first(final III_Result result) {
+        result.r1 = this.array.indexOf(10);
+    }
+
+    /**
+     * Find the last position.
+     * @param result Where to put it
+     */
+    @Actor
+    public void last(final III_Result result) {
+        result.r2 = this.array.lastIndexOf(10);
+    }
+
+    /**
+     * Find the position after both.
+     * @param result Where to put it
+     */
+    @Arbiter
+    public void after(final III_Result result) {
+        result.r3 = this.array.indexOf(31);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable.jcstress;
+
+import com.jcabi.immutable.ArraySet;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * {@link ArraySet} published through a plain field.
+ *
+ * <p>The reader either doesn't see the set yet or sees all its items
+ * and finds them.
+ *
+ * @since 2.0
+ */
+@JCStressTest
+@Outcome(id = "-1, -1, 0", expect = Expect.ACCEPTABLE, desc = "Not seen yet")
+@Outcome(id = "4, 10, 1", expect = Expect.ACCEPTABLE, desc = "Seen entirely")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Seen partially built")
+@State
+public class ArraySetPublication {
+
+    /**
+     * The set, racy.
+     */
+    private ArraySet<Integer> set;
+
+    /**
+     * Publish the set.
+     */
+    @Actor
+    public void writer() {
+        this.set = new ArraySet<>(new ArraySet<Integer>().with(1).with(2))
+            .with(3).with(4);
+    }
+
+    /**
+     * Read the set.
+     * @param result Size, sum of items and whether the last one is found
+     */
+    @Actor
+    public void reader(final III_Result result) {
+        final ArraySet<Integer> seen = this.set;
+        if (seen == null) {
+            result.r1 = -1;
+            result.r2 = -1;
+        } else {
+            result.r1 = seen.size();
+            result.r2 = Items.sum(seen);
+            if (seen.contains(4)) {
+                result.r3 = 1;
+            }
+        }
+    }
+}
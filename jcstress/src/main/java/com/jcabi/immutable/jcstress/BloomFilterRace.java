@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable.jcstress;
+
+import com.jcabi.immutable.ArrayMap;
+import com.jcabi.immutable.ArraySet;
+import java.util.ArrayList;
+import java.util.Collection;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZZ_Result;
+
+/**
+ * Bloom filters of {@link ArraySet} and {@link ArrayMap}, built by two
+ * threads at once.
+ *
+ * <p>Filters are built on the first lookup, so both actors race to build
+ * them and to write them into their slots. A filter may have false
+ * positives, but the set and the map must never miss a present item.
+ *
+ * @since 2.0
+ */
+@JCStressTest
+@Outcome(
+    id = "true, false, true, true", expect = Expect.ACCEPTABLE, desc = "Found"
+)
+@Outcome(expect = Expect.FORBIDDEN, desc = "Filter is broken")
+@State
+public class BloomFilterRace {
+
+    /**
+     * The set.
+     */
+    private final ArraySet<Integer> set;
+
+    /**
+     * The map.
+     */
+    private final ArrayMap<Integer, Integer> map;
+
+    /**
+     * Ctor.
+     */
+    public BloomFilterRace() {
+        final Collection<Integer> items = new ArrayList<>(64);
+        ArrayMap<Integer, Integer> all = new ArrayMap<>();
+        for (int idx = 0; idx < 64; ++idx) {
+            items.add(idx);
+            all = all.with(idx, idx);
+        }
+        this.set = new ArraySet<>(items).bloomed(10);
+        this.map = all.bloomed(10);
+    }
+
+    /**
+     * Look up the set.
+     * @param result Where to put the answers
+     */
+    @Actor
+    public void set(final ZZZZ_Result result) {
+        result.r1 = this.set.contains(7);
+        result.r2 = this.set.contains(-7) || this.map.containsKey(-7);
+    }
+
+    /**
+     * Look up the map.
+     * @param result Where to put the answer
+     */
+    @Actor
+    public void map(final ZZZZ_Result result) {
+        result.r3 = this.map.containsKey(13) && this.set.contains(13);
+    }
+
+    /**
+     * Look up both after the race.
+     * @param result Where to put the answer
+     */
+    @Arbiter
+    public void after(final ZZZZ_Result result) {
+        result.r4 = this.set.contains(63) && this.map.containsKey(63);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable.jcstress;
+
+/**
+ * Checks of items, which readers see.
+ *
+ * @since 2.0
+ */
+final class Items {
+
+    /**
+     * A value, which is never in a collection, for NULL items.
+     */
+    private static final int BROKEN = -1000;
+
+    /**
+     * Utility class.
+     */
+    private Items() {
+        // intentionally empty
+    }
+
+    /**
+     * Sum of items, where each NULL counts as a large negative number.
+     * @param items The items
+     * @return Sum
+     */
+    static int sum(final Iterable<Integer> items) {
+        int sum = 0;
+        for (final Integer item : items) {
+            sum += Items.value(item);
+        }
+        return sum;
+    }
+
+    /**
+     * The item or a large negative number, if it's NULL.
+     * @param item The item
+     * @return Its value
+     */
+    static int value(final Integer item) {
+        final int value;
+        if (item == null) {
+            value = Items.BROKEN;
+        } else {
+            value = item;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable.jcstress;
+
+import com.jcabi.immutable.Array;
+import com.jcabi.immutable.ArraySortedSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * Collections with lazily built state, published through plain fields.
+ *
+ * <p>The writer builds the hash index of an {@link Array} and the Bloom
+ * filter of an {@link ArraySortedSet}, and then publishes both. The
+ * reader, which sees them, must see the index and the filter entirely,
+ * since they are reachable only through final fields.
+ *
+ * @since 2.0
+ */
+@JCStressTest
+@Outcome(id = "-1, -1", expect = Expect.ACCEPTABLE, desc = "Not seen yet")
+@Outcome(id = "-1, 1", expect = Expect.ACCEPTABLE, desc = "Set seen")
+@Outcome(id = "40, -1", expect = Expect.ACCEPTABLE, desc = "Array seen")
+@Outcome(id = "40, 1", expect = Expect.ACCEPTABLE, desc = "Both seen")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Seen partially built")
+@State
+public class LazyStatePublication {
+
+    /**
+     * Scans before the index is built, as in {@link Array}.
+     */
+    private static final int SCANS = Integer.getInteger(
+        "com.jcabi.immutable.Array.scans", 32
+    );
+
+    /**
+     * The array, racy.
+     */
+    private Array<Integer> array;
+
+    /**
+     * The set, racy.
+     */
+    private ArraySortedSet<Integer> set;
+
+    /**
+     * Build and publish both.
+     */
+    @Actor
+    public void writer() {
+        final Collection<Integer> items = new ArrayList<>(64);
+        for (int idx = 0; idx < 64; ++idx) {
+            items.add(idx);
+        }
+        final Array<Integer> indexed = new Array<>(items);
+        for (int scan = 0; scan < LazyStatePublication.SCANS; ++scan) {
+            indexed.indexOf(0);
+        }
+        final ArraySortedSet<Integer> bloomed = new ArraySortedSet<>(items)
+            .bloomed(10);
+        bloomed.contains(0);
+        this.array = indexed;
+        this.set = bloomed;
+    }
+
+    /**
+     * Read both.
+     * @param result Position in the array and whether the set has it
+     */
+    @Actor
+    public void reader(final II_Result result) {
+        final Array<Integer> seen = this.array;
+        if (seen == null) {
+            result.r1 = -1;
+        } else {
+            result.r1 = seen.indexOf(40);
+        }
+        final ArraySortedSet<Integer> other = this.set;
+        if (other == null) {
+            result.r2 = -1;
+        } else if (other.contains(40)) {
+            result.r2 = 1;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable.jmh;
+
+import com.jcabi.immutable.ArrayMap;
+import com.jcabi.immutable.AtomicArrayMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writers of {@link AtomicArrayMap} under contention, against a CAS
+ * loop around {@link ArrayMap#with(Object, Object)}.
+ *
+ * <p>Every failed CAS throws away a full copy of the map, while
+ * the combiner makes one copy for a batch of edits, so the combined
+ * writers must have higher throughput at 16 threads.
+ *
+ * @since 2.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class AtomicArrayMapBench {
+
+    /**
+     * Number of keys in the map.
+     */
+    @Param({"1000", "10000"})
+    private int size;
+
+    /**
+     * The map, updated by CAS loops.
+     */
+    private AtomicReference<ArrayMap<Integer, Integer>> cas;
+
+    /**
+     * The map, updated by the combiner.
+     */
+    private AtomicArrayMap<Integer, Integer> combined;
+
+    /**
+     * Fill both maps.
+     */
+    @Setup
+    public void setup() {
+        ArrayMap<Integer, Integer> map = ArrayMap.of();
+        for (int idx = 0; idx < this.size; ++idx) {
+            map = map.with(idx, idx);
+        }
+        this.cas = new AtomicReference<>(map);
+        this.combined = new AtomicArrayMap<>(map);
+    }
+
+    /**
+     * Put a random key by a CAS loop.
+     * @return The new map
+     */
+    @Benchmark
+    public ArrayMap<Integer, Integer> casLoop() {
+        final int key = ThreadLocalRandom.current().nextInt(this.size);
+        ArrayMap<Integer, Integer> before;
+        ArrayMap<Integer, Integer> after;
+        do {
+            before = this.cas.get();
+            after = before.with(key, -key);
+        } while (!this.cas.compareAndSet(before, after));
+        return after;
+    }
+
+    /**
+     * Put a random key through the combiner.
+     * @return The new map
+     */
+    @Benchmark
+    public ArrayMap<Integer, Integer> combiner() {
+        final int key = ThreadLocalRandom.current().nextInt(this.size);
+        return this.combined.put(key, -key);
+    }
+}
@@ -31,6 +31,7 @@ package com.jcabi.immutable;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,12 +47,32 @@ import java.util.ListIterator;
  * its encapsulated values and is annotated with {@code @Immutable}
  * annotation.
  * <p>
+ * Methods {@link #indexOf(Object)}, {@link #lastIndexOf(Object)},
+ * {@link #contains(Object)} and {@link #containsAll(Collection)} scan
+ * the array, which is <b>O(n)</b>. However, when an array is large
+ * enough and has been scanned many times, a hash index is built for it,
+ * and all further lookups are <b>O(1)</b>. The number of scans after
+ * which the index is built is configured by the
+ * {@code com.jcabi.immutable.Array.scans} system property
+ * (32 by default); zero disables the index. The index takes about
+ * six bytes per item, twice as much if some items are repeated, and
+ * arrays of more than 2<sup>28</sup> items are never indexed.
+ * <p>
+ * The index is the only mutable state of the array: a cache in a
+ * one-slot array, which is annotated with {@code @Immutable.Array} only
+ * because the {@code @Immutable} check can't tell a cache from a state.
+ * It is read and written without locks, which is a benign race, since
+ * the items and the answers of the array never depend on the cache.
+ * Only arrays made by constructors and {@code of()} get the slot, while
+ * results of {@code with()}, {@code without()} and {@code apply()}
+ * are never indexed; copy one with {@link #Array(Array)} to index it.
+ * <p>
  * Limitation:
  * Encapsulated objects with exposed mutators can mutate their state.
  *
  * @param <T> Value key type
  * @since 0.1
- * @checkstyle MissingDeprecatedCheck (430 lines)
+ * @checkstyle MissingDeprecatedCheck (1000 lines)
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
@@ -62,17 +83,55 @@ import java.util.ListIterator;
 })
 public final class Array<T> implements List<T> {
 
+    /**
+     * Values of all empty arrays.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * Scans of the array, after which it gets a hash index.
+     */
+    private static final int SCANS = Integer.getInteger(
+        "com.jcabi.immutable.Array.scans", 32
+    );
+
+    /**
+     * The smallest array that may get a hash index.
+     */
+    private static final int INDEXED = 16;
+
+    /**
+     * Empty array.
+     */
+    private static final Array<?> EMPTY = new Array<>();
+
     /**
      * All values.
      */
     @Immutable.Array
     private final transient T[] values;
 
+    /**
+     * Number of scans so far or the {@link HashIndex}, when it's built,
+     * in the only slot; or no slots at all, if the array is never indexed,
+     * because it's shorter than {@link #INDEXED} items, longer than
+     * {@link HashIndex#MAX} items or indexing is disabled.
+     *
+     * <p>This is the only mutable state of the array, a cache. The slot
+     * is read and written without synchronization, which is a benign
+     * race: both the counter and the index are immutable objects, so
+     * the worst that may happen is a lost scan or the index built twice
+     * by two threads. The items and the answers of the array never
+     * depend on what is in the slot.
+     */
+    @Immutable.Array
+    private final transient Object[] index;
+
     /**
      * Public ctor, for an zero-length empty array.
      */
     public Array() {
-        this((T[]) new Object[0]);
+        this((T[]) Array.NOTHING, 0);
     }
 
     /**
@@ -82,6 +141,7 @@ public final class Array<T> implements List<T> {
     public Array(final T... list) {
         this.values = (T[]) new Object[list.length];
         System.arraycopy(list, 0, this.values, 0, list.length);
+        this.index = Array.slot(this.values);
     }
 
     /**
@@ -97,6 +157,7 @@ public final class Array<T> implements List<T> {
         }
         this.values = (T[]) new Object[items.size()];
         items.toArray(this.values);
+        this.index = Array.slot(this.values);
     }
 
     /**
@@ -105,6 +166,7 @@ public final class Array<T> implements List<T> {
      */
     public Array(final Array<T> array) {
         this.values = array.values.clone();
+        this.index = Array.slot(this.values);
     }
 
     /**
@@ -114,6 +176,126 @@ public final class Array<T> implements List<T> {
     public Array(final Collection<T> collection) {
         this.values = (T[]) new Object[collection.size()];
         collection.toArray(this.values);
+        this.index = Array.slot(this.values);
+    }
+
+    /**
+     * Package-private ctor, which takes ownership of the array.
+     *
+     * <p>The array is not copied if its length is exactly {@code length},
+     * so the caller must never change it afterwards. Otherwise, only
+     * the first {@code length} items are copied.
+     *
+     * @param items Items to encapsulate
+     * @param length How many of them to use
+     */
+    Array(final T[] items, final int length) {
+        if (items.length == length) {
+            this.values = items;
+        } else {
+            this.values = (T[]) new Object[length];
+            System.arraycopy(items, 0, this.values, 0, length);
+        }
+        this.index = Array.slot(this.values);
+    }
+
+    /**
+     * Private ctor, which takes ownership of the arrays, without copying.
+     * @param items Items to encapsulate
+     * @param slot Slot of the hash index, empty if it's never built
+     */
+    private Array(final T[] items, final Object[] slot) {
+        this.values = items;
+        this.index = slot;
+    }
+
+    /**
+     * Empty array, which is the same instance every time.
+     * @param <T> Type of items
+     * @return Empty array
+     * @since 2.0
+     */
+    public static <T> Array<T> of() {
+        return (Array<T>) Array.EMPTY;
+    }
+
+    /**
+     * Array of one item.
+     * @param first The item
+     * @param <T> Type of items
+     * @return New array
+     * @since 2.0
+     */
+    public static <T> Array<T> of(final T first) {
+        return new Array<>((T[]) new Object[] {first}, 1);
+    }
+
+    /**
+     * Array of two items.
+     * @param first First item
+     * @param second Second item
+     * @param <T> Type of items
+     * @return New array
+     * @since 2.0
+     */
+    public static <T> Array<T> of(final T first, final T second) {
+        return new Array<>((T[]) new Object[] {first, second}, 2);
+    }
+
+    /**
+     * Array of three items.
+     * @param first First item
+     * @param second Second item
+     * @param third Third item
+     * @param <T> Type of items
+     * @return New array
+     * @since 2.0
+     * @checkstyle MagicNumber (3 lines)
+     */
+    public static <T> Array<T> of(final T first, final T second,
+        final T third) {
+        return new Array<>((T[]) new Object[] {first, second, third}, 3);
+    }
+
+    /**
+     * Array of four items.
+     * @param first First item
+     * @param second Second item
+     * @param third Third item
+     * @param fourth Fourth item
+     * @param <T> Type of items
+     * @return New array
+     * @since 2.0
+     * @checkstyle ParameterNumber (4 lines)
+     * @checkstyle MagicNumber (6 lines)
+     */
+    public static <T> Array<T> of(final T first, final T second,
+        final T third, final T fourth) {
+        return new Array<>(
+            (T[]) new Object[] {first, second, third, fourth}, 4
+        );
+    }
+
+    /**
+     * Array of any number of items, which are copied.
+     * @param items The items
+     * @param <T> Type of items
+     * @return New array or the empty one, if there are no items
+     * @since 2.0
+     */
+    @SafeVarargs
+    public static <T> Array<T> of(final T... items) {
+        final Array<T> array;
+        if (items.length == 0) {
+            array = Array.of();
+        } else {
+            final T[] copy = (T[]) new Object[items.length];
+            for (int idx = 0; idx < items.length; ++idx) {
+                copy[idx] = items[idx];
+            }
+            array = new Array<>(copy, copy.length);
+        }
+        return array;
     }
 
     /**
@@ -129,7 +311,8 @@ public final class Array<T> implements List<T> {
         final T[] items = (T[]) new Object[this.values.length + 1];
         System.arraycopy(this.values, 0, items, 0, this.values.length);
         items[this.values.length] = value;
-        return new Array<>(items);
+        Metrics.ARRAY.copied(items.length);
+        return new Array<>(items, Array.NOTHING);
     }
 
     /**
@@ -150,7 +333,8 @@ public final class Array<T> implements List<T> {
             items[idx] = value;
             ++idx;
         }
-        return new Array<>(items);
+        Metrics.ARRAY.copied(items.length);
+        return new Array<>(items, Array.NOTHING);
     }
 
     /**
@@ -167,7 +351,10 @@ public final class Array<T> implements List<T> {
         for (final T value : vals) {
             list.add(value);
         }
-        return new Array<>(list);
+        Metrics.ARRAY.copied(list.size());
+        return new Array<>(
+            list.toArray((T[]) new Object[list.size()]), Array.NOTHING
+        );
     }
 
     /**
@@ -185,7 +372,8 @@ public final class Array<T> implements List<T> {
         ];
         System.arraycopy(this.values, 0, temp, 0, this.values.length);
         temp[pos] = value;
-        return new Array<>(temp);
+        Metrics.ARRAY.copied(temp.length);
+        return new Array<>(temp, Array.NOTHING);
     }
 
     /**
@@ -216,7 +404,8 @@ public final class Array<T> implements List<T> {
         System.arraycopy(
             this.values, idx + 1, items, idx, this.values.length - idx - 1
         );
-        return new Array<>(items);
+        Metrics.ARRAY.copied(items.length);
+        return new Array<>(items, Array.NOTHING);
     }
 
     /**
@@ -243,6 +432,80 @@ public final class Array<T> implements List<T> {
         return array;
     }
 
+    /**
+     * Make a new array with all edits of the patch.
+     *
+     * <p>Positions of edits refer to this array, not to the array after
+     * earlier edits. The edits are sorted by position and applied in one
+     * pass, which copies the items between them in bulk into one array
+     * of the exact size. So it takes <b>O(n + k log k)</b>, where k is
+     * the size of the patch, while the same chain of
+     * {@link #with(int, Object)} and {@link #withoutIndex(int)} copies
+     * the array k times.
+     *
+     * <p>The method throws {@link ArrayIndexOutOfBoundsException} if
+     * a position is absent in the array, except insertion at the end,
+     * and {@link IllegalArgumentException} if a position is set or
+     * deleted twice.
+     *
+     * @param patch The patch
+     * @return New array
+     * @since 2.0
+     */
+    public Array<T> apply(final Array.Patch<T> patch) {
+        this.throwIfArgumentIsNull(
+            patch, "argument of Array#apply() can't be NULL"
+        );
+        final long[] order = patch.order(this.values.length);
+        int length = this.values.length;
+        for (int idx = 0; idx < patch.size(); ++idx) {
+            if (patch.kind(idx) == Array.Patch.INSERT) {
+                ++length;
+            } else if (patch.kind(idx) == Array.Patch.DELETE) {
+                --length;
+            }
+        }
+        final T[] items = (T[]) new Object[length];
+        int src = 0;
+        int dst = 0;
+        for (final long key : order) {
+            final int idx = (int) key;
+            final int pos = patch.position(idx);
+            System.arraycopy(this.values, src, items, dst, pos - src);
+            dst += pos - src;
+            src = pos;
+            final int kind = patch.kind(idx);
+            if (kind != Array.Patch.DELETE) {
+                items[dst] = patch.value(idx);
+                ++dst;
+            }
+            if (kind != Array.Patch.INSERT) {
+                ++src;
+            }
+        }
+        System.arraycopy(
+            this.values, src, items, dst, this.values.length - src
+        );
+        Metrics.ARRAY.copied(items.length);
+        return new Array<>(items, Array.NOTHING);
+    }
+
+    /**
+     * Concatenate arrays, without copying them.
+     * @param arrays The arrays
+     * @param <T> Type of items
+     * @return Rope of all arrays
+     * @since 2.0
+     */
+    @SafeVarargs
+    public static <T> Rope<T> concat(final Array<T>... arrays) {
+        final Collection<Array<T>> all = new ArrayList<>(arrays.length);
+        for (final Array<T> array : arrays) {
+            all.add(array);
+        }
+        return new Rope<>(all);
+    }
+
     @Override
     public int hashCode() {
         return Arrays.hashCode(this.values);
@@ -278,7 +541,7 @@ public final class Array<T> implements List<T> {
 
     @Override
     public boolean contains(final Object key) {
-        return Arrays.asList(this.values).contains(key);
+        return this.indexOf(key) >= 0;
     }
 
     @Override
@@ -325,7 +588,14 @@ public final class Array<T> implements List<T> {
 
     @Override
     public boolean containsAll(final Collection<?> col) {
-        return Arrays.asList(this.values).containsAll(col);
+        boolean contains = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                contains = false;
+                break;
+            }
+        }
+        return contains;
     }
 
     @Override
@@ -408,12 +678,26 @@ public final class Array<T> implements List<T> {
 
     @Override
     public int indexOf(final Object obj) {
-        return Arrays.asList(this.values).indexOf(obj);
+        final HashIndex hash = this.lookup();
+        final int pos;
+        if (hash == null) {
+            pos = Arrays.asList(this.values).indexOf(obj);
+        } else {
+            pos = hash.first(obj);
+        }
+        return pos;
     }
 
     @Override
     public int lastIndexOf(final Object obj) {
-        return Arrays.asList(this.values).lastIndexOf(obj);
+        final HashIndex hash = this.lookup();
+        final int pos;
+        if (hash == null) {
+            pos = Arrays.asList(this.values).lastIndexOf(obj);
+        } else {
+            pos = hash.last(obj);
+        }
+        return pos;
     }
 
     @Override
@@ -437,6 +721,72 @@ public final class Array<T> implements List<T> {
         );
     }
 
+    /**
+     * Memory taken by the hash index, in bytes.
+     * @return Bytes or zero, if the index is not built (yet)
+     * @since 2.0
+     */
+    public long indexBytes() {
+        final long bytes;
+        if (this.index.length > 0 && this.index[0] instanceof HashIndex) {
+            bytes = HashIndex.class.cast(this.index[0]).bytes();
+        } else {
+            bytes = 0L;
+        }
+        return bytes;
+    }
+
+    /**
+     * Copy all items into another array.
+     * @param target Where to copy
+     * @param pos Position in the target, where the first item goes
+     */
+    void copyTo(final Object[] target, final int pos) {
+        System.arraycopy(this.values, 0, target, pos, this.values.length);
+    }
+
+    /**
+     * Count one more scan and get the hash index, if it's time to have it.
+     * @return The index or NULL, if the array has to be scanned
+     */
+    private HashIndex lookup() {
+        HashIndex hash = null;
+        if (this.index.length > 0) {
+            final Object slot = this.index[0];
+            if (slot instanceof HashIndex) {
+                hash = HashIndex.class.cast(slot);
+            } else {
+                int scans = 1;
+                if (slot != null) {
+                    scans += Integer.class.cast(slot);
+                }
+                if (scans >= Array.SCANS) {
+                    hash = new HashIndex(this.values);
+                    this.index[0] = hash;
+                } else {
+                    this.index[0] = scans;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Make a slot for the hash index of these values.
+     * @param items The values
+     * @return Slot, which is empty if the index is not needed
+     */
+    private static Object[] slot(final Object[] items) {
+        final Object[] slot;
+        if (Array.SCANS > 0 && items.length >= Array.INDEXED
+            && items.length <= HashIndex.MAX) {
+            slot = new Object[1];
+        } else {
+            slot = Array.NOTHING;
+        }
+        return slot;
+    }
+
     /**
      * Throws IllegalArgumentException if the input parameter is null.
      * @param obj Object to check its nullity
@@ -447,4 +797,364 @@ public final class Array<T> implements List<T> {
             throw new IllegalArgumentException(message);
         }
     }
+
+    /**
+     * Edits of an array by positions: items set, inserted and deleted.
+     *
+     * <p>The patch is applied by {@link Array#apply(Array.Patch)}, in one
+     * pass. All positions refer to the array, which the patch is applied
+     * to. Items inserted at the same position keep the order in which
+     * they are added to the patch and go before the item, which is
+     * at this position in the array.
+     *
+     * <p>Every {@code set()}, {@code insert()} and {@code delete()}
+     * copies the patch, so a patch of many edits is made by
+     * {@link Array.Patch.Builder}, which copies them once.
+     *
+     * @param <T> Type of items
+     * @since 2.0
+     */
+    @Immutable
+    public static final class Patch<T> {
+        /**
+         * Kind of edit: the item is inserted.
+         */
+        private static final int INSERT = 0;
+
+        /**
+         * Kind of edit: the item replaces another one.
+         */
+        private static final int SET = 1;
+
+        /**
+         * Kind of edit: the item is deleted.
+         */
+        private static final int DELETE = 2;
+
+        /**
+         * Kind of each edit.
+         */
+        @Immutable.Array
+        private final transient int[] kinds;
+
+        /**
+         * Position of each edit.
+         */
+        @Immutable.Array
+        private final transient int[] positions;
+
+        /**
+         * Item of each edit, NULL if it's deleted.
+         */
+        @Immutable.Array
+        private final transient Object[] items;
+
+        /**
+         * Public ctor, for an empty patch.
+         */
+        public Patch() {
+            this(new int[0], new int[0], Array.NOTHING);
+        }
+
+        /**
+         * Ctor.
+         * @param kinds Kind of each edit
+         * @param positions Position of each edit
+         * @param items Item of each edit
+         */
+        private Patch(final int[] kinds, final int[] positions,
+            final Object[] items) {
+            this.kinds = kinds;
+            this.positions = positions;
+            this.items = items;
+        }
+
+        /**
+         * Make a new patch, which also replaces the item at the position.
+         *
+         * <p>The method copies the patch. Use {@link Array.Patch.Builder}
+         * to make a patch of many edits.
+         *
+         * @param pos The position
+         * @param value The new item
+         * @return New patch
+         */
+        public Array.Patch<T> set(final int pos, final T value) {
+            return new Array.Patch.Builder<>(this).set(pos, value).build();
+        }
+
+        /**
+         * Make a new patch, which also inserts the item before
+         * the position.
+         *
+         * <p>The method copies the patch. Use {@link Array.Patch.Builder}
+         * to make a patch of many edits.
+         *
+         * @param pos The position, up to the size of the array
+         * @param value The new item
+         * @return New patch
+         */
+        public Array.Patch<T> insert(final int pos, final T value) {
+            return new Array.Patch.Builder<>(this).insert(pos, value).build();
+        }
+
+        /**
+         * Make a new patch, which also deletes the item at the position.
+         *
+         * <p>The method copies the patch. Use {@link Array.Patch.Builder}
+         * to make a patch of many edits.
+         *
+         * @param pos The position
+         * @return New patch
+         */
+        public Array.Patch<T> delete(final int pos) {
+            return new Array.Patch.Builder<>(this).delete(pos).build();
+        }
+
+        /**
+         * Number of edits.
+         * @return Size of the patch
+         */
+        public int size() {
+            return this.kinds.length;
+        }
+
+        /**
+         * Is it empty?
+         * @return TRUE if there are no edits
+         */
+        public boolean isEmpty() {
+            return this.kinds.length == 0;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder text = new StringBuilder(0);
+            for (int idx = 0; idx < this.kinds.length; ++idx) {
+                if (idx > 0) {
+                    text.append(' ');
+                }
+                if (this.kinds[idx] == Array.Patch.INSERT) {
+                    text.append('+');
+                } else if (this.kinds[idx] == Array.Patch.SET) {
+                    text.append('=');
+                } else {
+                    text.append('-');
+                }
+                text.append(this.positions[idx]);
+            }
+            return text.toString();
+        }
+
+        /**
+         * Numbers of edits, in the order of applying them, checked
+         * against the size of the array.
+         *
+         * <p>Every number is in the lower half of a long, with
+         * the position and the kind above it, so sorting the longs puts
+         * edits in the order of positions, insertions first and in
+         * the order of adding.
+         *
+         * @param length Size of the array
+         * @return Sort keys, with numbers of edits in their lower halves
+         */
+        private long[] order(final int length) {
+            final long[] keys = new long[this.kinds.length];
+            for (int idx = 0; idx < keys.length; ++idx) {
+                final int pos = this.positions[idx];
+                final boolean insert = this.kinds[idx] == Array.Patch.INSERT;
+                if (pos > length || pos == length && !insert) {
+                    throw new ArrayIndexOutOfBoundsException(
+                        String.format(
+                            "index %d is out of bounds: [0..%d]",
+                            pos, length
+                        )
+                    );
+                }
+                long key = (long) pos << 1;
+                if (!insert) {
+                    key |= 1L;
+                }
+                keys[idx] = key << Integer.SIZE | idx;
+            }
+            Arrays.sort(keys);
+            for (int idx = 1; idx < keys.length; ++idx) {
+                if ((keys[idx] & 1L << Integer.SIZE) != 0L
+                    && keys[idx] >>> Integer.SIZE
+                    == keys[idx - 1] >>> Integer.SIZE) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "position %d is edited twice",
+                            keys[idx] >>> (Integer.SIZE + 1)
+                        )
+                    );
+                }
+            }
+            return keys;
+        }
+
+        /**
+         * Kind of the edit.
+         * @param idx Number of the edit
+         * @return Kind
+         */
+        private int kind(final int idx) {
+            return this.kinds[idx];
+        }
+
+        /**
+         * Position of the edit.
+         * @param idx Number of the edit
+         * @return Position
+         */
+        private int position(final int idx) {
+            return this.positions[idx];
+        }
+
+        /**
+         * Item of the edit.
+         * @param idx Number of the edit
+         * @return The item or NULL, if it's deleted
+         */
+        private T value(final int idx) {
+            return (T) this.items[idx];
+        }
+
+        /**
+         * Mutable collector of edits, which makes a patch once.
+         *
+         * <p>Edits are kept in arrays, which grow twice when they are
+         * full, so adding an edit takes constant time, while
+         * {@link #build()} copies them once, into the patch.
+         *
+         * <p>The class is not thread-safe.
+         *
+         * @param <T> Type of items
+         * @since 2.0
+         */
+        public static final class Builder<T> {
+            /**
+             * Kind of each edit.
+             */
+            private int[] kinds;
+
+            /**
+             * Position of each edit.
+             */
+            private int[] positions;
+
+            /**
+             * Item of each edit.
+             */
+            private Object[] items;
+
+            /**
+             * Number of edits.
+             */
+            private int size;
+
+            /**
+             * Public ctor, for an empty patch.
+             */
+            public Builder() {
+                this(new Array.Patch<>());
+            }
+
+            /**
+             * Public ctor, with edits of the patch.
+             * @param patch The patch
+             */
+            public Builder(final Array.Patch<T> patch) {
+                if (patch == null) {
+                    throw new IllegalArgumentException(
+                        "argument of Array.Patch.Builder ctor can't be NULL"
+                    );
+                }
+                final int total = Math.max(patch.size() + 1, 2);
+                this.kinds = Arrays.copyOf(patch.kinds, total);
+                this.positions = Arrays.copyOf(patch.positions, total);
+                this.items = Arrays.copyOf(patch.items, total);
+                this.size = patch.size();
+            }
+
+            /**
+             * Replace the item at the position.
+             * @param pos The position
+             * @param value The new item
+             * @return This builder
+             */
+            public Array.Patch.Builder<T> set(final int pos, final T value) {
+                if (value == null) {
+                    throw new IllegalArgumentException(
+                        "second argument of Array.Patch#set() can't be NULL"
+                    );
+                }
+                return this.add(Array.Patch.SET, pos, value);
+            }
+
+            /**
+             * Insert the item before the position.
+             * @param pos The position, up to the size of the array
+             * @param value The new item
+             * @return This builder
+             */
+            public Array.Patch.Builder<T> insert(final int pos,
+                final T value) {
+                if (value == null) {
+                    throw new IllegalArgumentException(
+                        "second argument of Array.Patch#insert() can't be NULL"
+                    );
+                }
+                return this.add(Array.Patch.INSERT, pos, value);
+            }
+
+            /**
+             * Delete the item at the position.
+             * @param pos The position
+             * @return This builder
+             */
+            public Array.Patch.Builder<T> delete(final int pos) {
+                return this.add(Array.Patch.DELETE, pos, null);
+            }
+
+            /**
+             * Make a patch of all edits added so far.
+             * @return The patch
+             */
+            public Array.Patch<T> build() {
+                return new Array.Patch<>(
+                    Arrays.copyOf(this.kinds, this.size),
+                    Arrays.copyOf(this.positions, this.size),
+                    Arrays.copyOf(this.items, this.size)
+                );
+            }
+
+            /**
+             * Add one more edit.
+             * @param kind Kind of the edit
+             * @param pos Position
+             * @param value The item or NULL
+             * @return This builder
+             */
+            private Array.Patch.Builder<T> add(final int kind, final int pos,
+                final T value) {
+                if (pos < 0) {
+                    throw new ArrayIndexOutOfBoundsException(
+                        String.format("index can't be negative: %d", pos)
+                    );
+                }
+                if (this.size == this.kinds.length) {
+                    final int total = this.size << 1;
+                    this.kinds = Arrays.copyOf(this.kinds, total);
+                    this.positions = Arrays.copyOf(this.positions, total);
+                    this.items = Arrays.copyOf(this.items, total);
+                }
+                this.kinds[this.size] = kind;
+                this.positions[this.size] = pos;
+                this.items[this.size] = value;
+                ++this.size;
+                return this;
+            }
+        }
+    }
 }
@@ -0,0 +1,477 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Bidirectional map on top of arrays, with unique keys and unique values.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * Entries are kept in two arrays, keys and values, in the order of
+ * insertion, with a hash index over each of them, so both
+ * {@link #get(Object)} and {@link #key(Object)} are <b>O(1)</b>.
+ * {@link #inverse()} swaps the arrays and the indexes in <b>O(1)</b>,
+ * without copying them. {@link #with(Object, Object)} and
+ * {@link #without(Object)} copy both arrays once and build both indexes
+ * again, so both directions are always consistent.
+ * <p>
+ * {@link #equals(Object)} and {@link #hashCode()} follow the contract
+ * of {@link Map}, so it's equal to any map with the same entries.
+ * <p>
+ * Limitation:
+ * Encapsulated objects with exposed mutators can mutate their state.
+ *
+ * @param <K> Map key type
+ * @param <V> Value key type
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (450 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "unchecked", "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class ArrayBiMap<K, V> implements Map<K, V> {
+
+    /**
+     * Keys and values of all empty maps.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * All keys.
+     */
+    @Immutable.Array
+    private final transient K[] keys;
+
+    /**
+     * All values, at the positions of their keys.
+     */
+    @Immutable.Array
+    private final transient V[] vals;
+
+    /**
+     * Positions of keys.
+     */
+    private final transient HashIndex forward;
+
+    /**
+     * Positions of values.
+     */
+    private final transient HashIndex backward;
+
+    /**
+     * Public ctor, for an empty map.
+     */
+    public ArrayBiMap() {
+        this(
+            (K[]) ArrayBiMap.NOTHING, (V[]) ArrayBiMap.NOTHING,
+            new HashIndex(ArrayBiMap.NOTHING, false),
+            new HashIndex(ArrayBiMap.NOTHING, false)
+        );
+    }
+
+    /**
+     * Public ctor.
+     *
+     * <p>The ctor throws {@link IllegalArgumentException} if two keys
+     * have the same value.
+     *
+     * @param map Entries to encapsulate
+     */
+    public ArrayBiMap(final Map<K, V> map) {
+        this(ArrayBiMap.copy(map));
+    }
+
+    /**
+     * Private ctor.
+     * @param map The map to copy
+     */
+    private ArrayBiMap(final ArrayBiMap<K, V> map) {
+        this(map.keys, map.vals, map.forward, map.backward);
+    }
+
+    /**
+     * Private ctor, which takes ownership of everything, without copying.
+     * @param left Keys
+     * @param right Values
+     * @param lindex Index of keys
+     * @param rindex Index of values
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private ArrayBiMap(final K[] left, final V[] right,
+        final HashIndex lindex, final HashIndex rindex) {
+        this.keys = left;
+        this.vals = right;
+        this.forward = lindex;
+        this.backward = rindex;
+    }
+
+    /**
+     * The same map in the other direction, from values to keys, in O(1).
+     * @return Inverted map, which shares arrays and indexes with this one
+     */
+    public ArrayBiMap<V, K> inverse() {
+        return new ArrayBiMap<>(
+            this.vals, this.keys, this.backward, this.forward
+        );
+    }
+
+    /**
+     * Key of the value, in O(1).
+     * @param value The value
+     * @return The key or NULL, if there is no such value
+     */
+    public K key(final Object value) {
+        final int pos = this.backward.first(value);
+        K key = null;
+        if (pos >= 0) {
+            key = this.keys[pos];
+        }
+        return key;
+    }
+
+    /**
+     * Make a new one with an extra entry, which replaces the value of
+     * the key, if it's here.
+     *
+     * <p>The method throws {@link IllegalArgumentException} if the value
+     * belongs to another key.
+     *
+     * @param key The key
+     * @param value The value
+     * @return New map
+     */
+    public ArrayBiMap<K, V> with(final K key, final V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArrayBiMap#with() can't be NULL"
+            );
+        }
+        final int owner = this.backward.first(value);
+        final int pos = this.forward.first(key);
+        if (owner >= 0 && owner != pos) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "value %s already belongs to key %s",
+                    value, this.keys[owner]
+                )
+            );
+        }
+        final ArrayBiMap<K, V> map;
+        if (owner >= 0) {
+            map = this;
+        } else if (pos >= 0) {
+            final V[] right = this.vals.clone();
+            right[pos] = value;
+            map = new ArrayBiMap<>(
+                this.keys, right, this.forward, new HashIndex(right, false)
+            );
+        } else {
+            final K[] left = Arrays.copyOf(this.keys, this.keys.length + 1);
+            final V[] right = Arrays.copyOf(this.vals, this.vals.length + 1);
+            left[this.keys.length] = key;
+            right[this.vals.length] = value;
+            map = ArrayBiMap.indexed(left, right);
+        }
+        return map;
+    }
+
+    /**
+     * Make a new one without this key and its value.
+     * @param key The key
+     * @return New map
+     */
+    public ArrayBiMap<K, V> without(final K key) {
+        final int pos = this.forward.first(key);
+        final ArrayBiMap<K, V> map;
+        if (pos < 0) {
+            map = this;
+        } else {
+            final K[] left = (K[]) new Object[this.keys.length - 1];
+            final V[] right = (V[]) new Object[left.length];
+            System.arraycopy(this.keys, 0, left, 0, pos);
+            System.arraycopy(this.vals, 0, right, 0, pos);
+            System.arraycopy(
+                this.keys, pos + 1, left, pos, left.length - pos
+            );
+            System.arraycopy(
+                this.vals, pos + 1, right, pos, right.length - pos
+            );
+            map = ArrayBiMap.indexed(left, right);
+        }
+        return map;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            hash += this.keys[idx].hashCode() ^ this.vals[idx].hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof Map) {
+            final Map<?, ?> other = Map.class.cast(object);
+            equals = other.size() == this.keys.length;
+            for (int idx = 0; equals && idx < this.keys.length; ++idx) {
+                equals = this.vals[idx].equals(other.get(this.keys[idx]));
+            }
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            if (idx > 0) {
+                text.append(", ");
+            }
+            text.append(this.keys[idx]).append('=').append(this.vals[idx]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.forward.first(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return this.backward.first(value) >= 0;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int pos = this.forward.first(key);
+        V value = null;
+        if (pos >= 0) {
+            value = this.vals[pos];
+        }
+        return value;
+    }
+
+    @Override
+    @Deprecated
+    public V put(final K key, final V value) {
+        throw new UnsupportedOperationException(
+            "put(): ArrayBiMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public V remove(final Object key) {
+        throw new UnsupportedOperationException(
+            "remove(): ArrayBiMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException(
+            "putAll(): ArrayBiMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): ArrayBiMap is immutable"
+        );
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new ArrayOrderedSet<>(this.keys, this.forward);
+    }
+
+    @Override
+    public Set<V> values() {
+        return new ArrayOrderedSet<>(this.vals, this.backward);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new ArrayBiMap.EntrySet<>(this);
+    }
+
+    /**
+     * Make a map of keys and values, building both indexes.
+     *
+     * <p>The method throws {@link IllegalArgumentException} if there are
+     * more than {@link HashIndex#MAX} entries.
+     *
+     * @param left Unique keys
+     * @param right Unique values
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return The map
+     */
+    private static <K, V> ArrayBiMap<K, V> indexed(final K[] left,
+        final V[] right) {
+        if (left.length > HashIndex.MAX) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "ArrayBiMap can't have more than %d entries: %d",
+                    HashIndex.MAX, left.length
+                )
+            );
+        }
+        return new ArrayBiMap<>(
+            left, right,
+            new HashIndex(left, false), new HashIndex(right, false)
+        );
+    }
+
+    /**
+     * Copy a map, checking that its values are unique.
+     * @param map The map
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return New map
+     */
+    private static <K, V> ArrayBiMap<K, V> copy(final Map<K, V> map) {
+        if (map == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayBiMap ctor can't be NULL"
+            );
+        }
+        final K[] left = (K[]) new Object[map.size()];
+        final V[] right = (V[]) new Object[left.length];
+        int pos = 0;
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException(
+                    "keys and values of ArrayBiMap can't be NULL"
+                );
+            }
+            left[pos] = entry.getKey();
+            right[pos] = entry.getValue();
+            ++pos;
+        }
+        final ArrayBiMap<K, V> bimap = ArrayBiMap.indexed(left, right);
+        for (int idx = 0; idx < right.length; ++idx) {
+            if (bimap.backward.first(right[idx]) != idx) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "value %s belongs to more than one key", right[idx]
+                    )
+                );
+            }
+        }
+        return bimap;
+    }
+
+    /**
+     * Read-only view of the entries.
+     * @param <K> Map key type
+     * @param <V> Value key type
+     * @since 2.0
+     */
+    private static final class EntrySet<K, V>
+        extends AbstractSet<Map.Entry<K, V>> {
+        /**
+         * The map.
+         */
+        private final transient ArrayBiMap<K, V> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        EntrySet(final ArrayBiMap<K, V> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<Map.Entry<K, V>>() {
+                private int pos;
+
+                @Override
+                public boolean hasNext() {
+                    return this.pos < EntrySet.this.map.keys.length;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException("no more entries");
+                    }
+                    final Map.Entry<K, V> entry =
+                        new AbstractMap.SimpleImmutableEntry<>(
+                            EntrySet.this.map.keys[this.pos],
+                            EntrySet.this.map.vals[this.pos]
+                        );
+                    ++this.pos;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.map.keys.length;
+        }
+    }
+}
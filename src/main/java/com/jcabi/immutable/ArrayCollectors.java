@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Collectors of streams into immutable collections.
+ *
+ * <p>They build the final arrays directly, without collecting into
+ * a {@link java.util.List} or a {@link Map} first and copying it
+ * afterwards:
+ *
+ * <pre> Array&lt;String&gt; names = users.stream()
+ *   .map(User::name)
+ *   .collect(ArrayCollectors.toArray());</pre>
+ *
+ * <p>In parallel streams, partial results of arrays are concatenated,
+ * partial results of sorted sets are sorted and merged. All collectors,
+ * except {@link #toArray()} and sorted sets with
+ * {@link ArrayComparator.Neutral}, are {@code UNORDERED}.
+ *
+ * @since 2.0
+ */
+@SuppressWarnings("unchecked")
+public final class ArrayCollectors {
+
+    /**
+     * Utility class.
+     */
+    private ArrayCollectors() {
+        // intentionally empty
+    }
+
+    /**
+     * Collector into {@link Array}, in the order of the stream.
+     * @param <T> Type of items
+     * @return Collector
+     */
+    public static <T> Collector<T, ?, Array<T>> toArray() {
+        return Collector.<T, ArrayCollectors.Buffer<T>, Array<T>>of(
+            ArrayCollectors.Buffer::new,
+            ArrayCollectors.Buffer::add,
+            ArrayCollectors.Buffer::append,
+            buf -> new Array<>(buf.items(), buf.size())
+        );
+    }
+
+    /**
+     * Collector into {@link ArraySet}.
+     * @param <T> Type of items
+     * @return Collector
+     */
+    public static <T> Collector<T, ?, ArraySet<T>> toArraySet() {
+        return Collector.<T, Set<T>, ArraySet<T>>of(
+            HashSet::new,
+            Set::add,
+            (left, right) -> {
+                final Set<T> union;
+                if (left.size() < right.size()) {
+                    right.addAll(left);
+                    union = right;
+                } else {
+                    left.addAll(right);
+                    union = left;
+                }
+                return union;
+            },
+            set -> new ArraySet<>((T[]) set.toArray()),
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Collector into {@link ArraySortedSet}, with the default comparator.
+     * @param <T> Type of items
+     * @return Collector
+     */
+    public static <T> Collector<T, ?, ArraySortedSet<T>> toArraySortedSet() {
+        return ArrayCollectors.toArraySortedSet(
+            new ArrayComparator.Default<>()
+        );
+    }
+
+    /**
+     * Collector into {@link ArraySortedSet}.
+     *
+     * <p>Items are sorted and deduplicated only once, in the end, or when
+     * partial results of a parallel stream are merged.
+     *
+     * @param comparator The comparator
+     * @param <T> Type of items
+     * @return Collector
+     */
+    public static <T> Collector<T, ?, ArraySortedSet<T>> toArraySortedSet(
+        final ArrayComparator<T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayCollectors#toArraySortedSet() can't be NULL"
+            );
+        }
+        final Collector<T, ArrayCollectors.Buffer<T>, ArraySortedSet<T>> col;
+        if (comparator instanceof ArrayComparator.Neutral) {
+            col = Collector.of(
+                ArrayCollectors.Buffer::new,
+                ArrayCollectors.Buffer::add,
+                ArrayCollectors.Buffer::append,
+                buf -> new ArraySortedSet<>(buf.items(), comparator)
+            );
+        } else {
+            col = Collector.of(
+                ArrayCollectors.Buffer::new,
+                ArrayCollectors.Buffer::add,
+                (left, right) -> left.merge(right, comparator),
+                buf -> new ArraySortedSet<>(
+                    buf.sort(comparator).items(), comparator
+                ),
+                Collector.Characteristics.UNORDERED
+            );
+        }
+        return col;
+    }
+
+    /**
+     * Collector into {@link ArrayMap}.
+     * @param keys Function that makes a key of an item
+     * @param values Function that makes a value of an item
+     * @param <T> Type of items
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return Collector, which throws {@link IllegalStateException} if
+     *  two items have equal keys and {@link IllegalArgumentException}
+     *  if a key or a value is NULL
+     */
+    public static <T, K, V> Collector<T, ?, ArrayMap<K, V>> toArrayMap(
+        final Function<? super T, ? extends K> keys,
+        final Function<? super T, ? extends V> values) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArrayCollectors#toArrayMap() can't be NULL"
+            );
+        }
+        return Collector.<T, ArrayCollectors.Buffer<Map.Entry<K, V>>,
+            ArrayMap<K, V>>of(
+            ArrayCollectors.Buffer::new,
+            (buf, item) -> buf.add(
+                ArrayCollectors.entry(keys.apply(item), values.apply(item))
+            ),
+            ArrayCollectors.Buffer::append,
+            buf -> ArrayMap.sort(buf.items(), buf.size()),
+            Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Make an entry of a map, rejecting NULL keys and values, as
+     * {@link ArrayMap#with(Object, Object)} does.
+     * @param key The key
+     * @param value The value
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return Entry
+     */
+    private static <K, V> Map.Entry<K, V> entry(final K key, final V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException(
+                "keys and values of ArrayCollectors#toArrayMap() can't be NULL"
+            );
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+
+    /**
+     * Growing array of items, which a collector accumulates.
+     * @param <T> Type of items
+     * @since 2.0
+     */
+    private static final class Buffer<T> {
+        /**
+         * Initial capacity.
+         */
+        private static final int INITIAL = 16;
+
+        /**
+         * The items, only the first {@link #size()} of them are used.
+         */
+        private T[] array;
+
+        /**
+         * How many items are there.
+         */
+        private int count;
+
+        /**
+         * Are the items sorted and unique?
+         */
+        private boolean sorted;
+
+        /**
+         * Ctor.
+         */
+        Buffer() {
+            this.array = (T[]) new Object[Buffer.INITIAL];
+        }
+
+        /**
+         * Add an item.
+         * @param item The item
+         */
+        void add(final T item) {
+            this.grow(this.count + 1);
+            this.array[this.count] = item;
+            ++this.count;
+            this.sorted = false;
+        }
+
+        /**
+         * Append all items of another buffer.
+         * @param other The buffer
+         * @return This buffer
+         */
+        Buffer<T> append(final Buffer<T> other) {
+            this.grow(this.count + other.count);
+            System.arraycopy(
+                other.array, 0, this.array, this.count, other.count
+            );
+            this.count += other.count;
+            this.sorted = false;
+            return this;
+        }
+
+        /**
+         * Sort both buffers and merge another one into this one,
+         * skipping duplicates.
+         * @param other The buffer
+         * @param cmp Comparator
+         * @return This buffer
+         */
+        Buffer<T> merge(final Buffer<T> other, final Comparator<T> cmp) {
+            this.sort(cmp);
+            other.sort(cmp);
+            final T[] merged = (T[]) new Object[this.count + other.count];
+            int left = 0;
+            int right = 0;
+            int size = 0;
+            while (left < this.count || right < other.count) {
+                final T next;
+                if (right == other.count || left < this.count
+                    && cmp.compare(this.array[left], other.array[right]) <= 0) {
+                    next = this.array[left];
+                    ++left;
+                } else {
+                    next = other.array[right];
+                    ++right;
+                }
+                if (size == 0 || cmp.compare(merged[size - 1], next) != 0) {
+                    merged[size] = next;
+                    ++size;
+                }
+            }
+            this.array = merged;
+            this.count = size;
+            return this;
+        }
+
+        /**
+         * Sort the items and remove duplicates, unless it's done already.
+         * @param cmp Comparator
+         * @return This buffer
+         */
+        Buffer<T> sort(final Comparator<T> cmp) {
+            if (!this.sorted) {
+                Arrays.sort(this.array, 0, this.count, cmp);
+                int size = 0;
+                for (int idx = 0; idx < this.count; ++idx) {
+                    if (size == 0
+                        || cmp.compare(this.array[size - 1], this.array[idx])
+                        != 0) {
+                        this.array[size] = this.array[idx];
+                        ++size;
+                    }
+                }
+                Arrays.fill(this.array, size, this.count, null);
+                this.count = size;
+                this.sorted = true;
+            }
+            return this;
+        }
+
+        /**
+         * All items, in an array of exactly their number.
+         * @return The array, owned by the caller
+         */
+        T[] items() {
+            if (this.array.length != this.count) {
+                this.array = Arrays.copyOf(this.array, this.count);
+            }
+            return this.array;
+        }
+
+        /**
+         * How many items are there.
+         * @return Number of items
+         */
+        int size() {
+            return this.count;
+        }
+
+        /**
+         * Make sure there is room for that many items.
+         * @param capacity How many items
+         */
+        private void grow(final int capacity) {
+            if (capacity > this.array.length) {
+                this.array = Arrays.copyOf(
+                    this.array,
+                    Math.max(capacity, this.array.length << 1)
+                );
+            }
+        }
+    }
+}
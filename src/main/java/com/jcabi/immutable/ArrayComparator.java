@@ -68,6 +68,12 @@ public interface ArrayComparator<T> extends Comparator<T> {
 
     /**
      * Neutral comparator (never compares).
+     *
+     * <p>{@link ArraySortedSet} with it keeps items in the order of
+     * insertion, but never finds two of them equal, so it keeps
+     * duplicates. Use {@link ArrayOrderedSet} for a set in the order of
+     * insertion.
+     *
      * @param <T> Type of argument
      * @since 1.0
      */
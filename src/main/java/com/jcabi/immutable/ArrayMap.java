@@ -33,32 +33,40 @@ import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
 import java.io.Serializable;
 import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
-* Map on top of array.
-*
+ * Map on top of array.
+ *
  * <p>This class is truly immutable. This means that it never changes
  * its encapsulated values and is annotated with {@code @Immutable}
  * annotation.
  * <p>
+ * Keys and values are stored in two parallel arrays, sorted by keys,
+ * without any per-entry objects. Instances of {@link Map.Entry} are
+ * created only on demand, while iterating {@link #entrySet()}.
+ * Keys are found by binary search. {@link #equals(Object)} and
+ * {@link #hashCode()} follow the contract of {@link Map}.
+ * <p>
  * Limitation:
  * Encapsulated objects with exposed mutators can mutate their state.
  *
  * @param <K> Map key type
  * @param <V> Value key type
  * @since 0.1
- * @checkstyle MissingDeprecatedCheck (400 lines)
+ * @checkstyle MissingDeprecatedCheck (850 lines)
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
@@ -71,37 +79,336 @@ import java.util.concurrent.ConcurrentMap;
 public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
 
     /**
-     * All entries.
+     * Keys and values of all empty maps.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * Comparator of keys.
+     */
+    static final Comparator<Object> CMP = new ArrayMap.Cmp<>();
+
+    /**
+     * Empty map.
+     */
+    private static final ArrayMap<?, ?> EMPTY = new ArrayMap<>();
+
+    /**
+     * All keys, sorted.
+     */
+    @Immutable.Array
+    private final transient K[] keys;
+
+    /**
+     * All values, in the same order as keys.
      */
     @Immutable.Array
-    private final transient ImmutableEntry<K, V>[] entries;
+    private final transient V[] vals;
+
+    /**
+     * Slot of the {@link BloomFilter} of keys, empty if there is no filter.
+     */
+    @Immutable.Array
+    private final transient Object[] bloom;
 
     /**
      * Public ctor.
      */
     public ArrayMap() {
-        this.entries = new ArrayMap.ImmutableEntry[0];
+        this((K[]) ArrayMap.NOTHING, (V[]) ArrayMap.NOTHING);
     }
 
     /**
      * Public ctor.
      * @param map The original map
      */
-    @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public ArrayMap(final Map<K, V> map) {
         if (map == null) {
             throw new IllegalArgumentException(
                 "argument of ArrayMap ctor can't be NULL"
             );
         }
-        final Set<ArrayMap.ImmutableEntry<K, V>> entrs =
-            new TreeSet<>(
-                new ArrayMap.Cmp<>()
+        final Map.Entry<K, V>[] entries =
+            map.entrySet().toArray(new Map.Entry[0]);
+        final Comparator<Object> cmp = ArrayMap.CMP;
+        Arrays.sort(
+            entries,
+            (left, right) -> cmp.compare(left.getKey(), right.getKey())
+        );
+        int size = 0;
+        for (int idx = 0; idx < entries.length; ++idx) {
+            if (size == 0 || cmp.compare(
+                entries[size - 1].getKey(), entries[idx].getKey()
+            ) != 0) {
+                entries[size] = entries[idx];
+                ++size;
+            }
+        }
+        this.keys = (K[]) new Object[size];
+        this.vals = (V[]) new Object[size];
+        for (int idx = 0; idx < size; ++idx) {
+            this.keys[idx] = entries[idx].getKey();
+            this.vals[idx] = entries[idx].getValue();
+        }
+        this.bloom = ArrayMap.NOTHING;
+    }
+
+    /**
+     * Private ctor, from already sorted arrays, which are not copied.
+     * @param sorted Sorted keys
+     * @param values Values, in the same order
+     */
+    private ArrayMap(final K[] sorted, final V[] values) {
+        this(sorted, values, ArrayMap.NOTHING);
+    }
+
+    /**
+     * Private ctor, from already sorted arrays, which are not copied.
+     * @param sorted Sorted keys
+     * @param values Values, in the same order
+     * @param filter Slot of the Bloom filter
+     */
+    private ArrayMap(final K[] sorted, final V[] values,
+        final Object[] filter) {
+        this.keys = sorted;
+        this.vals = values;
+        this.bloom = filter;
+    }
+
+    /**
+     * Empty map, which is the same instance every time.
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return Empty map
+     * @since 2.0
+     */
+    public static <K, V> ArrayMap<K, V> of() {
+        return (ArrayMap<K, V>) ArrayMap.EMPTY;
+    }
+
+    /**
+     * Map of one entry.
+     * @param key The key
+     * @param value The value
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return New map
+     * @since 2.0
+     */
+    public static <K, V> ArrayMap<K, V> of(final K key, final V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArrayMap#of() can't be NULL"
             );
-        for (final Map.Entry<K, V> entry : map.entrySet()) {
-            entrs.add(new ArrayMap.ImmutableEntry<>(entry));
         }
-        this.entries = entrs.toArray(new ImmutableEntry[0]);
+        return new ArrayMap<>(
+            (K[]) new Object[] {key}, (V[]) new Object[] {value}
+        );
+    }
+
+    /**
+     * Make a map of entries, sorting them in place.
+     * @param entries Instances of {@link Map.Entry}, the array is reordered
+     * @param size How many of them to use
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return New map
+     * @throws IllegalStateException If two entries have equal keys
+     */
+    static <K, V> ArrayMap<K, V> sort(final Object[] entries,
+        final int size) {
+        final Comparator<Object> cmp = ArrayMap.CMP;
+        Arrays.sort(
+            entries, 0, size,
+            (left, right) -> cmp.compare(
+                Map.Entry.class.cast(left).getKey(),
+                Map.Entry.class.cast(right).getKey()
+            )
+        );
+        final K[] keys = (K[]) new Object[size];
+        final V[] vals = (V[]) new Object[size];
+        for (int idx = 0; idx < size; ++idx) {
+            final Map.Entry<K, V> entry = Map.Entry.class.cast(entries[idx]);
+            if (idx > 0 && cmp.compare(keys[idx - 1], entry.getKey()) == 0) {
+                throw new IllegalStateException(
+                    String.format("duplicate key %s", keys[idx - 1])
+                );
+            }
+            keys[idx] = entry.getKey();
+            vals[idx] = entry.getValue();
+        }
+        return new ArrayMap<>(keys, vals);
+    }
+
+    /**
+     * Make the same map, which consults a Bloom filter of keys before
+     * {@link #containsKey(Object)} and {@link #get(Object)}.
+     *
+     * <p>The filter is built on the first lookup and makes most of
+     * lookups of absent keys <b>O(1)</b>. It is not inherited by maps
+     * made with {@code with()} and {@code without()}.
+     *
+     * @param bits Bits per key in the filter, ten is a good start
+     * @return New map with the same entries
+     * @since 2.0
+     */
+    public ArrayMap<K, V> bloomed(final int bits) {
+        return new ArrayMap<>(this.keys, this.vals, BloomFilter.slot(bits));
+    }
+
+    /**
+     * The Bloom filter of keys, building it if necessary.
+     * @return The filter
+     * @throws IllegalStateException If the map is not {@link #bloomed(int)}
+     * @since 2.0
+     */
+    public BloomFilter bloom() {
+        final BloomFilter filter = BloomFilter.lazy(this.bloom, this.keys);
+        if (filter == null) {
+            throw new IllegalStateException(
+                "ArrayMap has no Bloom filter, use bloomed() first"
+            );
+        }
+        return filter;
+    }
+
+    /**
+     * Make a read-only map with the same entries and a minimal perfect
+     * hash function over the keys, for <b>O(1)</b> lookups.
+     * @return New map
+     * @since 2.0
+     */
+    public PerfectMap<K, V> perfect() {
+        return new PerfectMap<>(this);
+    }
+
+    /**
+     * Find the difference between two maps.
+     *
+     * <p>Both maps are walked once, in the order of their keys, so it
+     * takes <b>O(n + m)</b> time, but the delta only keeps the keys that
+     * were added, removed or got other values.
+     *
+     * @param before The old map
+     * @param after The new map
+     * @param <K> Type of keys
+     * @param <V> Type of values
+     * @return Delta, which turns the old map into the new one
+     * @see #apply(ArrayMap.Delta)
+     * @since 2.0
+     */
+    public static <K, V> ArrayMap.Delta<K, V> diff(
+        final ArrayMap<K, V> before, final ArrayMap<K, V> after) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArrayMap#diff() can't be NULL"
+            );
+        }
+        final List<Object> changes = new ArrayList<>(0);
+        int left = 0;
+        int right = 0;
+        while (left < before.keys.length || right < after.keys.length) {
+            final int cmp;
+            if (left == before.keys.length) {
+                cmp = 1;
+            } else if (right == after.keys.length) {
+                cmp = -1;
+            } else {
+                cmp = ArrayMap.CMP.compare(
+                    before.keys[left], after.keys[right]
+                );
+            }
+            if (cmp < 0) {
+                changes.add(ArrayMap.Delta.REMOVED);
+                changes.add(before.keys[left]);
+                changes.add(null);
+                ++left;
+            } else if (cmp > 0) {
+                changes.add(ArrayMap.Delta.ADDED);
+                changes.add(after.keys[right]);
+                changes.add(after.vals[right]);
+                ++right;
+            } else {
+                if (!before.keys[left].equals(after.keys[right])
+                    || !before.vals[left].equals(after.vals[right])) {
+                    changes.add(ArrayMap.Delta.CHANGED);
+                    changes.add(after.keys[right]);
+                    changes.add(after.vals[right]);
+                }
+                ++left;
+                ++right;
+            }
+        }
+        return new ArrayMap.Delta<>(changes.toArray());
+    }
+
+    /**
+     * Make a new one with the delta applied.
+     *
+     * <p>The keys of the delta are found first, to know the exact size
+     * of the new map, and then the entries between them are copied in
+     * bulk. It takes <b>O(c log n)</b> comparisons, where c is the size
+     * of the delta, plus one copy of the arrays.
+     *
+     * @param delta The delta, usually made by {@link #diff(ArrayMap, ArrayMap)}
+     * @return New map
+     * @since 2.0
+     */
+    public ArrayMap<K, V> apply(final ArrayMap.Delta<K, V> delta) {
+        if (delta == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayMap#apply() can't be NULL"
+            );
+        }
+        final int[] found = new int[delta.size()];
+        int size = this.keys.length;
+        int src = 0;
+        for (int idx = 0; idx < found.length; ++idx) {
+            found[idx] = Arrays.binarySearch(
+                this.keys, src, this.keys.length, delta.key(idx), ArrayMap.CMP
+            );
+            final boolean removed =
+                ArrayMap.Delta.REMOVED.equals(delta.kind(idx));
+            if (found[idx] >= 0) {
+                src = found[idx] + 1;
+                if (removed) {
+                    --size;
+                }
+            } else {
+                src = -found[idx] - 1;
+                if (!removed) {
+                    ++size;
+                }
+            }
+        }
+        final K[] after = (K[]) new Object[size];
+        final V[] values = (V[]) new Object[size];
+        src = 0;
+        int dst = 0;
+        for (int idx = 0; idx < found.length; ++idx) {
+            final int pos;
+            if (found[idx] >= 0) {
+                pos = found[idx];
+            } else {
+                pos = -found[idx] - 1;
+            }
+            System.arraycopy(this.keys, src, after, dst, pos - src);
+            System.arraycopy(this.vals, src, values, dst, pos - src);
+            dst += pos - src;
+            src = pos;
+            if (found[idx] >= 0) {
+                ++src;
+            }
+            if (!ArrayMap.Delta.REMOVED.equals(delta.kind(idx))) {
+                after[dst] = delta.key(idx);
+                values[dst] = delta.value(idx);
+                ++dst;
+            }
+        }
+        System.arraycopy(this.keys, src, after, dst, this.keys.length - src);
+        System.arraycopy(this.vals, src, values, dst, this.keys.length - src);
+        Metrics.MAP.copied(size);
+        return new ArrayMap<>(after, values);
     }
 
     /**
@@ -122,9 +429,10 @@ public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
             );
         }
         final ConcurrentMap<K, V> map =
-            new ConcurrentHashMap<>(this.entries.length);
+            new ConcurrentHashMap<>(this.keys.length);
         map.putAll(this);
         map.put(key, value);
+        Metrics.MAP.copied(map.size());
         return new ArrayMap<>(map);
     }
 
@@ -141,9 +449,10 @@ public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
             );
         }
         final ConcurrentMap<K, V> map =
-            new ConcurrentHashMap<>(this.entries.length);
+            new ConcurrentHashMap<>(this.keys.length);
         map.putAll(this);
         map.putAll(ents);
+        Metrics.MAP.copied(map.size());
         return new ArrayMap<>(map);
     }
 
@@ -159,9 +468,10 @@ public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
             );
         }
         final ConcurrentMap<K, V> map =
-            new ConcurrentHashMap<>(this.entries.length);
+            new ConcurrentHashMap<>(this.keys.length);
         map.putAll(this);
         map.remove(key);
+        Metrics.MAP.copied(map.size());
         return new ArrayMap<>(map);
     }
 
@@ -178,66 +488,71 @@ public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
             );
         }
         final ConcurrentMap<K, V> map =
-            new ConcurrentHashMap<>(this.entries.length);
+            new ConcurrentHashMap<>(this.keys.length);
         map.putAll(this);
         for (final K key : keys) {
             map.remove(key);
         }
+        Metrics.MAP.copied(map.size());
         return new ArrayMap<>(map);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.entries);
+        int hash = 0;
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            hash += this.keys[idx].hashCode() ^ this.vals[idx].hashCode();
+        }
+        return hash;
     }
 
     @Override
     public boolean equals(final Object object) {
-        return object instanceof ArrayMap
-            && Arrays.deepEquals(
-                this.entries, ArrayMap.class.cast(object).entries
-            );
+        final boolean equals;
+        if (object instanceof ArrayMap) {
+            final ArrayMap<?, ?> other = ArrayMap.class.cast(object);
+            equals = Arrays.equals(this.keys, other.keys)
+                && Arrays.equals(this.vals, other.vals);
+        } else if (object instanceof Map) {
+            equals = this.same(Map.class.cast(object));
+        } else {
+            equals = false;
+        }
+        return equals;
     }
 
     @Override
     public String toString() {
         final StringBuilder text = new StringBuilder(0);
-        for (final Map.Entry<K, V> item : this.entries) {
-            if (text.length() > 0) {
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            if (idx > 0) {
                 text.append(", ");
             }
-            text.append(item);
+            text.append(this.keys[idx]).append('=').append(this.vals[idx]);
         }
         return text.toString();
     }
 
     @Override
     public int size() {
-        return this.entries.length;
+        return this.keys.length;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.entries.length == 0;
+        return this.keys.length == 0;
     }
 
     @Override
     public boolean containsKey(final Object key) {
-        boolean contains = false;
-        for (final Map.Entry<K, V> entry : this.entries) {
-            if (entry.getKey().equals(key)) {
-                contains = true;
-                break;
-            }
-        }
-        return contains;
+        return this.position(key) >= 0;
     }
 
     @Override
     public boolean containsValue(final Object value) {
         boolean contains = false;
-        for (final Map.Entry<K, V> entry : this.entries) {
-            if (entry.getValue().equals(value)) {
+        for (final V val : this.vals) {
+            if (val.equals(value)) {
                 contains = true;
                 break;
             }
@@ -247,12 +562,12 @@ public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
 
     @Override
     public V get(final Object key) {
-        V value = null;
-        for (final Map.Entry<K, V> entry : this.entries) {
-            if (entry.getKey().equals(key)) {
-                value = entry.getValue();
-                break;
-            }
+        final int pos = this.position(key);
+        final V value;
+        if (pos >= 0) {
+            value = this.vals[pos];
+        } else {
+            value = null;
         }
         return value;
     }
@@ -323,91 +638,363 @@ public final class ArrayMap<K, V> implements ConcurrentMap<K, V> {
 
     @Override
     public Set<K> keySet() {
-        final Set<K> keys = new LinkedHashSet<>(this.entries.length);
-        for (final Map.Entry<K, V> entry : this.entries) {
-            keys.add(entry.getKey());
-        }
-        return Collections.unmodifiableSet(keys);
+        return new ArrayMap.KeySet<>(this);
     }
 
     @Override
     public Collection<V> values() {
-        final Collection<V> values = new ArrayList<>(this.entries.length);
-        for (final Map.Entry<K, V> entry : this.entries) {
-            values.add(entry.getValue());
-        }
-        return Collections.unmodifiableCollection(values);
+        return Collections.unmodifiableList(Arrays.asList(this.vals));
     }
 
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
-        return Collections.unmodifiableSet(
-            new LinkedHashSet<Map.Entry<K, V>>(Arrays.asList(this.entries))
-        );
+        return new ArrayMap.EntrySet<>(this);
+    }
+
+    /**
+     * Has the same entries as the other map, which is not an ArrayMap.
+     * @param other The map to compare with
+     * @return TRUE if all entries are equal
+     */
+    private boolean same(final Map<?, ?> other) {
+        boolean same = other.size() == this.keys.length;
+        for (int idx = 0; same && idx < this.keys.length; ++idx) {
+            same = this.vals[idx].equals(other.get(this.keys[idx]));
+        }
+        return same;
+    }
+
+    /**
+     * Find position of the key.
+     *
+     * <p>Keys are sorted by {@link #CMP} and are unique for it, so the
+     * key is found by binary search and then checked with
+     * {@code equals()}. Keys that don't compare with the keys of this map,
+     * like an {@link Integer} in a map of {@link String}s, are absent.
+     *
+     * @param key The key to find
+     * @return Position in the arrays or -1 if it's absent
+     */
+    private int position(final Object key) {
+        int pos = -1;
+        final BloomFilter filter = BloomFilter.lazy(this.bloom, this.keys);
+        if (key != null && (filter == null || filter.mightContain(key))) {
+            final int found = ArrayMap.search(this.keys, key);
+            if (found >= 0 && this.keys[found].equals(key)) {
+                pos = found;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Binary search of the key among sorted keys.
+     * @param sorted Sorted keys
+     * @param key The key to find
+     * @return Position of a key equal by {@link #CMP}, or negative
+     */
+    private static int search(final Object[] sorted, final Object key) {
+        int found;
+        try {
+            found = Arrays.binarySearch(sorted, key, ArrayMap.CMP);
+        } catch (final ClassCastException ex) {
+            found = -1;
+        }
+        return found;
     }
 
     /**
-     * Comparator.
+     * Comparator of keys.
      * @param <K> Key type.
-     * @param <V> Value type.
      * @since 0.1
      */
-    private static final class Cmp<K, V> implements
-        Comparator<ArrayMap.ImmutableEntry<K, V>>, Serializable {
+    private static final class Cmp<K> implements Comparator<K>, Serializable {
         /**
          * The Serial version UID.
          */
         private static final long serialVersionUID = 4064118000237204080L;
 
         @Override
-        public int compare(final ImmutableEntry<K, V> left,
-            final ImmutableEntry<K, V> right) {
+        public int compare(final K left, final K right) {
             final int compare;
-            if (left.getKey() instanceof Comparable) {
-                compare = Comparable.class.cast(left.getKey())
-                    .compareTo(right.getKey());
+            if (left instanceof Comparable) {
+                compare = Comparable.class.cast(left).compareTo(right);
             } else {
-                compare = left.getKey().toString()
-                    .compareTo(right.getKey().toString());
+                compare = left.toString().compareTo(right.toString());
             }
             return compare;
         }
     }
 
     /**
-     * Immutable map entry.
+     * Difference between two maps.
+     *
+     * <p>The delta is a list of changes, sorted by keys: added keys,
+     * removed keys and keys with new values.
+     *
      * @param <K> Key type.
      * @param <V> Value type.
-     * @since 0.1
+     * @since 2.0
      */
     @Immutable
-    private static final class ImmutableEntry<K, V> extends
-        AbstractMap.SimpleImmutableEntry<K, V> {
+    public static final class Delta<K, V> {
+        /**
+         * Slots per change in the list: kind, key and value.
+         */
+        private static final int STRIDE = 3;
+
+        /**
+         * Kind of change: the key is added.
+         */
+        private static final Integer ADDED = 0;
+
+        /**
+         * Kind of change: the key got another value.
+         */
+        private static final Integer CHANGED = 1;
+
         /**
-         * Serialization marker.
+         * Kind of change: the key is removed.
          */
-        private static final long serialVersionUID = 1L;
+        private static final Integer REMOVED = 2;
 
         /**
-         * Public ctor.
-         * @param entry Entry to encapsulate
+         * Kind, key and value of each change, one after another.
          */
-        private ImmutableEntry(final Map.Entry<K, V> entry) {
-            this(entry.getKey(), entry.getValue());
+        @Immutable.Array
+        private final transient Object[] changes;
+
+        /**
+         * Ctor.
+         * @param list Kind, key and value of each change
+         */
+        private Delta(final Object[] list) {
+            this.changes = list;
+        }
+
+        /**
+         * Make a delta from a batch of edits.
+         *
+         * <p>Every non-NULL value is recorded as a change, which
+         * {@link ArrayMap#apply(ArrayMap.Delta)} inserts, if the key
+         * is absent. NULL value means that the key is removed.
+         *
+         * @param edits Keys and their new values, NULL for removed keys
+         * @param <K> Type of keys
+         * @param <V> Type of values
+         * @return Delta
+         */
+        static <K, V> ArrayMap.Delta<K, V> of(final Map<K, V> edits) {
+            final Object[] sorted = edits.keySet().toArray();
+            Arrays.sort(sorted, ArrayMap.CMP);
+            final Object[] list = new Object[sorted.length * Delta.STRIDE];
+            for (int idx = 0; idx < sorted.length; ++idx) {
+                final V value = edits.get(sorted[idx]);
+                if (value == null) {
+                    list[idx * Delta.STRIDE] = Delta.REMOVED;
+                } else {
+                    list[idx * Delta.STRIDE] = Delta.CHANGED;
+                }
+                list[idx * Delta.STRIDE + 1] = sorted[idx];
+                list[idx * Delta.STRIDE + 2] = value;
+            }
+            return new ArrayMap.Delta<>(list);
         }
 
         /**
-         * Public ctor.
-         * @param key The key
-         * @param value The value
+         * Number of changes.
+         * @return Size of the delta
          */
-        private ImmutableEntry(final K key, final V value) {
-            super(key, value);
+        public int size() {
+            return this.changes.length / Delta.STRIDE;
+        }
+
+        /**
+         * Is it empty, when both maps are equal?
+         * @return TRUE if there are no changes
+         */
+        public boolean isEmpty() {
+            return this.changes.length == 0;
+        }
+
+        /**
+         * Keys added, with their values.
+         * @return Map of them
+         */
+        public ArrayMap<K, V> added() {
+            return this.select(Delta.ADDED);
+        }
+
+        /**
+         * Keys that got other values, with new values.
+         * @return Map of them
+         */
+        public ArrayMap<K, V> changed() {
+            return this.select(Delta.CHANGED);
+        }
+
+        /**
+         * Keys removed.
+         * @return Set of them
+         */
+        public Set<K> removed() {
+            return this.select(Delta.REMOVED).keySet();
         }
 
         @Override
         public String toString() {
-            return String.format("%s=%s", this.getKey(), this.getValue());
+            return String.format(
+                "+%s ~%s -%s", this.added(), this.changed(), this.removed()
+            );
+        }
+
+        /**
+         * Kind of the change.
+         * @param idx Number of the change
+         * @return Kind
+         */
+        private Integer kind(final int idx) {
+            return Integer.class.cast(this.changes[idx * Delta.STRIDE]);
+        }
+
+        /**
+         * Key of the change.
+         * @param idx Number of the change
+         * @return The key
+         */
+        private K key(final int idx) {
+            return (K) this.changes[idx * Delta.STRIDE + 1];
+        }
+
+        /**
+         * New value of the change.
+         * @param idx Number of the change
+         * @return The value or NULL, if the key is removed
+         */
+        private V value(final int idx) {
+            return (V) this.changes[idx * Delta.STRIDE + 2];
+        }
+
+        /**
+         * Select changes of one kind.
+         * @param kind The kind
+         * @return Map of keys and values
+         */
+        private ArrayMap<K, V> select(final Integer kind) {
+            int count = 0;
+            for (int idx = 0; idx < this.size(); ++idx) {
+                if (this.kind(idx).equals(kind)) {
+                    ++count;
+                }
+            }
+            final K[] keys = (K[]) new Object[count];
+            final V[] vals = (V[]) new Object[count];
+            int pos = 0;
+            for (int idx = 0; idx < this.size(); ++idx) {
+                if (this.kind(idx).equals(kind)) {
+                    keys[pos] = this.key(idx);
+                    vals[pos] = this.value(idx);
+                    ++pos;
+                }
+            }
+            return new ArrayMap<>(keys, vals);
+        }
+    }
+
+    /**
+     * Read-only view of the keys.
+     * @param <K> Key type.
+     * @since 2.0
+     */
+    private static final class KeySet<K> extends AbstractSet<K> {
+        /**
+         * The map.
+         */
+        private final transient ArrayMap<K, ?> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        KeySet(final ArrayMap<K, ?> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return Collections.unmodifiableList(
+                Arrays.asList(this.map.keys)
+            ).iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.map.keys.length;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return this.map.containsKey(key);
+        }
+    }
+
+    /**
+     * Read-only view of the entries, which are created on the fly.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @since 2.0
+     */
+    private static final class EntrySet<K, V>
+        extends AbstractSet<Map.Entry<K, V>> {
+        /**
+         * The map.
+         */
+        private final transient ArrayMap<K, V> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        EntrySet(final ArrayMap<K, V> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<Map.Entry<K, V>>() {
+                /**
+                 * Current position.
+                 */
+                private int pos;
+
+                @Override
+                public boolean hasNext() {
+                    return this.pos < EntrySet.this.map.keys.length;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException(
+                            "no more entries in ArrayMap"
+                        );
+                    }
+                    final Map.Entry<K, V> entry =
+                        new AbstractMap.SimpleImmutableEntry<>(
+                            EntrySet.this.map.keys[this.pos],
+                            EntrySet.this.map.vals[this.pos]
+                        );
+                    ++this.pos;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.map.keys.length;
         }
     }
 
@@ -0,0 +1,499 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Multimap on top of arrays, in compressed sparse row layout.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * Keys are sorted, as in {@link ArrayMap}, and unique. Values of all
+ * keys are in one flat array, values of the key number {@code i} are
+ * between positions {@code offsets[i]}, inclusive, and
+ * {@code offsets[i + 1]}, exclusive. So the multimap takes three arrays,
+ * whatever the number of keys, instead of one {@link Array} per key in
+ * {@code ArrayMap<K, Array<V>>}.
+ * <p>
+ * {@link #get(Object)} is a binary search, which returns a read-only
+ * view of the values, without copying them. The multimap is built from
+ * unsorted pairs by sorting their keys and counting values of each key,
+ * after which every value is put in its place by one more pass. Values
+ * of each key keep the order of the pairs.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @since 2.0
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "unchecked", "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class ArrayMultimap<K, V> {
+
+    /**
+     * Keys and values of all empty multimaps.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * Number of keys, from which they are sorted in parallel.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * Sorted unique keys.
+     */
+    @Immutable.Array
+    private final transient K[] keys;
+
+    /**
+     * Position of the first value of each key, and the number of all
+     * values at the end.
+     */
+    @Immutable.Array
+    private final transient int[] offsets;
+
+    /**
+     * Values of all keys, one after another.
+     */
+    @Immutable.Array
+    private final transient V[] values;
+
+    /**
+     * Public ctor, for an empty multimap.
+     */
+    public ArrayMultimap() {
+        this(
+            (K[]) ArrayMultimap.NOTHING, new int[1],
+            (V[]) ArrayMultimap.NOTHING
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param pairs Keys and values, in any order, keys may repeat
+     */
+    public ArrayMultimap(final Iterable<? extends Map.Entry<K, V>> pairs) {
+        this(ArrayMultimap.pairs(pairs));
+    }
+
+    /**
+     * Public ctor.
+     * @param groups Keys and their values
+     */
+    public ArrayMultimap(final Map<K, ? extends Collection<V>> groups) {
+        this(ArrayMultimap.groups(groups));
+    }
+
+    /**
+     * Private ctor.
+     * @param map The multimap to copy
+     */
+    private ArrayMultimap(final ArrayMultimap<K, V> map) {
+        this(map.keys, map.offsets, map.values);
+    }
+
+    /**
+     * Private ctor, which takes ownership of the arrays, without copying.
+     * @param sorted Sorted unique keys
+     * @param positions Positions of the first value of each key
+     * @param all Values of all keys
+     */
+    private ArrayMultimap(final K[] sorted, final int[] positions,
+        final V[] all) {
+        this.keys = sorted;
+        this.offsets = positions;
+        this.values = all;
+    }
+
+    /**
+     * Values of the key, in O(log n), without copying them.
+     * @param key The key
+     * @return Read-only list of values, empty if the key is absent
+     */
+    public List<V> get(final Object key) {
+        final int pos = this.position(key);
+        final List<V> list;
+        if (pos < 0) {
+            list = Collections.emptyList();
+        } else {
+            list = new ArrayMultimap.Slice<>(
+                this.values, this.offsets[pos], this.offsets[pos + 1]
+            );
+        }
+        return list;
+    }
+
+    /**
+     * Is the key here?
+     * @param key The key
+     * @return TRUE if it has values
+     */
+    public boolean containsKey(final Object key) {
+        return this.position(key) >= 0;
+    }
+
+    /**
+     * All keys, sorted.
+     * @return Array of keys
+     */
+    public Array<K> keys() {
+        return new Array<>(this.keys, this.keys.length);
+    }
+
+    /**
+     * Number of pairs of keys and values.
+     * @return Number of values of all keys
+     */
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * Is it empty?
+     * @return TRUE if there are no keys
+     */
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    /**
+     * Make a new one with one more value of the key, after its other
+     * values.
+     * @param key The key
+     * @param value The value
+     * @return New multimap
+     */
+    public ArrayMultimap<K, V> with(final K key, final V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArrayMultimap#with() can't be NULL"
+            );
+        }
+        final int found = Arrays.binarySearch(this.keys, key, ArrayMap.CMP);
+        final K[] after;
+        final int[] positions;
+        final int at;
+        if (found >= 0) {
+            after = this.keys;
+            at = this.offsets[found + 1];
+            positions = this.offsets.clone();
+            for (int idx = found + 1; idx < positions.length; ++idx) {
+                ++positions[idx];
+            }
+        } else {
+            final int slot = -found - 1;
+            after = (K[]) new Object[this.keys.length + 1];
+            System.arraycopy(this.keys, 0, after, 0, slot);
+            after[slot] = key;
+            System.arraycopy(
+                this.keys, slot, after, slot + 1, this.keys.length - slot
+            );
+            at = this.offsets[slot];
+            positions = new int[this.offsets.length + 1];
+            System.arraycopy(this.offsets, 0, positions, 0, slot + 1);
+            for (int idx = slot + 1; idx < positions.length; ++idx) {
+                positions[idx] = this.offsets[idx - 1] + 1;
+            }
+        }
+        final V[] all = (V[]) new Object[this.values.length + 1];
+        System.arraycopy(this.values, 0, all, 0, at);
+        all[at] = value;
+        System.arraycopy(
+            this.values, at, all, at + 1, this.values.length - at
+        );
+        return new ArrayMultimap<>(after, positions, all);
+    }
+
+    /**
+     * Make a new one without the key and all its values.
+     * @param key The key
+     * @return New multimap
+     */
+    public ArrayMultimap<K, V> without(final K key) {
+        final int pos = this.position(key);
+        final ArrayMultimap<K, V> map;
+        if (pos < 0) {
+            map = this;
+        } else {
+            final K[] after = (K[]) new Object[this.keys.length - 1];
+            System.arraycopy(this.keys, 0, after, 0, pos);
+            System.arraycopy(
+                this.keys, pos + 1, after, pos, after.length - pos
+            );
+            final int from = this.offsets[pos];
+            final int gone = this.offsets[pos + 1] - from;
+            final int[] positions = new int[this.offsets.length - 1];
+            System.arraycopy(this.offsets, 0, positions, 0, pos + 1);
+            for (int idx = pos + 1; idx < positions.length; ++idx) {
+                positions[idx] = this.offsets[idx + 1] - gone;
+            }
+            final V[] all = (V[]) new Object[this.values.length - gone];
+            System.arraycopy(this.values, 0, all, 0, from);
+            System.arraycopy(
+                this.values, from + gone, all, from, all.length - from
+            );
+            map = new ArrayMultimap<>(after, positions, all);
+        }
+        return map;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(
+            new Object[] {this.keys, this.offsets, this.values}
+        );
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof ArrayMultimap) {
+            final ArrayMultimap<?, ?> other =
+                ArrayMultimap.class.cast(object);
+            equals = Arrays.equals(this.offsets, other.offsets)
+                && Arrays.equals(this.keys, other.keys)
+                && Arrays.equals(this.values, other.values);
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            if (idx > 0) {
+                text.append(", ");
+            }
+            text.append(this.keys[idx]).append('=').append(
+                this.get(this.keys[idx])
+            );
+        }
+        return text.toString();
+    }
+
+    /**
+     * Position of the key.
+     * @param key The key
+     * @return Position or a negative number, if it's absent
+     */
+    private int position(final Object key) {
+        int pos = -1;
+        if (key != null) {
+            pos = Arrays.binarySearch(this.keys, key, ArrayMap.CMP);
+        }
+        return pos;
+    }
+
+    /**
+     * Make a multimap of pairs.
+     * @param pairs The pairs
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return The multimap
+     */
+    private static <K, V> ArrayMultimap<K, V> pairs(
+        final Iterable<? extends Map.Entry<K, V>> pairs) {
+        if (pairs == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayMultimap ctor can't be NULL"
+            );
+        }
+        Object[] left = new Object[Short.SIZE];
+        Object[] right = new Object[Short.SIZE];
+        int size = 0;
+        for (final Map.Entry<K, V> pair : pairs) {
+            if (size == left.length) {
+                left = Arrays.copyOf(left, size << 1);
+                right = Arrays.copyOf(right, size << 1);
+            }
+            left[size] = pair.getKey();
+            right[size] = pair.getValue();
+            ++size;
+        }
+        return ArrayMultimap.build(left, right, size);
+    }
+
+    /**
+     * Make a multimap of groups of values.
+     * @param groups Keys and their values
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return The multimap
+     */
+    private static <K, V> ArrayMultimap<K, V> groups(
+        final Map<K, ? extends Collection<V>> groups) {
+        if (groups == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayMultimap ctor can't be NULL"
+            );
+        }
+        int size = 0;
+        for (final Collection<V> group : groups.values()) {
+            size += group.size();
+        }
+        final Object[] left = new Object[size];
+        final Object[] right = new Object[size];
+        int pos = 0;
+        for (final Map.Entry<K, ? extends Collection<V>> group
+            : groups.entrySet()) {
+            for (final V value : group.getValue()) {
+                left[pos] = group.getKey();
+                right[pos] = value;
+                ++pos;
+            }
+        }
+        return ArrayMultimap.build(left, right, pos);
+    }
+
+    /**
+     * Make a multimap of keys and values, paired by their positions.
+     *
+     * <p>Distinct keys are sorted, then values of each key are counted,
+     * and then every value is put at the next free position of its key.
+     *
+     * @param left Keys, in any order
+     * @param right Values of them
+     * @param size Number of pairs
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return The multimap
+     */
+    private static <K, V> ArrayMultimap<K, V> build(final Object[] left,
+        final Object[] right, final int size) {
+        for (int idx = 0; idx < size; ++idx) {
+            if (left[idx] == null || right[idx] == null) {
+                throw new IllegalArgumentException(
+                    String.format(
+                        "pair #%d of ArrayMultimap can't have NULL", idx
+                    )
+                );
+            }
+        }
+        final Object[] sorted = Arrays.copyOf(left, size);
+        if (size >= ArrayMultimap.PARALLEL) {
+            Arrays.parallelSort(sorted, ArrayMap.CMP);
+        } else {
+            Arrays.sort(sorted, ArrayMap.CMP);
+        }
+        int unique = Math.min(size, 1);
+        for (int idx = 1; idx < size; ++idx) {
+            if (ArrayMap.CMP.compare(sorted[unique - 1], sorted[idx]) != 0) {
+                sorted[unique] = sorted[idx];
+                ++unique;
+            }
+        }
+        final K[] keys = (K[]) Arrays.copyOf(sorted, unique);
+        final int[] slots = new int[size];
+        final int[] offsets = new int[unique + 1];
+        for (int idx = 0; idx < size; ++idx) {
+            slots[idx] = Arrays.binarySearch(keys, left[idx], ArrayMap.CMP);
+            ++offsets[slots[idx] + 1];
+        }
+        for (int idx = 1; idx <= unique; ++idx) {
+            offsets[idx] += offsets[idx - 1];
+        }
+        final int[] next = Arrays.copyOf(offsets, unique);
+        final V[] values = (V[]) new Object[size];
+        for (int idx = 0; idx < size; ++idx) {
+            values[next[slots[idx]]] = (V) right[idx];
+            ++next[slots[idx]];
+        }
+        return new ArrayMultimap<>(keys, offsets, values);
+    }
+
+    /**
+     * Read-only view of a part of an array.
+     * @param <V> Value type
+     * @since 2.0
+     */
+    private static final class Slice<V> extends AbstractList<V>
+        implements RandomAccess {
+        /**
+         * The array.
+         */
+        private final transient V[] items;
+
+        /**
+         * The first position, inclusive.
+         */
+        private final transient int start;
+
+        /**
+         * The last position, exclusive.
+         */
+        private final transient int end;
+
+        /**
+         * Ctor.
+         * @param array The array
+         * @param first The first position
+         * @param last The last position, exclusive
+         */
+        Slice(final V[] array, final int first, final int last) {
+            super();
+            this.items = array;
+            this.start = first;
+            this.end = last;
+        }
+
+        @Override
+        public V get(final int idx) {
+            if (idx < 0 || idx >= this.size()) {
+                throw new IndexOutOfBoundsException(
+                    String.format(
+                        "index %d is out of bounds: [0..%d)",
+                        idx, this.size()
+                    )
+                );
+            }
+            return this.items[this.start + idx];
+        }
+
+        @Override
+        public int size() {
+            return this.end - this.start;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Set on top of array, which keeps items in the order of insertion.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * Duplicates are dropped by a hash index, which is built in <b>O(n)</b>,
+ * and the first occurrence of an item stays in its place. The same index
+ * makes {@link #contains(Object)} and {@link #indexOf(Object)}
+ * <b>O(1)</b>. It is the set to use instead of {@link ArraySortedSet} with
+ * {@link ArrayComparator.Neutral}, which keeps duplicates and can't find
+ * its items.
+ *
+ * @param <T> Value type
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (400 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "unchecked", "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class ArrayOrderedSet<T> implements Set<T> {
+
+    /**
+     * Values of all empty sets.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * All values, in the order of insertion.
+     */
+    @Immutable.Array
+    private final transient T[] values;
+
+    /**
+     * Positions of values.
+     */
+    private final transient HashIndex index;
+
+    /**
+     * Public ctor, for an empty set.
+     */
+    public ArrayOrderedSet() {
+        this(
+            (T[]) ArrayOrderedSet.NOTHING,
+            new HashIndex(ArrayOrderedSet.NOTHING, false)
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param items Items, maybe with duplicates
+     */
+    public ArrayOrderedSet(final T... items) {
+        this(Arrays.asList(items));
+    }
+
+    /**
+     * Public ctor.
+     * @param items Items, maybe with duplicates
+     */
+    public ArrayOrderedSet(final Iterable<T> items) {
+        this(ArrayOrderedSet.unique(ArrayOrderedSet.copy(items)));
+    }
+
+    /**
+     * Private ctor.
+     * @param set The set to copy
+     */
+    private ArrayOrderedSet(final ArrayOrderedSet<T> set) {
+        this(set.values, set.index);
+    }
+
+    /**
+     * Ctor, which takes ownership of the array, without copying.
+     * @param items Unique items
+     * @param positions Index of them
+     */
+    ArrayOrderedSet(final T[] items, final HashIndex positions) {
+        this.values = items;
+        this.index = positions;
+    }
+
+    /**
+     * Make a new one with an extra item at the end, unless it's
+     * already here.
+     * @param value The item
+     * @return New set
+     */
+    public ArrayOrderedSet<T> with(final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayOrderedSet#with() can't be NULL"
+            );
+        }
+        final ArrayOrderedSet<T> set;
+        if (this.contains(value)) {
+            set = this;
+        } else {
+            final T[] items = Arrays.copyOf(
+                this.values, this.values.length + 1
+            );
+            items[this.values.length] = value;
+            set = ArrayOrderedSet.indexed(items);
+        }
+        return set;
+    }
+
+    /**
+     * Make a new one with extra items at the end, except those, which
+     * are already here.
+     * @param vals The items
+     * @return New set
+     */
+    public ArrayOrderedSet<T> with(final Collection<T> vals) {
+        if (vals == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayOrderedSet#with() can't be NULL"
+            );
+        }
+        final Object[] items = Arrays.copyOf(
+            this.values, this.values.length + vals.size(), Object[].class
+        );
+        int pos = this.values.length;
+        for (final T value : vals) {
+            items[pos] = value;
+            ++pos;
+        }
+        return new ArrayOrderedSet<>(ArrayOrderedSet.unique(items));
+    }
+
+    /**
+     * Make a new one without the item, keeping the order of others.
+     * @param value The item
+     * @return New set
+     */
+    public ArrayOrderedSet<T> without(final T value) {
+        final int pos = this.indexOf(value);
+        final ArrayOrderedSet<T> set;
+        if (pos < 0) {
+            set = this;
+        } else {
+            final T[] items = (T[]) new Object[this.values.length - 1];
+            System.arraycopy(this.values, 0, items, 0, pos);
+            System.arraycopy(
+                this.values, pos + 1, items, pos, items.length - pos
+            );
+            set = ArrayOrderedSet.indexed(items);
+        }
+        return set;
+    }
+
+    /**
+     * Item at the position.
+     *
+     * <p>The method throws {@link ArrayIndexOutOfBoundsException} if such
+     * position is absent in the set.
+     *
+     * @param idx The position, from zero
+     * @return The item
+     */
+    public T get(final int idx) {
+        if (idx < 0 || idx >= this.values.length) {
+            throw new ArrayIndexOutOfBoundsException(
+                String.format(
+                    "index %d is out of bounds: [0..%d)",
+                    idx, this.values.length
+                )
+            );
+        }
+        return this.values[idx];
+    }
+
+    /**
+     * Position of the item, in O(1).
+     * @param item The item
+     * @return Its position or -1, if it's absent
+     */
+    public int indexOf(final Object item) {
+        return this.index.first(item);
+    }
+
+    /**
+     * All items in their order, as an array, without copying them.
+     * @return Array of items
+     */
+    public Array<T> asArray() {
+        return new Array<>(this.values, this.values.length);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (final T item : this.values) {
+            hash += item.hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof Set) {
+            final Set<?> other = Set.class.cast(object);
+            equals = other.size() == this.values.length
+                && this.containsAll(other);
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.values.length; ++idx) {
+            if (idx > 0) {
+                text.append(", ");
+            }
+            text.append(this.values[idx]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.values.length == 0;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        return this.index.first(key) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableList(
+            Arrays.asList(this.values)
+        ).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.values.clone();
+    }
+
+    @Override
+    public <X> X[] toArray(final X[] array) {
+        return Arrays.asList(this.values).toArray(array);
+    }
+
+    @Override
+    @Deprecated
+    public boolean add(final T element) {
+        throw new UnsupportedOperationException(
+            "add(): ArrayOrderedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean remove(final Object obj) {
+        throw new UnsupportedOperationException(
+            "remove(): ArrayOrderedSet is immutable"
+        );
+    }
+
+    @Override
+    public boolean containsAll(final Collection<?> col) {
+        boolean all = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                all = false;
+                break;
+            }
+        }
+        return all;
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final Collection<? extends T> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): ArrayOrderedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean retainAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "retainAll(): ArrayOrderedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean removeAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "removeAll(): ArrayOrderedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): ArrayOrderedSet is immutable"
+        );
+    }
+
+    /**
+     * Copy items into an array.
+     * @param items The items
+     * @return Array of them
+     */
+    private static Object[] copy(final Iterable<?> items) {
+        if (items == null) {
+            throw new IllegalArgumentException(
+                "argument of ArrayOrderedSet ctor can't be NULL"
+            );
+        }
+        final Object[] array;
+        if (items instanceof Collection) {
+            array = Collection.class.cast(items).toArray();
+        } else {
+            Object[] all = new Object[Short.SIZE];
+            int size = 0;
+            for (final Object item : items) {
+                if (size == all.length) {
+                    all = Arrays.copyOf(all, size << 1);
+                }
+                all[size] = item;
+                ++size;
+            }
+            array = Arrays.copyOf(all, size);
+        }
+        return array;
+    }
+
+    /**
+     * Make a set of unique items, which takes ownership of the array.
+     * @param items Unique items
+     * @param <T> Type of items
+     * @return The set
+     */
+    private static <T> ArrayOrderedSet<T> indexed(final T[] items) {
+        return new ArrayOrderedSet<>(items, new HashIndex(items, false));
+    }
+
+    /**
+     * Make a set of items, dropping duplicates in O(n).
+     * @param items The items, which are owned by the set afterwards
+     * @param <T> Type of items
+     * @return The set
+     */
+    private static <T> ArrayOrderedSet<T> unique(final Object[] items) {
+        if (items.length > HashIndex.MAX) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "ArrayOrderedSet can't have more than %d items: %d",
+                    HashIndex.MAX, items.length
+                )
+            );
+        }
+        for (final Object item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException(
+                    "item of ArrayOrderedSet can't be NULL"
+                );
+            }
+        }
+        final HashIndex first = new HashIndex(items, false);
+        final Object[] unique = new Object[items.length];
+        int size = 0;
+        for (int pos = 0; pos < items.length; ++pos) {
+            if (first.first(items[pos]) == pos) {
+                unique[size] = items[pos];
+                ++size;
+            }
+        }
+        final ArrayOrderedSet<T> set;
+        if (size == items.length) {
+            set = new ArrayOrderedSet<>((T[]) items, first);
+        } else {
+            set = ArrayOrderedSet.indexed((T[]) Arrays.copyOf(unique, size));
+        }
+        return set;
+    }
+}
@@ -54,7 +54,7 @@ import java.util.Set;
  *
  * @param <T> Value key type
  * @since 0.1
- * @checkstyle MissingDeprecatedCheck (270 lines)
+ * @checkstyle MissingDeprecatedCheck (380 lines)
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
@@ -65,17 +65,33 @@ import java.util.Set;
 })
 public final class ArraySet<T> implements Set<T> {
 
+    /**
+     * Values of all empty sets.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * Empty set.
+     */
+    private static final ArraySet<?> EMPTY = new ArraySet<>();
+
     /**
      * All vals.
      */
     @Immutable.Array
     private final transient T[] values;
 
+    /**
+     * Slot of the {@link BloomFilter}, empty if there is no filter.
+     */
+    @Immutable.Array
+    private final transient Object[] bloom;
+
     /**
      * Public ctor.
      */
     public ArraySet() {
-        this.values = (T[]) new Object[0];
+        this((T[]) ArraySet.NOTHING);
     }
 
     /**
@@ -88,6 +104,7 @@ public final class ArraySet<T> implements Set<T> {
             set, "ArraySet argument of ArraySet ctor can't be NULL"
         );
         this.values = set.values;
+        this.bloom = set.bloom;
     }
 
     /**
@@ -101,6 +118,7 @@ public final class ArraySet<T> implements Set<T> {
         );
         final Set<T> hset = new HashSet<>(Collection.class.cast(set));
         this.values = hset.toArray((T[]) new Object[hset.size()]);
+        this.bloom = ArraySet.NOTHING;
     }
 
     /**
@@ -117,6 +135,99 @@ public final class ArraySet<T> implements Set<T> {
             hset.add(item);
         }
         this.values = hset.toArray((T[]) new Object[hset.size()]);
+        this.bloom = ArraySet.NOTHING;
+    }
+
+    /**
+     * Ctor, which takes ownership of the array, without copying.
+     * @param items Unique items
+     */
+    ArraySet(final T[] items) {
+        this(items, ArraySet.NOTHING);
+    }
+
+    /**
+     * Private ctor, which takes ownership of the arrays, without copying.
+     * @param items Unique items
+     * @param filter Slot of the Bloom filter
+     */
+    private ArraySet(final T[] items, final Object[] filter) {
+        this.values = items;
+        this.bloom = filter;
+    }
+
+    /**
+     * Empty set, which is the same instance every time.
+     * @param <T> Type of items
+     * @return Empty set
+     * @since 2.0
+     */
+    public static <T> ArraySet<T> of() {
+        return (ArraySet<T>) ArraySet.EMPTY;
+    }
+
+    /**
+     * Set of one item.
+     * @param item The item, not NULL
+     * @param <T> Type of items
+     * @return New set
+     * @since 2.0
+     */
+    public static <T> ArraySet<T> of(final T item) {
+        ArraySet.throwIfItemIsNull(item);
+        return new ArraySet<>((T[]) new Object[] {item});
+    }
+
+    /**
+     * Set of two items, or one, if they are equal.
+     * @param first First item, not NULL
+     * @param second Second item, not NULL
+     * @param <T> Type of items
+     * @return New set
+     * @since 2.0
+     */
+    public static <T> ArraySet<T> of(final T first, final T second) {
+        ArraySet.throwIfItemIsNull(first);
+        ArraySet.throwIfItemIsNull(second);
+        final ArraySet<T> set;
+        if (first.equals(second)) {
+            set = ArraySet.of(first);
+        } else {
+            set = new ArraySet<>((T[]) new Object[] {first, second});
+        }
+        return set;
+    }
+
+    /**
+     * Make the same set, which consults a Bloom filter before
+     * {@link #contains(Object)}.
+     *
+     * <p>The filter is built on the first lookup and makes most of
+     * lookups of absent items <b>O(1)</b>. It is not inherited by sets
+     * made with {@code with()} and {@code without()}.
+     *
+     * @param bits Bits per item in the filter, ten is a good start
+     * @return New set with the same items
+     * @since 2.0
+     */
+    public ArraySet<T> bloomed(final int bits) {
+        return new ArraySet<>(this.values, BloomFilter.slot(bits));
+    }
+
+    /**
+     * The Bloom filter, building it if necessary.
+     * @return The filter
+     * @throws IllegalStateException If the set is not {@link #bloomed(int)}
+     * @since 2.0
+     */
+    public BloomFilter bloom() {
+        final BloomFilter filter = BloomFilter.lazy(this.bloom, this.values);
+        if (filter == null) {
+            throw new IllegalStateException(
+                "ArraySet has no Bloom filter, use bloomed() first"
+            );
+        }
+        return filter;
     }
 
     /**
@@ -132,6 +243,7 @@ public final class ArraySet<T> implements Set<T> {
         list.addAll(this);
         list.remove(value);
         list.add(value);
+        Metrics.SET.copied(list.size());
         return new ArraySet<>(list);
     }
 
@@ -148,6 +260,7 @@ public final class ArraySet<T> implements Set<T> {
         list.addAll(this);
         list.removeAll(vals);
         list.addAll(vals);
+        Metrics.SET.copied(list.size());
         return new ArraySet<>(list);
     }
 
@@ -163,6 +276,7 @@ public final class ArraySet<T> implements Set<T> {
         final Collection<T> list = new LinkedList<>();
         list.addAll(this);
         list.remove(value);
+        Metrics.SET.copied(list.size());
         return new ArraySet<>(list);
     }
 
@@ -208,7 +322,9 @@ public final class ArraySet<T> implements Set<T> {
 
     @Override
     public boolean contains(final Object key) {
-        return Arrays.asList(this.values).contains(key);
+        final BloomFilter filter = BloomFilter.lazy(this.bloom, this.values);
+        return (filter == null || filter.mightContain(key))
+            && Arrays.asList(this.values).contains(key);
     }
 
     @Override
@@ -278,6 +394,18 @@ public final class ArraySet<T> implements Set<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Throw if the item of {@code of()} is NULL.
+     * @param item The item
+     */
+    private static void throwIfItemIsNull(final Object item) {
+        if (item == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArraySet#of() can't be NULL"
+            );
+        }
+    }
+
     /**
      * Throws IllegalArgumentException if the input parameter is null.
      * @param obj Object to check its nullity
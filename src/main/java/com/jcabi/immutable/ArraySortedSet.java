@@ -31,13 +31,16 @@ package com.jcabi.immutable;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Loggable;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
 import java.util.NoSuchElementException;
-import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -50,10 +53,20 @@ import java.util.TreeSet;
  * <p>
  * Limitation:
  * Encapsulated objects with exposed mutators can mutate their state.
+ * <p>
+ * Lookups, like {@link #contains(Object)}, navigation, like
+ * {@link #ceiling(Object)}, and ranges, like
+ * {@link #subSet(Object, Object)}, are found by binary search over
+ * the sorted array. A {@link #bloomed(int)} set consults its filter
+ * before the search, if its comparator agrees with {@code equals()}.
+ * Items of other types are absent. Ranges are copied into new sets, while
+ * {@link #descendingSet()} is a view, which reads the same array
+ * backwards. Sets with {@link ArrayComparator.Neutral} comparator are not
+ * sorted, so they don't support navigation and ranges.
  *
  * @param <T> Value key type
  * @since 0.1
- * @checkstyle MissingDeprecatedCheck (360 lines)
+ * @checkstyle MissingDeprecatedCheck (1200 lines)
  */
 @Immutable
 @Loggable(Loggable.DEBUG)
@@ -62,7 +75,22 @@ import java.util.TreeSet;
     "PMD.ConstructorOnlyInitializesOrCallOtherConstructors",
     "PMD.OnlyOneConstructorShouldDoInitialization"
 })
-public final class ArraySortedSet<T> implements SortedSet<T> {
+public final class ArraySortedSet<T> implements NavigableSet<T> {
+
+    /**
+     * Values of all empty sets.
+     */
+    private static final Object[] NOTHING = new Object[0];
+
+    /**
+     * Number of items, from which they are sorted in parallel.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * Initial capacity of the array for items of an {@link Iterable}.
+     */
+    private static final int CHUNK = 16;
 
     /**
      * All values.
@@ -75,12 +103,21 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
      */
     private final transient ArrayComparator<T> cmp;
 
+    /**
+     * Slot of the {@link BloomFilter}, empty if there is no filter.
+     */
+    @Immutable.Array
+    private final transient Object[] bloom;
+
     /**
      * Public ctor.
      * @param comparator Comparator to use
      */
     public ArraySortedSet(final ArrayComparator<T> comparator) {
-        this(comparator, (T[]) new Object[0]);
+        this.throwIfComparatorArgumentIsNull(comparator);
+        this.cmp = comparator;
+        this.values = (T[]) ArraySortedSet.NOTHING;
+        this.bloom = ArraySortedSet.NOTHING;
     }
 
     /**
@@ -126,10 +163,11 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         if (origin.cmp.equals(this.cmp)) {
             this.values = origin.values;
         } else {
-            final Set<T> hset = new TreeSet<>(this.cmp);
-            hset.addAll(Collection.class.cast(set));
-            this.values = hset.toArray((T[]) new Object[hset.size()]);
+            this.values = ArraySortedSet.sorted(
+                origin.values.clone(), origin.values.length, this.cmp
+            );
         }
+        this.bloom = ArraySortedSet.NOTHING;
     }
 
     /**
@@ -146,9 +184,9 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         );
         this.throwIfComparatorArgumentIsNull(comparator);
         this.cmp = comparator;
-        final Set<T> hset = new TreeSet<>(this.cmp);
-        hset.addAll(Collection.class.cast(set));
-        this.values = hset.toArray((T[]) new Object[hset.size()]);
+        final Object[] items = set.toArray();
+        this.values = ArraySortedSet.sorted(items, items.length, this.cmp);
+        this.bloom = ArraySortedSet.NOTHING;
     }
 
     /**
@@ -165,11 +203,249 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         );
         this.throwIfComparatorArgumentIsNull(comparator);
         this.cmp = comparator;
-        final Set<T> hset = new TreeSet<>(this.cmp);
-        for (final T item : set) {
-            hset.add(item);
+        final Object[] items = ArraySortedSet.copy(set);
+        this.values = ArraySortedSet.sorted(items, items.length, this.cmp);
+        this.bloom = ArraySortedSet.NOTHING;
+    }
+
+    /**
+     * Ctor, which takes ownership of the array, without copying.
+     * @param items Sorted unique items
+     * @param comparator Comparator, which they are sorted with
+     */
+    ArraySortedSet(final T[] items, final ArrayComparator<T> comparator) {
+        this(items, comparator, ArraySortedSet.NOTHING);
+    }
+
+    /**
+     * Private ctor, which takes ownership of the arrays, without copying.
+     * @param items Sorted unique items
+     * @param comparator Comparator, which they are sorted with
+     * @param filter Slot of the Bloom filter
+     */
+    private ArraySortedSet(final T[] items,
+        final ArrayComparator<T> comparator, final Object[] filter) {
+        this.values = items;
+        this.cmp = comparator;
+        this.bloom = filter;
+    }
+
+    /**
+     * Make a set of items, which are already sorted by the default
+     * comparator and unique, checking them in O(n) without sorting.
+     * @param items Sorted unique items
+     * @param <T> Type of items
+     * @return New set
+     * @since 2.0
+     */
+    public static <T> ArraySortedSet<T> fromSorted(final Iterable<T> items) {
+        return ArraySortedSet.fromSorted(
+            items, new ArrayComparator.Default<>()
+        );
+    }
+
+    /**
+     * Make a set of items, which are already sorted by the comparator
+     * and unique, checking them in O(n) without sorting.
+     *
+     * <p>The method throws {@link IllegalArgumentException} if an item is
+     * not above the previous one. With {@link ArrayComparator.Neutral}
+     * comparator the items are kept in their order, as they are.
+     *
+     * @param items Sorted unique items
+     * @param comparator Comparator, which they are sorted with
+     * @param <T> Type of items
+     * @return New set
+     * @since 2.0
+     */
+    public static <T> ArraySortedSet<T> fromSorted(final Iterable<T> items,
+        final ArrayComparator<T> comparator) {
+        if (items == null || comparator == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArraySortedSet#fromSorted() can't be NULL"
+            );
+        }
+        final T[] array = (T[]) ArraySortedSet.copy(items);
+        if (!(comparator instanceof ArrayComparator.Neutral)) {
+            for (int idx = 0; idx < array.length; ++idx) {
+                if (array[idx] == null) {
+                    throw new IllegalArgumentException(
+                        "item of ArraySortedSet#fromSorted() can't be NULL"
+                    );
+                }
+                if (idx > 0
+                    && comparator.compare(array[idx - 1], array[idx]) >= 0) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "items aren't sorted or unique at #%d", idx
+                        )
+                    );
+                }
+            }
         }
-        this.values = hset.toArray((T[]) new Object[hset.size()]);
+        return new ArraySortedSet<>(array, comparator);
+    }
+
+    /**
+     * Make the same set, which consults a Bloom filter before
+     * {@link #contains(Object)}.
+     *
+     * <p>The filter is built on the first lookup and makes most of
+     * lookups of absent items <b>O(1)</b>. It is not inherited by sets
+     * made with {@code with()} and {@code without()}. The filter hashes
+     * items by {@code hashCode()}, so {@link #contains(Object)} consults
+     * it only if the comparator is {@link ArrayComparator.Default} or
+     * {@link ArrayComparator.Neutral}; with other comparators it's never
+     * consulted, since items equal for them may have different hashes.
+     *
+     * @param bits Bits per item in the filter, ten is a good start
+     * @return New set with the same items
+     * @since 2.0
+     */
+    public ArraySortedSet<T> bloomed(final int bits) {
+        return new ArraySortedSet<>(
+            this.values, this.cmp, BloomFilter.slot(bits)
+        );
+    }
+
+    /**
+     * The Bloom filter, building it if necessary.
+     * @return The filter
+     * @throws IllegalStateException If the set is not {@link #bloomed(int)}
+     * @since 2.0
+     */
+    public BloomFilter bloom() {
+        final BloomFilter filter = BloomFilter.lazy(this.bloom, this.values);
+        if (filter == null) {
+            throw new IllegalStateException(
+                "ArraySortedSet has no Bloom filter, use bloomed() first"
+            );
+        }
+        return filter;
+    }
+
+    /**
+     * Find the difference between two sets.
+     *
+     * <p>Both sets are walked once, in their order, so it takes
+     * <b>O(n + m)</b> time, but the delta only keeps the items that were
+     * added or removed. Both sets must be sorted in the same order,
+     * the order of the {@code before} set is used to compare items.
+     *
+     * @param before The old set
+     * @param after The new set
+     * @param <T> Type of items
+     * @return Delta, which turns the old set into the new one
+     * @see #apply(ArraySortedSet.Delta)
+     * @since 2.0
+     */
+    public static <T> ArraySortedSet.Delta<T> diff(
+        final ArraySortedSet<T> before, final ArraySortedSet<T> after) {
+        if (before == null || after == null) {
+            throw new IllegalArgumentException(
+                "arguments of ArraySortedSet#diff() can't be NULL"
+            );
+        }
+        before.throwIfNotOrdered();
+        final List<Object> changes = new ArrayList<>(0);
+        int left = 0;
+        int right = 0;
+        while (left < before.values.length || right < after.values.length) {
+            final int cmp;
+            if (left == before.values.length) {
+                cmp = 1;
+            } else if (right == after.values.length) {
+                cmp = -1;
+            } else {
+                cmp = before.cmp.compare(
+                    before.values[left], after.values[right]
+                );
+            }
+            if (cmp < 0) {
+                changes.add(ArraySortedSet.Delta.REMOVED);
+                changes.add(before.values[left]);
+                ++left;
+            } else if (cmp > 0) {
+                changes.add(ArraySortedSet.Delta.ADDED);
+                changes.add(after.values[right]);
+                ++right;
+            } else {
+                if (!before.values[left].equals(after.values[right])) {
+                    changes.add(ArraySortedSet.Delta.ADDED);
+                    changes.add(after.values[right]);
+                }
+                ++left;
+                ++right;
+            }
+        }
+        return new ArraySortedSet.Delta<>(changes.toArray());
+    }
+
+    /**
+     * Make a new one with the delta applied.
+     *
+     * <p>The items of the delta are found first, to know the exact size
+     * of the new set, and then the items between them are copied in
+     * bulk. It takes <b>O(c log n)</b> comparisons, where c is the size
+     * of the delta, plus one copy of the array.
+     *
+     * @param delta The delta, usually made by
+     *  {@link #diff(ArraySortedSet, ArraySortedSet)}
+     * @return New set
+     * @since 2.0
+     */
+    public ArraySortedSet<T> apply(final ArraySortedSet.Delta<T> delta) {
+        this.throwIfArgumentIsNull(
+            delta, "argument of ArraySortedSet#apply() can't be NULL"
+        );
+        this.throwIfNotOrdered();
+        final int[] found = new int[delta.size()];
+        int size = this.values.length;
+        int src = 0;
+        for (int idx = 0; idx < found.length; ++idx) {
+            found[idx] = Arrays.binarySearch(
+                this.values, src, this.values.length, delta.item(idx), this.cmp
+            );
+            final boolean removed =
+                ArraySortedSet.Delta.REMOVED.equals(delta.kind(idx));
+            if (found[idx] >= 0) {
+                src = found[idx] + 1;
+                if (removed) {
+                    --size;
+                }
+            } else {
+                src = -found[idx] - 1;
+                if (!removed) {
+                    ++size;
+                }
+            }
+        }
+        final T[] after = (T[]) new Object[size];
+        src = 0;
+        int dst = 0;
+        for (int idx = 0; idx < found.length; ++idx) {
+            final int pos;
+            if (found[idx] >= 0) {
+                pos = found[idx];
+            } else {
+                pos = -found[idx] - 1;
+            }
+            System.arraycopy(this.values, src, after, dst, pos - src);
+            dst += pos - src;
+            src = pos;
+            if (found[idx] >= 0) {
+                ++src;
+            }
+            if (!ArraySortedSet.Delta.REMOVED.equals(delta.kind(idx))) {
+                after[dst] = delta.item(idx);
+                ++dst;
+            }
+        }
+        System.arraycopy(
+            this.values, src, after, dst, this.values.length - src
+        );
+        Metrics.SORTED.copied(size);
+        return new ArraySortedSet<>(after, this.cmp, ArraySortedSet.NOTHING);
     }
 
     /**
@@ -185,6 +461,7 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         list.addAll(this);
         list.remove(value);
         list.add(value);
+        Metrics.SORTED.copied(list.size());
         return new ArraySortedSet<>(list, this.cmp);
     }
 
@@ -201,6 +478,7 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         list.addAll(this);
         list.removeAll(vals);
         list.addAll(vals);
+        Metrics.SORTED.copied(list.size());
         return new ArraySortedSet<>(list, this.cmp);
     }
 
@@ -216,9 +494,119 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         final Collection<T> list = new TreeSet<>(this.cmp);
         list.addAll(this);
         list.remove(value);
+        Metrics.SORTED.copied(list.size());
         return new ArraySortedSet<>(list, this.cmp);
     }
 
+    /**
+     * Item at the position, in O(1).
+     *
+     * <p>The method throws {@link ArrayIndexOutOfBoundsException} if such
+     * position is absent in the set.
+     *
+     * @param idx The position, from zero
+     * @return The item
+     * @since 2.0
+     */
+    public T get(final int idx) {
+        if (idx < 0 || idx >= this.values.length) {
+            throw new ArrayIndexOutOfBoundsException(
+                String.format(
+                    "index %d is out of bounds: [0..%d)",
+                    idx, this.values.length
+                )
+            );
+        }
+        return this.values[idx];
+    }
+
+    /**
+     * Position of the item, found by binary search in O(log n).
+     *
+     * <p>With {@link ArrayComparator.Neutral} comparator the items are
+     * not sorted, so they are scanned.
+     *
+     * @param item The item
+     * @return Its position or -1, if it's absent
+     * @since 2.0
+     */
+    public int indexOf(final T item) {
+        this.throwIfArgumentIsNull(
+            item, "argument of ArraySortedSet#indexOf() can't be NULL"
+        );
+        final int pos;
+        if (this.cmp instanceof ArrayComparator.Neutral) {
+            pos = Arrays.asList(this.values).indexOf(item);
+        } else {
+            pos = Math.max(
+                -1, Arrays.binarySearch(this.values, item, this.cmp)
+            );
+        }
+        return pos;
+    }
+
+    /**
+     * Number of items before the given one, which may be absent in
+     * the set, in O(log n).
+     * @param item The item
+     * @return Number of smaller items
+     * @since 2.0
+     */
+    public int rank(final T item) {
+        this.throwIfArgumentIsNull(
+            item, "argument of ArraySortedSet#rank() can't be NULL"
+        );
+        this.throwIfNotOrdered();
+        final int found = Arrays.binarySearch(this.values, item, this.cmp);
+        final int rank;
+        if (found >= 0) {
+            rank = found;
+        } else {
+            rank = -found - 1;
+        }
+        return rank;
+    }
+
+    /**
+     * Number of items from the first one, inclusive, to the second one,
+     * exclusive, as in {@link #subSet(Object, Object)}, in O(log n).
+     * @param from The lower bound, inclusive
+     * @param till The upper bound, exclusive
+     * @return Number of items between them
+     * @since 2.0
+     */
+    public int countBetween(final T from, final T till) {
+        return Math.max(0, this.rank(till) - this.rank(from));
+    }
+
+    /**
+     * Item at the quantile, by the nearest-rank method, in O(1).
+     *
+     * <p>It's the smallest item, such that at least {@code q} of all items
+     * are not greater than it: {@code quantile(0.5)} is the median and
+     * {@code quantile(0.99)} is the 99th percentile.
+     *
+     * @param quantile The quantile, from zero to one
+     * @return The item
+     * @since 2.0
+     */
+    public T quantile(final double quantile) {
+        if (!(quantile >= 0.0d && quantile <= 1.0d)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "quantile must be in [0..1]: %f", quantile
+                )
+            );
+        }
+        if (this.values.length == 0) {
+            throw new NoSuchElementException("quantile of an empty set");
+        }
+        this.throwIfNotOrdered();
+        return this.values[
+            Math.max(0, (int) Math.ceil(quantile * this.values.length) - 1)
+        ];
+    }
+
     @Override
     public int hashCode() {
         return Arrays.hashCode(this.values);
@@ -256,7 +644,7 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
 
     @Override
     public boolean contains(final Object key) {
-        return Arrays.asList(this.values).contains(key);
+        return key != null && this.mightContain(key) && this.search(key);
     }
 
     @Override
@@ -266,23 +654,88 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
 
     @Override
     public SortedSet<T> subSet(final T from, final T till) {
-        return Collections.unmodifiableSortedSet(
-            new TreeSet<>(this).subSet(from, till)
-        );
+        return this.subSet(from, true, till, false);
     }
 
     @Override
     public SortedSet<T> headSet(final T till) {
-        return Collections.unmodifiableSortedSet(
-            new TreeSet<>(this)
-        ).headSet(till);
+        return this.headSet(till, false);
     }
 
     @Override
     public SortedSet<T> tailSet(final T from) {
-        return Collections.unmodifiableSortedSet(
-            new TreeSet<>(this)
-        ).tailSet(from);
+        return this.tailSet(from, true);
+    }
+
+    @Override
+    public NavigableSet<T> subSet(final T from, final boolean low,
+        final T till, final boolean high) {
+        final int first = this.lowest(from, low);
+        final int last = this.lowest(till, !high);
+        if (this.cmp.compare(from, till) > 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "ArraySortedSet#subSet() from %s is after %s", from, till
+                )
+            );
+        }
+        return this.range(first, last);
+    }
+
+    @Override
+    public NavigableSet<T> headSet(final T till, final boolean inclusive) {
+        return this.range(0, this.lowest(till, !inclusive));
+    }
+
+    @Override
+    public NavigableSet<T> tailSet(final T from, final boolean inclusive) {
+        return this.range(this.lowest(from, inclusive), this.values.length);
+    }
+
+    @Override
+    public T lower(final T item) {
+        return this.at(this.lowest(item, true) - 1);
+    }
+
+    @Override
+    public T floor(final T item) {
+        return this.at(this.lowest(item, false) - 1);
+    }
+
+    @Override
+    public T ceiling(final T item) {
+        return this.at(this.lowest(item, true));
+    }
+
+    @Override
+    public T higher(final T item) {
+        return this.at(this.lowest(item, false));
+    }
+
+    @Override
+    public NavigableSet<T> descendingSet() {
+        return new ArraySortedSet.Descending<>(this);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return this.descendingSet().iterator();
+    }
+
+    @Override
+    @Deprecated
+    public T pollFirst() {
+        throw new UnsupportedOperationException(
+            "pollFirst(): ArraySortedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public T pollLast() {
+        throw new UnsupportedOperationException(
+            "pollLast(): ArraySortedSet is immutable"
+        );
     }
 
     @Override
@@ -345,7 +798,14 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
 
     @Override
     public boolean containsAll(final Collection<?> col) {
-        return Arrays.asList(this.values).containsAll(col);
+        boolean contains = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                contains = false;
+                break;
+            }
+        }
+        return contains;
     }
 
     @Override
@@ -380,6 +840,201 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
         );
     }
 
+    /**
+     * Throws IllegalStateException if the items are not really sorted.
+     */
+    private void throwIfNotOrdered() {
+        if (this.cmp instanceof ArrayComparator.Neutral) {
+            throw new IllegalStateException(
+                "ArraySortedSet with NEUTRAL comparator is not sorted"
+            );
+        }
+    }
+
+    /**
+     * Copy items into an array of the exact size.
+     * @param items The items
+     * @return Array of them
+     */
+    private static Object[] copy(final Iterable<?> items) {
+        final Object[] array;
+        if (items instanceof Collection) {
+            array = Collection.class.cast(items).toArray();
+        } else {
+            Object[] all = new Object[ArraySortedSet.CHUNK];
+            int size = 0;
+            for (final Object item : items) {
+                if (size == all.length) {
+                    all = Arrays.copyOf(all, size << 1);
+                }
+                all[size] = item;
+                ++size;
+            }
+            array = Arrays.copyOf(all, size);
+        }
+        return array;
+    }
+
+    /**
+     * Sort items and remove duplicates, keeping the first of equal ones,
+     * as {@link TreeSet} does.
+     *
+     * <p>Items, which are sorted already, are only checked in O(n).
+     * Others are sorted by {@link Arrays#sort(Object[], int, int,
+     * Comparator)}, or by {@link Arrays#parallelSort(Object[], int, int,
+     * Comparator)} if there are many of them. Both are stable, so the
+     * first of equal items stays first. With
+     * {@link ArrayComparator.Neutral} comparator the items are not sorted
+     * and duplicates are kept, since it never finds items equal.
+     *
+     * @param items The items, which may be reordered
+     * @param size How many of them to use
+     * @param comparator Comparator
+     * @param <T> Type of items
+     * @return Sorted unique items, in an array of the exact size
+     */
+    private static <T> T[] sorted(final Object[] items, final int size,
+        final ArrayComparator<T> comparator) {
+        final T[] array = (T[]) items;
+        int unique = size;
+        if (!(comparator instanceof ArrayComparator.Neutral)) {
+            for (int idx = 0; idx < size; ++idx) {
+                if (array[idx] == null) {
+                    throw new IllegalArgumentException(
+                        "item of ArraySortedSet can't be NULL"
+                    );
+                }
+            }
+            boolean ordered = true;
+            for (int idx = 1; idx < size && ordered; ++idx) {
+                ordered = comparator.compare(array[idx - 1], array[idx]) < 0;
+            }
+            if (!ordered) {
+                if (size >= ArraySortedSet.PARALLEL) {
+                    Arrays.parallelSort(array, 0, size, comparator);
+                } else {
+                    Arrays.sort(array, 0, size, comparator);
+                }
+                unique = Math.min(size, 1);
+                for (int idx = 1; idx < size; ++idx) {
+                    if (comparator.compare(array[unique - 1], array[idx])
+                        != 0) {
+                        array[unique] = array[idx];
+                        ++unique;
+                    }
+                }
+            }
+        }
+        final T[] result;
+        if (unique == array.length) {
+            result = array;
+        } else {
+            result = Arrays.copyOf(array, unique);
+        }
+        return result;
+    }
+
+    /**
+     * Position of the first item, which is not below the given one,
+     * found by binary search.
+     * @param item The item
+     * @param inclusive Is the item itself not below?
+     * @return Position, up to the size of the set
+     */
+    private int lowest(final T item, final boolean inclusive) {
+        this.throwIfArgumentIsNull(
+            item, "argument of ArraySortedSet navigation can't be NULL"
+        );
+        this.throwIfNotOrdered();
+        final int found = Arrays.binarySearch(this.values, item, this.cmp);
+        final int pos;
+        if (found < 0) {
+            pos = -found - 1;
+        } else if (inclusive) {
+            pos = found;
+        } else {
+            pos = found + 1;
+        }
+        return pos;
+    }
+
+    /**
+     * Item at the position or NULL, if it's absent.
+     * @param idx The position
+     * @return The item or NULL
+     */
+    private T at(final int idx) {
+        T item = null;
+        if (idx >= 0 && idx < this.values.length) {
+            item = this.values[idx];
+        }
+        return item;
+    }
+
+    /**
+     * Set of the items between two positions.
+     * @param first The first position, inclusive
+     * @param last The last position, exclusive
+     * @return New set
+     */
+    private ArraySortedSet<T> range(final int first, final int last) {
+        final ArraySortedSet<T> set;
+        if (first == 0 && last == this.values.length) {
+            set = this;
+        } else if (first >= last) {
+            set = new ArraySortedSet<>(this.cmp);
+        } else {
+            set = new ArraySortedSet<>(
+                Arrays.copyOfRange(this.values, first, last), this.cmp
+            );
+        }
+        return set;
+    }
+
+    /**
+     * Does the Bloom filter allow the item, if the set has the filter?
+     *
+     * <p>The filter hashes items by {@code hashCode()}, so it's consulted
+     * only when the comparator agrees with {@code equals()}: the natural
+     * order of {@link ArrayComparator.Default} or the
+     * {@link ArrayComparator.Neutral} order, which uses
+     * {@code equals()} itself. Otherwise items equal by the comparator
+     * would be missed by the filter.
+     *
+     * @param key The item
+     * @return FALSE if the item is surely absent
+     */
+    private boolean mightContain(final Object key) {
+        boolean might = true;
+        if (this.cmp instanceof ArrayComparator.Default
+            || this.cmp instanceof ArrayComparator.Neutral) {
+            final BloomFilter filter = BloomFilter.lazy(
+                this.bloom, this.values
+            );
+            might = filter == null || filter.mightContain(key);
+        }
+        return might;
+    }
+
+    /**
+     * Find the item by the comparator.
+     *
+     * <p>Items of another type, which the comparator can't compare with
+     * items of this set, are absent.
+     *
+     * @param key The item
+     * @return TRUE if it's found
+     */
+    private boolean search(final Object key) {
+        boolean found;
+        try {
+            found = this.indexOf((T) key) >= 0;
+        } catch (final ClassCastException ex) {
+            found = false;
+        }
+        return found;
+    }
+
     /**
      * Throws IllegalArgumentException if the input parameter is null.
      * @param comp Comparator to check its nullity
@@ -400,4 +1055,290 @@ public final class ArraySortedSet<T> implements SortedSet<T> {
             throw new IllegalArgumentException(message);
         }
     }
+
+    /**
+     * Difference between two sets.
+     *
+     * <p>The delta is a list of changes, sorted in the order of the sets:
+     * items added and items removed.
+     *
+     * @param <T> Type of items.
+     * @since 2.0
+     */
+    @Immutable
+    public static final class Delta<T> {
+        /**
+         * Slots per change in the list: kind and item.
+         */
+        private static final int STRIDE = 2;
+
+        /**
+         * Kind of change: the item is added.
+         */
+        private static final Integer ADDED = 0;
+
+        /**
+         * Kind of change: the item is removed.
+         */
+        private static final Integer REMOVED = 1;
+
+        /**
+         * Kind and item of each change, one after another.
+         */
+        @Immutable.Array
+        private final transient Object[] changes;
+
+        /**
+         * Ctor.
+         * @param list Kind and item of each change
+         */
+        private Delta(final Object[] list) {
+            this.changes = list;
+        }
+
+        /**
+         * Number of changes.
+         * @return Size of the delta
+         */
+        public int size() {
+            return this.changes.length / Delta.STRIDE;
+        }
+
+        /**
+         * Is it empty, when both sets are equal?
+         * @return TRUE if there are no changes
+         */
+        public boolean isEmpty() {
+            return this.changes.length == 0;
+        }
+
+        /**
+         * Items added.
+         * @return List of them, in the order of the set
+         */
+        public Array<T> added() {
+            return this.select(Delta.ADDED);
+        }
+
+        /**
+         * Items removed.
+         * @return List of them, in the order of the set
+         */
+        public Array<T> removed() {
+            return this.select(Delta.REMOVED);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("+[%s] -[%s]", this.added(), this.removed());
+        }
+
+        /**
+         * Kind of the change.
+         * @param idx Number of the change
+         * @return Kind
+         */
+        private Integer kind(final int idx) {
+            return Integer.class.cast(this.changes[idx * Delta.STRIDE]);
+        }
+
+        /**
+         * Item of the change.
+         * @param idx Number of the change
+         * @return The item
+         */
+        private T item(final int idx) {
+            return (T) this.changes[idx * Delta.STRIDE + 1];
+        }
+
+        /**
+         * Select changes of one kind.
+         * @param kind The kind
+         * @return Items
+         */
+        private Array<T> select(final Integer kind) {
+            final T[] items = (T[]) new Object[this.size()];
+            int pos = 0;
+            for (int idx = 0; idx < this.size(); ++idx) {
+                if (this.kind(idx).equals(kind)) {
+                    items[pos] = this.item(idx);
+                    ++pos;
+                }
+            }
+            return new Array<>(items, pos);
+        }
+    }
+
+    /**
+     * Read-only view of the set in descending order.
+     *
+     * <p>The view doesn't copy the items, it reads the array of the set
+     * from the end.
+     *
+     * @param <T> Value type
+     * @since 2.0
+     */
+    private static final class Descending<T> extends AbstractSet<T>
+        implements NavigableSet<T> {
+        /**
+         * The set.
+         */
+        private final transient ArraySortedSet<T> set;
+
+        /**
+         * Ctor.
+         * @param origin The set
+         */
+        Descending(final ArraySortedSet<T> origin) {
+            super();
+            this.set = origin;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new ArraySortedSet.Backward<>(this.set.values);
+        }
+
+        @Override
+        public int size() {
+            return this.set.size();
+        }
+
+        @Override
+        public boolean contains(final Object item) {
+            return this.set.contains(item);
+        }
+
+        @Override
+        public Comparator<? super T> comparator() {
+            return Collections.reverseOrder(this.set.cmp);
+        }
+
+        @Override
+        public T first() {
+            return this.set.last();
+        }
+
+        @Override
+        public T last() {
+            return this.set.first();
+        }
+
+        @Override
+        public T lower(final T item) {
+            return this.set.higher(item);
+        }
+
+        @Override
+        public T floor(final T item) {
+            return this.set.ceiling(item);
+        }
+
+        @Override
+        public T ceiling(final T item) {
+            return this.set.floor(item);
+        }
+
+        @Override
+        public T higher(final T item) {
+            return this.set.lower(item);
+        }
+
+        @Override
+        public T pollFirst() {
+            throw new UnsupportedOperationException(
+                "pollFirst(): ArraySortedSet is immutable"
+            );
+        }
+
+        @Override
+        public T pollLast() {
+            throw new UnsupportedOperationException(
+                "pollLast(): ArraySortedSet is immutable"
+            );
+        }
+
+        @Override
+        public NavigableSet<T> descendingSet() {
+            return this.set;
+        }
+
+        @Override
+        public Iterator<T> descendingIterator() {
+            return this.set.iterator();
+        }
+
+        @Override
+        public NavigableSet<T> subSet(final T from, final boolean low,
+            final T till, final boolean high) {
+            return this.set.subSet(till, high, from, low).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<T> headSet(final T till,
+            final boolean inclusive) {
+            return this.set.tailSet(till, inclusive).descendingSet();
+        }
+
+        @Override
+        public NavigableSet<T> tailSet(final T from,
+            final boolean inclusive) {
+            return this.set.headSet(from, inclusive).descendingSet();
+        }
+
+        @Override
+        public SortedSet<T> subSet(final T from, final T till) {
+            return this.subSet(from, true, till, false);
+        }
+
+        @Override
+        public SortedSet<T> headSet(final T till) {
+            return this.headSet(till, false);
+        }
+
+        @Override
+        public SortedSet<T> tailSet(final T from) {
+            return this.tailSet(from, true);
+        }
+    }
+
+    /**
+     * Iterator over an array from the end.
+     * @param <T> Value type
+     * @since 2.0
+     */
+    private static final class Backward<T> implements Iterator<T> {
+        /**
+         * The items.
+         */
+        private final transient T[] items;
+
+        /**
+         * Position of the next item, plus one.
+         */
+        private int pos;
+
+        /**
+         * Ctor.
+         * @param array The items
+         */
+        Backward(final T[] array) {
+            this.items = array;
+            this.pos = array.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.pos > 0;
+        }
+
+        @Override
+        public T next() {
+            if (this.pos == 0) {
+                throw new NoSuchElementException("no more items");
+            }
+            --this.pos;
+            return this.items[this.pos];
+        }
+    }
 }
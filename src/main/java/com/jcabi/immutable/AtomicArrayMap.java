@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Atomic holder of {@link ArrayMap} snapshots, with batched updates.
+ *
+ * <p>This class is mutable and thread-safe. Readers get the current
+ * snapshot by {@link #get()}, which is a plain volatile read, without
+ * locks. The snapshot is an {@link ArrayMap}, it never changes.
+ * <p>
+ * Writers don't compete with each other in CAS loops, where every
+ * failed attempt throws away a full copy of the map. Instead, every
+ * writer puts its edit into a queue and the one that gets the lock
+ * becomes a combiner: it takes all queued edits, applies them to the
+ * snapshot in one rebuild, by {@link ArrayMap#apply(ArrayMap.Delta)},
+ * and publishes the result. Other writers wait until their edits
+ * are combined, or take the lock themselves, if it's free (this
+ * technique is known as flat combining). So, under contention, one
+ * rebuild of the map serves many writers.
+ * <p>
+ * Edits of one batch are applied in the order they are queued,
+ * the last one for a key wins. If the batch can't be applied, for
+ * example because its keys are not comparable with the keys of the map,
+ * the snapshot stays as it was and every writer of the batch gets
+ * the exception.
+ * <p>
+ * Instead of polling {@link #get()} for changes, consumers may subscribe
+ * to {@link #changes()}, which emits every new snapshot.
+ *
+ * @param <K> Map key type
+ * @param <V> Value key type
+ * @since 2.0
+ */
+@SuppressWarnings({
+    "unchecked", "PMD.AvoidUsingVolatile",
+    "PMD.AvoidCatchingGenericException"
+})
+public final class AtomicArrayMap<K, V> {
+
+    /**
+     * Maximum number of edits in one batch.
+     */
+    private static final int BATCH = 4096;
+
+    /**
+     * Current snapshot.
+     */
+    private final AtomicReference<ArrayMap<K, V>> snapshot;
+
+    /**
+     * Edits waiting for a combiner.
+     */
+    private final Queue<AtomicArrayMap.Edit<K, V>> pending;
+
+    /**
+     * Lock of the combiner.
+     */
+    private final Lock combiner;
+
+    /**
+     * How many snapshots were published.
+     */
+    private final AtomicLong published;
+
+    /**
+     * Publisher of new snapshots.
+     */
+    private final SnapshotPublisher<ArrayMap<K, V>> publisher;
+
+    /**
+     * Public ctor, with an empty map.
+     */
+    public AtomicArrayMap() {
+        this(ArrayMap.of());
+    }
+
+    /**
+     * Public ctor.
+     * @param map The initial snapshot
+     */
+    public AtomicArrayMap(final ArrayMap<K, V> map) {
+        if (map == null) {
+            throw new IllegalArgumentException(
+                "argument of AtomicArrayMap#new can't be NULL"
+            );
+        }
+        this.snapshot = new AtomicReference<>(map);
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.combiner = new ReentrantLock();
+        this.published = new AtomicLong();
+        this.publisher = new SnapshotPublisher<>(map, ArrayMap::size);
+    }
+
+    /**
+     * Get the current snapshot.
+     * @return The map
+     */
+    public ArrayMap<K, V> get() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Put a new entry into the map, or replace the value of the key.
+     * @param key The key
+     * @param value The value
+     * @return The snapshot, which has this entry
+     */
+    public ArrayMap<K, V> put(final K key, final V value) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "first argument of AtomicArrayMap#put() can't be NULL"
+            );
+        }
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "second argument of AtomicArrayMap#put() can't be NULL"
+            );
+        }
+        return this.submit(new AtomicArrayMap.Edit<>(key, value));
+    }
+
+    /**
+     * Remove the key from the map.
+     * @param key The key
+     * @return The snapshot, which doesn't have this key
+     */
+    public ArrayMap<K, V> remove(final K key) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "argument of AtomicArrayMap#remove() can't be NULL"
+            );
+        }
+        return this.submit(new AtomicArrayMap.Edit<>(key, null));
+    }
+
+    /**
+     * How many snapshots were published since the holder was created.
+     *
+     * <p>Under contention it's much smaller than the number of
+     * edits, since one snapshot combines many of them.
+     *
+     * @return Number of rebuilds of the map
+     */
+    public long rebuilds() {
+        return this.published.get();
+    }
+
+    /**
+     * Publisher of new snapshots.
+     *
+     * <p>A slow subscriber doesn't slow down writers, it gets only the
+     * latest snapshot, when it requests the next one.
+     *
+     * @return Publisher
+     */
+    public Flow.Publisher<SnapshotPublisher.Version<ArrayMap<K, V>>>
+        changes() {
+        return this.publisher;
+    }
+
+    @Override
+    public String toString() {
+        return this.snapshot.get().toString();
+    }
+
+    /**
+     * Queue the edit and wait until it's combined.
+     *
+     * <p>If the batch with the edit can't be applied, the exception of
+     * the combiner is thrown here, in every writer of the batch.
+     *
+     * @param edit The edit
+     * @return The snapshot, which has this edit applied
+     */
+    private ArrayMap<K, V> submit(final AtomicArrayMap.Edit<K, V> edit) {
+        this.pending.add(edit);
+        while (!edit.over()) {
+            if (this.combiner.tryLock()) {
+                try {
+                    this.combine();
+                } finally {
+                    this.combiner.unlock();
+                }
+            } else {
+                Thread.yield();
+            }
+        }
+        return edit.result();
+    }
+
+    /**
+     * Apply the queued edits in one batch and publish the result.
+     *
+     * <p>Must be called only by the holder of the lock.
+     */
+    private void combine() {
+        final Map<K, V> edits = new HashMap<>(0);
+        final List<AtomicArrayMap.Edit<K, V>> batch = new ArrayList<>(0);
+        AtomicArrayMap.Edit<K, V> edit = this.pending.poll();
+        while (edit != null) {
+            edits.put(edit.key(), edit.value());
+            batch.add(edit);
+            if (batch.size() == AtomicArrayMap.BATCH) {
+                break;
+            }
+            edit = this.pending.poll();
+        }
+        if (!batch.isEmpty()) {
+            ArrayMap<K, V> next = null;
+            RuntimeException failure = new IllegalStateException(
+                "the batch of AtomicArrayMap was not applied"
+            );
+            try {
+                next = this.snapshot.get().apply(ArrayMap.Delta.of(edits));
+                this.snapshot.set(next);
+                this.published.incrementAndGet();
+            } catch (final RuntimeException ex) {
+                failure = ex;
+            } finally {
+                for (final AtomicArrayMap.Edit<K, V> done : batch) {
+                    if (next == null) {
+                        done.fail(failure);
+                    } else {
+                        done.finish(next);
+                    }
+                }
+            }
+            if (next != null) {
+                this.publisher.publish(next);
+            }
+        }
+    }
+
+    /**
+     * Edit, waiting for a combiner.
+     * @param <K> Map key type
+     * @param <V> Value key type
+     * @since 2.0
+     */
+    private static final class Edit<K, V> {
+        /**
+         * The key.
+         */
+        private final K name;
+
+        /**
+         * The new value, NULL if the key is removed.
+         */
+        private final V target;
+
+        /**
+         * The snapshot with this edit, NULL until it's combined.
+         */
+        private volatile ArrayMap<K, V> done;
+
+        /**
+         * Why the edit was not applied, NULL if it was or not yet.
+         */
+        private volatile RuntimeException failure;
+
+        /**
+         * Ctor.
+         * @param key The key
+         * @param value The value or NULL
+         */
+        Edit(final K key, final V value) {
+            this.name = key;
+            this.target = value;
+        }
+
+        /**
+         * The key.
+         * @return Key
+         */
+        K key() {
+            return this.name;
+        }
+
+        /**
+         * The new value.
+         * @return Value or NULL, if the key is removed
+         */
+        V value() {
+            return this.target;
+        }
+
+        /**
+         * Is it combined or failed already?
+         * @return TRUE if the writer may stop waiting
+         */
+        boolean over() {
+            return this.done != null || this.failure != null;
+        }
+
+        /**
+         * The snapshot with this edit.
+         * @return Snapshot
+         * @throws RuntimeException If the edit was not applied
+         */
+        ArrayMap<K, V> result() {
+            final RuntimeException error = this.failure;
+            if (error != null) {
+                throw error;
+            }
+            return this.done;
+        }
+
+        /**
+         * Mark it as combined.
+         * @param map The snapshot with this edit
+         */
+        void finish(final ArrayMap<K, V> map) {
+            this.done = map;
+        }
+
+        /**
+         * Mark it as failed.
+         * @param error Why it was not applied
+         */
+        void fail(final RuntimeException error) {
+            this.failure = error;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import java.util.Objects;
+
+/**
+ * Blocked Bloom filter over items of an immutable collection.
+ *
+ * <p>The filter is split into blocks of 512 bits, which is the size of
+ * a typical cache line. All bits of an item are set in one block, so
+ * a lookup touches only one cache line. The filter never changes after
+ * it's built, which is enough, since the collections it's built for
+ * never change either.
+ *
+ * <p>Lookups use {@link Object#hashCode()}, so the filter can only be
+ * used with collections that use {@link Object#equals(Object)}.
+ *
+ * @since 2.0
+ */
+@Immutable
+public final class BloomFilter {
+
+    /**
+     * Bits in one block, as a power of two.
+     */
+    private static final int BLOCK = 9;
+
+    /**
+     * Bits in one word, as a power of two.
+     */
+    private static final int WORD = 6;
+
+    /**
+     * Most bits per item, that are ever set.
+     */
+    private static final int MOST = 16;
+
+    /**
+     * Multiplier that spreads hash codes (golden ratio).
+     */
+    private static final long SPREAD = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Bytes in the headers of the filter and its array, approximately.
+     */
+    private static final int HEADER = 32;
+
+    /**
+     * All blocks, one after another.
+     */
+    @Immutable.Array
+    private final transient long[] words;
+
+    /**
+     * Number of blocks.
+     */
+    private final transient int blocks;
+
+    /**
+     * Bits to set per item.
+     */
+    private final transient int hashes;
+
+    /**
+     * Number of items in the filter.
+     */
+    private final transient int items;
+
+    /**
+     * Ctor.
+     * @param values Items to put into the filter
+     * @param bits Bits per item, the more the less false positives
+     */
+    public BloomFilter(final Object[] values, final int bits) {
+        if (bits < 1) {
+            throw new IllegalArgumentException(
+                String.format("bits per item must be positive: %d", bits)
+            );
+        }
+        this.items = values.length;
+        this.blocks = (int) Math.max(
+            1L, ((long) values.length * bits >> BloomFilter.BLOCK) + 1L
+        );
+        this.hashes = (int) Math.max(
+            1L, Math.min(BloomFilter.MOST, Math.round(bits * Math.log(2)))
+        );
+        this.words = new long[
+            this.blocks << BloomFilter.BLOCK - BloomFilter.WORD
+        ];
+        for (final Object value : values) {
+            final long hash = BloomFilter.hash(value);
+            final int base = this.base(hash);
+            for (int idx = 0; idx < this.hashes; ++idx) {
+                final int bit = BloomFilter.bit(hash, idx);
+                this.words[base + (bit >>> BloomFilter.WORD)] |= 1L << bit;
+            }
+        }
+    }
+
+    /**
+     * Is it possible that the item is in the collection?
+     * @param item The item
+     * @return FALSE if it's definitely absent
+     */
+    public boolean mightContain(final Object item) {
+        final long hash = BloomFilter.hash(item);
+        final int base = this.base(hash);
+        boolean found = true;
+        for (int idx = 0; idx < this.hashes; ++idx) {
+            final int bit = BloomFilter.bit(hash, idx);
+            if ((this.words[base + (bit >>> BloomFilter.WORD)]
+                & 1L << bit) == 0L) {
+                found = false;
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Estimated probability of false positives.
+     * @return Probability, from zero to one
+     */
+    public double fpp() {
+        final double bits = (double) this.words.length * Long.SIZE;
+        return Math.pow(
+            1.0 - Math.exp(-(double) this.hashes * this.items / bits),
+            this.hashes
+        );
+    }
+
+    /**
+     * Memory taken by the filter, in bytes.
+     * @return Bytes
+     */
+    public long bytes() {
+        return BloomFilter.HEADER + (long) Long.BYTES * this.words.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d items in %d bytes, fpp=%.4f",
+            this.items, this.bytes(), this.fpp()
+        );
+    }
+
+    /**
+     * Get the filter from the slot, building it if necessary.
+     *
+     * <p>The slot is either empty, if the filter is not needed, or
+     * keeps the number of bits per item, until the filter is built,
+     * or the filter itself. It's updated without synchronization, since
+     * the filter is immutable and, in the worst case, it's built twice.
+     *
+     * @param slot The slot
+     * @param values Items to put into the filter
+     * @return The filter or NULL, if it's not needed
+     */
+    static BloomFilter lazy(final Object[] slot, final Object[] values) {
+        BloomFilter filter = null;
+        if (slot.length > 0) {
+            final Object ref = slot[0];
+            if (ref instanceof BloomFilter) {
+                filter = BloomFilter.class.cast(ref);
+            } else {
+                filter = new BloomFilter(values, Integer.class.cast(ref));
+                slot[0] = filter;
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Make a slot for a filter, which will be built later.
+     * @param bits Bits per item
+     * @return The slot
+     */
+    static Object[] slot(final int bits) {
+        if (bits < 1) {
+            throw new IllegalArgumentException(
+                String.format("bits per item must be positive: %d", bits)
+            );
+        }
+        return new Object[] {bits};
+    }
+
+    /**
+     * Index of the first word of the block for this hash.
+     * @param hash The hash
+     * @return Index of the word
+     */
+    private int base(final long hash) {
+        return (int) ((hash >>> Integer.SIZE) * this.blocks >>> Integer.SIZE)
+            << BloomFilter.BLOCK - BloomFilter.WORD;
+    }
+
+    /**
+     * Hash of an item, 64 bits.
+     * @param item The item
+     * @return Hash
+     */
+    private static long hash(final Object item) {
+        final long hash = Objects.hashCode(item) * BloomFilter.SPREAD;
+        return hash ^ (hash >>> Integer.SIZE);
+    }
+
+    /**
+     * Position of the bit in the block.
+     * @param hash Hash of the item
+     * @param idx Number of the bit, from zero
+     * @return Position, from zero to 511
+     */
+    private static int bit(final long hash, final int idx) {
+        final int low = (int) hash;
+        final int step = (low >>> BloomFilter.BLOCK) | 1;
+        return (low + idx * step) & ((1 << BloomFilter.BLOCK) - 1);
+    }
+
+}
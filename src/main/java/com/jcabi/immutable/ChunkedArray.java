@@ -0,0 +1,537 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Huge array, which is kept in chunks of a fixed size.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * {@link Array} keeps all its items in one array, which G1 allocates
+ * as a humongous object, as soon as it takes a half of a heap region
+ * or more, that is 512Kb with the smallest regions of 1Mb. Humongous
+ * objects start concurrent cycles early and fragment the heap, and
+ * every {@link Array#with(Object)} allocates one more of them.
+ * This array keeps its items in chunks of 4096 items, that is 16Kb
+ * or 32Kb each, depending on the size of a reference, and a spine,
+ * which is an array of the chunks. All chunks are full, except
+ * the last one. {@link #get(int)} is a shift and a mask,
+ * {@link #with(Object)} and {@link #with(int, Object)} copy only one
+ * chunk and the spine, while all other chunks are shared with this
+ * array. The spine itself reaches 512Kb only at a half of billion items.
+ * <p>
+ * Limitation:
+ * Encapsulated objects with exposed mutators can mutate their state.
+ *
+ * @param <T> Value key type
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (500 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "unchecked", "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class ChunkedArray<T> implements List<T> {
+
+    /**
+     * Bits of an index within a chunk.
+     */
+    private static final int SHIFT = 12;
+
+    /**
+     * Items in a full chunk.
+     */
+    private static final int CHUNK = 1 << ChunkedArray.SHIFT;
+
+    /**
+     * Mask of an index within a chunk.
+     */
+    private static final int MASK = ChunkedArray.CHUNK - 1;
+
+    /**
+     * Multiplier for hash codes, the same as in {@link List#hashCode()}.
+     */
+    private static final int PRIME = 31;
+
+    /**
+     * All chunks.
+     */
+    @Immutable.Array
+    private final transient Object[][] spine;
+
+    /**
+     * Total number of items.
+     */
+    private final transient int length;
+
+    /**
+     * Public ctor, for an empty array.
+     */
+    public ChunkedArray() {
+        this(new Object[0][], 0);
+    }
+
+    /**
+     * Public ctor, from an array of values.
+     * @param list Items to encapsulate
+     */
+    public ChunkedArray(final T... list) {
+        this(Arrays.asList(list));
+    }
+
+    /**
+     * Public ctor.
+     * @param list Items to encapsulate
+     */
+    public ChunkedArray(final Iterable<T> list) {
+        this(ChunkedArray.copy(list));
+    }
+
+    /**
+     * Private ctor.
+     * @param array The array to copy
+     */
+    private ChunkedArray(final ChunkedArray<T> array) {
+        this(array.spine, array.length);
+    }
+
+    /**
+     * Private ctor, which takes ownership of the chunks, without copying.
+     * @param chunks All chunks, full except the last one
+     * @param total Total number of items in them
+     */
+    private ChunkedArray(final Object[][] chunks, final int total) {
+        this.spine = chunks;
+        this.length = total;
+    }
+
+    /**
+     * Make a new one with an extra entry, at the end of array.
+     *
+     * <p>Only the last chunk and the spine are copied.
+     *
+     * @param value The value
+     * @return New array
+     */
+    public ChunkedArray<T> with(final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "argument of ChunkedArray#with() can't be NULL"
+            );
+        }
+        final int offset = this.length & ChunkedArray.MASK;
+        final Object[][] chunks;
+        final Object[] chunk;
+        if (offset == 0) {
+            chunks = Arrays.copyOf(this.spine, this.spine.length + 1);
+            chunk = new Object[1];
+        } else {
+            chunks = this.spine.clone();
+            chunk = Arrays.copyOf(chunks[chunks.length - 1], offset + 1);
+        }
+        chunk[offset] = value;
+        chunks[chunks.length - 1] = chunk;
+        Metrics.CHUNKED.copied(chunks.length, chunk.length);
+        return new ChunkedArray<>(chunks, this.length + 1);
+    }
+
+    /**
+     * Make a new one with another entry at the given position.
+     *
+     * <p>Only the chunk with this position and the spine are copied.
+     * The position right after the last item adds it to the end.
+     * The method throws {@link ArrayIndexOutOfBoundsException} if
+     * the position is further.
+     *
+     * @param pos Position to replace
+     * @param value The value
+     * @return New array
+     */
+    public ChunkedArray<T> with(final int pos, final T value) {
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "second argument of ChunkedArray#with() can't be NULL"
+            );
+        }
+        if (pos < 0 || pos > this.length) {
+            throw new ArrayIndexOutOfBoundsException(
+                String.format(
+                    "index %d is out of bounds: [0..%d]",
+                    pos, this.length
+                )
+            );
+        }
+        final ChunkedArray<T> array;
+        if (pos == this.length) {
+            array = this.with(value);
+        } else {
+            final Object[][] chunks = this.spine.clone();
+            final Object[] chunk = chunks[pos >>> ChunkedArray.SHIFT].clone();
+            chunk[pos & ChunkedArray.MASK] = value;
+            chunks[pos >>> ChunkedArray.SHIFT] = chunk;
+            Metrics.CHUNKED.copied(chunks.length, chunk.length);
+            array = new ChunkedArray<>(chunks, this.length);
+        }
+        return array;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (final T item : this) {
+            hash = ChunkedArray.PRIME * hash + Objects.hashCode(item);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof ChunkedArray) {
+            final ChunkedArray<?> array = ChunkedArray.class.cast(object);
+            equals = array.length == this.length;
+            for (int idx = 0; equals && idx < this.spine.length; ++idx) {
+                equals = Arrays.equals(this.spine[idx], array.spine[idx]);
+            }
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        boolean first = true;
+        for (final T item : this) {
+            if (!first) {
+                text.append(", ");
+            }
+            text.append(item);
+            first = false;
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.length == 0;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            /**
+             * Current chunk.
+             */
+            private int chunk;
+
+            /**
+             * Position in the current chunk.
+             */
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return this.chunk < ChunkedArray.this.spine.length;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException(
+                        "no more items in ChunkedArray"
+                    );
+                }
+                final Object[] items = ChunkedArray.this.spine[this.chunk];
+                final T item = (T) items[this.pos];
+                ++this.pos;
+                if (this.pos == items.length) {
+                    this.pos = 0;
+                    ++this.chunk;
+                }
+                return item;
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Object[] array = new Object[this.length];
+        for (int idx = 0; idx < this.spine.length; ++idx) {
+            System.arraycopy(
+                this.spine[idx], 0, array, idx << ChunkedArray.SHIFT,
+                this.spine[idx].length
+            );
+        }
+        return array;
+    }
+
+    @Override
+    public <T> T[] toArray(final T[] array) {
+        final T[] target;
+        if (array.length == this.length) {
+            target = array;
+        } else {
+            target = (T[]) new Object[this.length];
+        }
+        for (int idx = 0; idx < this.spine.length; ++idx) {
+            System.arraycopy(
+                this.spine[idx], 0, target, idx << ChunkedArray.SHIFT,
+                this.spine[idx].length
+            );
+        }
+        return target;
+    }
+
+    @Override
+    @Deprecated
+    public boolean add(final T element) {
+        throw new UnsupportedOperationException(
+            "add(): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean remove(final Object obj) {
+        throw new UnsupportedOperationException(
+            "remove(): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    public boolean containsAll(final Collection<?> col) {
+        boolean contains = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                contains = false;
+                break;
+            }
+        }
+        return contains;
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final Collection<? extends T> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean retainAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "retainAll(): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean removeAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "removeAll(): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final int index, final Collection<? extends T> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): ChunkedArray is immutable, can't change"
+        );
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "index %d is out of bounds, length=%d",
+                    index,
+                    this.length
+                )
+            );
+        }
+        return (T) this.spine[index >>> ChunkedArray.SHIFT]
+            [index & ChunkedArray.MASK];
+    }
+
+    @Override
+    @Deprecated
+    public T set(final int index, final T element) {
+        throw new UnsupportedOperationException(
+            "set(idx): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void add(final int index, final T element) {
+        throw new UnsupportedOperationException(
+            "add(idx): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public T remove(final int index) {
+        throw new UnsupportedOperationException(
+            "remove(idx): ChunkedArray is immutable"
+        );
+    }
+
+    @Override
+    public int indexOf(final Object obj) {
+        int index = -1;
+        for (int idx = 0; idx < this.spine.length; ++idx) {
+            final int pos = Arrays.asList(this.spine[idx]).indexOf(obj);
+            if (pos >= 0) {
+                index = (idx << ChunkedArray.SHIFT) + pos;
+                break;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(final Object obj) {
+        int index = -1;
+        for (int idx = this.spine.length - 1; idx >= 0; --idx) {
+            final int pos = Arrays.asList(this.spine[idx]).lastIndexOf(obj);
+            if (pos >= 0) {
+                index = (idx << ChunkedArray.SHIFT) + pos;
+                break;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return this.view().listIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        return this.view().listIterator(index);
+    }
+
+    @Override
+    public List<T> subList(final int from, final int till) {
+        return this.view().subList(from, till);
+    }
+
+    /**
+     * Read-only list on top of this array, without copying it.
+     * @return The list
+     */
+    private List<T> view() {
+        return new AbstractList<T>() {
+            @Override
+            public T get(final int index) {
+                return ChunkedArray.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return ChunkedArray.this.length;
+            }
+        };
+    }
+
+    /**
+     * Copy items into chunks.
+     * @param list The items
+     * @param <T> Type of items
+     * @return New array
+     */
+    private static <T> ChunkedArray<T> copy(final Iterable<T> list) {
+        if (list == null) {
+            throw new IllegalArgumentException(
+                "list of objects can't be NULL"
+            );
+        }
+        final List<Object[]> chunks = new ArrayList<>(0);
+        Object[] chunk = new Object[ChunkedArray.CHUNK];
+        int pos = 0;
+        int total = 0;
+        for (final T item : list) {
+            if (pos == chunk.length) {
+                chunks.add(chunk);
+                chunk = new Object[ChunkedArray.CHUNK];
+                pos = 0;
+            }
+            chunk[pos] = item;
+            ++pos;
+            total = Math.addExact(total, 1);
+        }
+        if (pos > 0) {
+            chunks.add(Arrays.copyOf(chunk, pos));
+        }
+        return new ChunkedArray<>(
+            chunks.toArray(new Object[chunks.size()][]), total
+        );
+    }
+}
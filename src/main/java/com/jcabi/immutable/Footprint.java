@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Memory footprint of a collection of this package.
+ *
+ * <p>The footprint is estimated by walking the object graph with
+ * reflection, using the layout of 64-bit HotSpot: object headers, the
+ * size of references (compressed or not, as the JVM is configured),
+ * and alignment by eight bytes. It's what you need to size a cache:
+ *
+ * <pre> long bytes = new Footprint(map).retained();</pre>
+ *
+ * <p>{@link #shallow()} is the size of the collection object itself.
+ * {@link #retained()} adds everything the collection owns: arrays of
+ * items, the comparator, and derived structures, like Bloom filters
+ * and hash indexes, if they are built already. The items themselves
+ * are not counted, except when they are collections of this package.
+ * An array is a part of the collection when a field of the collection
+ * refers to it, or when it's a slot of an array of arrays, like the
+ * chunks of {@link ChunkedArray}. Arrays of primitives are parts too,
+ * even in slots of {@code Object[]}, where some collections keep
+ * their tables (like containers of {@link RoaringSet}), so items that
+ * are arrays of primitives are counted as well.
+ * Entries of {@link ArrayMap} are not counted either, since they don't
+ * exist until {@link ArrayMap#entrySet()} is iterated.
+ *
+ * @since 2.0
+ */
+@Immutable
+public final class Footprint {
+
+    /**
+     * Alignment of objects.
+     */
+    private static final int ALIGN = 8;
+
+    /**
+     * Are references compressed?
+     */
+    private static final boolean COMPRESSED = Footprint.flag(
+        "UseCompressedOops", Runtime.getRuntime().maxMemory() < 32L << 30
+    );
+
+    /**
+     * Are class pointers compressed?
+     */
+    private static final boolean KLASS = Footprint.flag(
+        "UseCompressedClassPointers", Footprint.COMPRESSED
+    );
+
+    /**
+     * Size of a reference.
+     */
+    private static final int REF = Footprint.size(Footprint.COMPRESSED);
+
+    /**
+     * Size of an object header.
+     */
+    private static final int HEADER = Long.BYTES
+        + Footprint.size(Footprint.KLASS);
+
+    /**
+     * Name of this package.
+     */
+    private static final String PKG = Footprint.class.getPackage().getName();
+
+    /**
+     * Shallow size and retained size, in bytes.
+     */
+    @Immutable.Array
+    private final transient long[] sizes;
+
+    /**
+     * Ctor.
+     * @param collection The collection of this package
+     */
+    public Footprint(final Object collection) {
+        if (collection == null || !Footprint.local(collection)) {
+            throw new IllegalArgumentException(
+                "argument of Footprint ctor must be a collection of jcabi"
+            );
+        }
+        this.sizes = Footprint.measure(collection);
+    }
+
+    /**
+     * Size of the collection object itself.
+     * @return Bytes
+     */
+    public long shallow() {
+        return this.sizes[0];
+    }
+
+    /**
+     * Size of the collection with everything it owns, except items.
+     * @return Bytes
+     */
+    public long retained() {
+        return this.sizes[1];
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d bytes shallow, %d bytes retained",
+            this.shallow(), this.retained()
+        );
+    }
+
+    /**
+     * Walk the graph and measure it.
+     * @param root The collection
+     * @return Shallow and retained size
+     */
+    private static long[] measure(final Object root) {
+        final Set<Object> seen = Collections.newSetFromMap(
+            new IdentityHashMap<>(0)
+        );
+        final Deque<Object> todo = new ArrayDeque<>(0);
+        todo.push(root);
+        seen.add(root);
+        long total = 0L;
+        while (!todo.isEmpty()) {
+            final Object obj = todo.pop();
+            total += Footprint.shallow(obj);
+            for (final Object child : Footprint.children(obj)) {
+                if (seen.add(child)) {
+                    todo.push(child);
+                }
+            }
+        }
+        return new long[] {Footprint.shallow(root), total};
+    }
+
+    /**
+     * Is this object of a class of this package?
+     * @param obj The object
+     * @return TRUE if it is
+     */
+    private static boolean local(final Object obj) {
+        return obj.getClass().getName().startsWith(Footprint.PKG);
+    }
+
+    /**
+     * Is this object in a slot of an array a part of the collection?
+     * @param item The object in the slot
+     * @param slot Component type of the array
+     * @return TRUE if it's a part, FALSE if it's an item
+     */
+    private static boolean slotted(final Object item, final Class<?> slot) {
+        final Class<?> type = item.getClass().getComponentType();
+        return slot.isArray() || Footprint.local(item)
+            || type != null && type.isPrimitive();
+    }
+
+    /**
+     * Parts of the collection, which this object refers to.
+     * @param obj The object, which is a part of the collection
+     * @return Parts, without items
+     */
+    private static Iterable<Object> children(final Object obj) {
+        final Deque<Object> refs = new ArrayDeque<>(0);
+        final Class<?> type = obj.getClass();
+        if (type.isArray()) {
+            final Class<?> slot = type.getComponentType();
+            if (!slot.isPrimitive()) {
+                for (final Object item : (Object[]) obj) {
+                    if (item != null && Footprint.slotted(item, slot)) {
+                        refs.add(item);
+                    }
+                }
+            }
+        } else {
+            for (final Field field : Footprint.fields(type)) {
+                if (!field.getType().isPrimitive()) {
+                    final Object value = Footprint.read(field, obj);
+                    if (value != null && (value.getClass().isArray()
+                        || Footprint.local(value))) {
+                        refs.add(value);
+                    }
+                }
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Shallow size of the object.
+     * @param obj The object
+     * @return Bytes
+     */
+    private static long shallow(final Object obj) {
+        final Class<?> type = obj.getClass();
+        final long size;
+        if (type.isArray()) {
+            size = Footprint.aligned(
+                Footprint.HEADER + Integer.BYTES
+                    + (long) Array.getLength(obj)
+                    * Footprint.width(type.getComponentType())
+            );
+        } else {
+            size = Footprint.instance(type);
+        }
+        return size;
+    }
+
+    /**
+     * Size of an array of references.
+     * @param length Length of the array
+     * @return Bytes
+     */
+    static long array(final int length) {
+        return Footprint.aligned(
+            Footprint.HEADER + Integer.BYTES + (long) length * Footprint.REF
+        );
+    }
+
+    /**
+     * Shallow size of an object of this class, which is not an array.
+     * @param type The class
+     * @return Bytes
+     */
+    static long instance(final Class<?> type) {
+        long size = Footprint.HEADER;
+        for (final Field field : Footprint.fields(type)) {
+            size += Footprint.width(field.getType());
+        }
+        return Footprint.aligned(size);
+    }
+
+    /**
+     * Size, rounded up to the alignment of objects.
+     * @param size Bytes
+     * @return Aligned bytes
+     */
+    private static long aligned(final long size) {
+        return (size + Footprint.ALIGN - 1) / Footprint.ALIGN * Footprint.ALIGN;
+    }
+
+    /**
+     * Instance fields of the class and its superclasses.
+     * @param type The class
+     * @return Fields
+     */
+    private static Iterable<Field> fields(final Class<?> type) {
+        final Deque<Field> fields = new ArrayDeque<>(0);
+        Class<?> cls = type;
+        while (cls != null) {
+            for (final Field field : cls.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+            cls = cls.getSuperclass();
+        }
+        return fields;
+    }
+
+    /**
+     * Read the field.
+     * @param field The field
+     * @param obj The object
+     * @return Value of the field
+     */
+    private static Object read(final Field field, final Object obj) {
+        field.setAccessible(true);
+        final Object value;
+        try {
+            value = field.get(obj);
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return value;
+    }
+
+    /**
+     * Size of a field or array slot of this type.
+     * @param type The type
+     * @return Bytes
+     */
+    private static int width(final Class<?> type) {
+        final int width;
+        if (type == long.class || type == double.class) {
+            width = Long.BYTES;
+        } else if (type == int.class || type == float.class) {
+            width = Integer.BYTES;
+        } else if (type == short.class || type == char.class) {
+            width = Short.BYTES;
+        } else if (type == byte.class || type == boolean.class) {
+            width = Byte.BYTES;
+        } else {
+            width = Footprint.REF;
+        }
+        return width;
+    }
+
+    /**
+     * Size of a pointer.
+     * @param compressed Is it compressed?
+     * @return Bytes
+     */
+    private static int size(final boolean compressed) {
+        final int size;
+        if (compressed) {
+            size = Integer.BYTES;
+        } else {
+            size = Long.BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * Boolean option of HotSpot.
+     * @param name Name of the option
+     * @param fallback The value if it's not HotSpot
+     * @return The value
+     */
+    private static boolean flag(final String name, final boolean fallback) {
+        boolean value = fallback;
+        try {
+            final HotSpotDiagnosticMXBean bean =
+                ManagementFactory.getPlatformMXBean(
+                    HotSpotDiagnosticMXBean.class
+                );
+            if (bean != null) {
+                value = Boolean.parseBoolean(bean.getVMOption(name).getValue());
+            }
+        } catch (final IllegalArgumentException | LinkageError ex) {
+            value = fallback;
+        }
+        return value;
+    }
+}
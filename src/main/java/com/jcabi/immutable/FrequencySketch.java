@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate counter of how often keys are used (count-min sketch).
+ *
+ * <p>This class is mutable and thread-safe. Every key has one counter in
+ * each of four rows, the estimate is the smallest of them; different
+ * keys may share a counter in a row, by design of the sketch. The rows
+ * are striped: there is a copy of them per stripe, up to one per
+ * processor, and a thread increments counters only in its own stripe,
+ * chosen by the identity of the thread, so threads in different stripes
+ * never write to the same counters or cache lines. The estimate sums
+ * the stripes. Counters are incremented without CAS loops: an increment
+ * lost in a race only makes the estimate a bit lower, which is fine
+ * for a sketch. Estimates saturate at fifteen.
+ * <p>
+ * When the number of increments reaches ten times the capacity,
+ * {@link #age()} halves all counters, so old popularity fades out
+ * (TinyLFU reset).
+ *
+ * @since 2.0
+ */
+final class FrequencySketch {
+
+    /**
+     * Number of rows.
+     */
+    private static final int ROWS = 4;
+
+    /**
+     * Maximum value of a counter.
+     */
+    private static final int MAX = 15;
+
+    /**
+     * Increments per key of capacity, before aging.
+     */
+    private static final int SAMPLE = 10;
+
+    /**
+     * Maximum number of counters in a row.
+     */
+    private static final int WIDEST = 1 << 24;
+
+    /**
+     * Maximum number of stripes.
+     */
+    private static final int STRIPES = 8;
+
+    /**
+     * Seeds of the rows.
+     */
+    private static final int[] SEEDS = {
+        0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F,
+    };
+
+    /**
+     * Counters, row after row, stripe after stripe.
+     */
+    private final AtomicIntegerArray table;
+
+    /**
+     * Mask of a position inside a row.
+     */
+    private final int mask;
+
+    /**
+     * Mask of a stripe.
+     */
+    private final int stripes;
+
+    /**
+     * Increments since the last aging.
+     */
+    private final LongAdder additions;
+
+    /**
+     * Increments that trigger aging.
+     */
+    private final long limit;
+
+    /**
+     * Ctor.
+     * @param capacity Expected number of distinct keys
+     */
+    FrequencySketch(final int capacity) {
+        final int width = Integer.highestOneBit(
+            Math.min(
+                Math.max(capacity, FrequencySketch.MAX) - 1,
+                FrequencySketch.WIDEST - 1
+            )
+        ) << 1;
+        final int count = Integer.highestOneBit(
+            Math.min(
+                Runtime.getRuntime().availableProcessors(),
+                FrequencySketch.STRIPES
+            )
+        );
+        this.table = new AtomicIntegerArray(
+            width * FrequencySketch.ROWS * count
+        );
+        this.mask = width - 1;
+        this.stripes = count - 1;
+        this.additions = new LongAdder();
+        this.limit = (long) FrequencySketch.SAMPLE * Math.max(capacity, 1);
+    }
+
+    /**
+     * Count one more use of the key.
+     * @param key The key
+     */
+    void increment(final Object key) {
+        final int hash = key.hashCode();
+        final int stripe = this.stripe();
+        boolean added = false;
+        for (int row = 0; row < FrequencySketch.ROWS; ++row) {
+            final int idx = this.index(hash, stripe, row);
+            final int count = this.table.get(idx);
+            if (count < FrequencySketch.MAX) {
+                this.table.lazySet(idx, count + 1);
+                added = true;
+            }
+        }
+        if (added) {
+            this.additions.increment();
+        }
+    }
+
+    /**
+     * Estimated number of uses of the key.
+     * @param key The key
+     * @return Frequency, from zero to fifteen
+     */
+    int frequency(final Object key) {
+        final int hash = key.hashCode();
+        int min = FrequencySketch.MAX;
+        for (int row = 0; row < FrequencySketch.ROWS; ++row) {
+            int sum = 0;
+            for (int stripe = 0; stripe <= this.stripes; ++stripe) {
+                sum += this.table.get(this.index(hash, stripe, row));
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    /**
+     * Halve all counters, if there were enough increments since the last
+     * time, otherwise do nothing.
+     * @return TRUE if counters were halved
+     */
+    boolean age() {
+        final boolean due = this.additions.sum() >= this.limit;
+        if (due) {
+            for (int idx = 0; idx < this.table.length(); ++idx) {
+                this.table.lazySet(idx, this.table.get(idx) >>> 1);
+            }
+            this.additions.reset();
+        }
+        return due;
+    }
+
+    /**
+     * Stripe of the current thread.
+     * @return Number of the stripe
+     */
+    private int stripe() {
+        int mixed = System.identityHashCode(Thread.currentThread())
+            * FrequencySketch.SEEDS[0];
+        mixed ^= mixed >>> 16;
+        return mixed & this.stripes;
+    }
+
+    /**
+     * Position of the counter of the hash in the row of the stripe.
+     * @param hash Hash code of the key
+     * @param stripe The stripe
+     * @param row The row
+     * @return Position in the table
+     */
+    private int index(final int hash, final int stripe, final int row) {
+        int mixed = hash * FrequencySketch.SEEDS[row];
+        mixed ^= mixed >>> 16;
+        return (stripe * FrequencySketch.ROWS + row) * (this.mask + 1)
+            + (mixed & this.mask);
+    }
+}
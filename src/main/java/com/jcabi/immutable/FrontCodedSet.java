@@ -0,0 +1,694 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Sorted set of strings, compressed by front coding.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * Strings are sorted naturally and encoded in UTF-8 into one byte
+ * array, in blocks of sixteen. The first string of a block is stored
+ * entirely, every next one as the length of the prefix it shares with
+ * the previous one and the rest of its bytes. Sorted dictionaries, like
+ * URLs or host names, share long prefixes, so they take a few times
+ * less memory than {@link String} objects in {@link ArraySortedSet}.
+ * Strings, which can't be encoded in UTF-8 without losses, like ones
+ * with unpaired surrogates, are rejected.
+ * <p>
+ * {@link #contains(Object)} is a binary search over the first strings
+ * of blocks and then a scan of one block. {@link #prefixRange(String)},
+ * {@link #subSet(String, String)}, {@link #headSet(String)} and
+ * {@link #tailSet(String)} find their bounds the same way and return
+ * a window over the same bytes, without copying them. Iterating a window
+ * decodes only the blocks inside it.
+ *
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (700 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class FrontCodedSet implements SortedSet<String> {
+
+    /**
+     * Number of strings in a block, as a power of two.
+     */
+    private static final int BLOCK = 4;
+
+    /**
+     * Bits of a varint byte, except the continuation bit.
+     */
+    private static final int SEVEN = 7;
+
+    /**
+     * Continuation bit of a varint byte.
+     */
+    private static final int MORE = 0x80;
+
+    /**
+     * Encoded strings.
+     */
+    @Immutable.Array
+    private final transient byte[] data;
+
+    /**
+     * Position of each block in the data.
+     */
+    @Immutable.Array
+    private final transient int[] blocks;
+
+    /**
+     * Number of the first string in the window, inclusive.
+     */
+    private final transient int start;
+
+    /**
+     * Number of the last string in the window, exclusive.
+     */
+    private final transient int end;
+
+    /**
+     * Public ctor.
+     * @param items The strings, in any order, maybe with duplicates
+     */
+    public FrontCodedSet(final String... items) {
+        this(Arrays.asList(items));
+    }
+
+    /**
+     * Public ctor.
+     *
+     * <p>Sets sorted in natural order, like {@link ArraySortedSet} of
+     * strings with the default comparator, are not sorted again.
+     * The ctor throws {@link IllegalArgumentException} if a string can't
+     * be encoded in UTF-8, like one with an unpaired surrogate.
+     *
+     * @param items The strings, in any order, maybe with duplicates
+     */
+    public FrontCodedSet(final Iterable<String> items) {
+        this(FrontCodedSet.encode(FrontCodedSet.sorted(items)));
+    }
+
+    /**
+     * Private ctor.
+     * @param set The set to copy
+     */
+    private FrontCodedSet(final FrontCodedSet set) {
+        this(set.data, set.blocks, set.start, set.end);
+    }
+
+    /**
+     * Private ctor, which takes ownership of arrays, without copying.
+     * @param bytes Encoded strings
+     * @param heads Positions of blocks
+     * @param first The first string in the window
+     * @param last The end of the window
+     */
+    private FrontCodedSet(final byte[] bytes, final int[] heads,
+        final int first, final int last) {
+        this.data = bytes;
+        this.blocks = heads;
+        this.start = first;
+        this.end = last;
+    }
+
+    /**
+     * All strings, which start with the prefix.
+     * @param prefix The prefix
+     * @return Window of this set
+     */
+    public FrontCodedSet prefixRange(final String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException(
+                "argument of FrontCodedSet#prefixRange() can't be NULL"
+            );
+        }
+        return this.window(
+            this.rank(prefix, false), this.rank(prefix, true)
+        );
+    }
+
+    /**
+     * Number of bytes of the encoded strings, shared by all windows.
+     * @return Bytes
+     */
+    public int bytes() {
+        return this.data.length;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (final String item : this) {
+            hash += item.hashCode();
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof FrontCodedSet) {
+            final FrontCodedSet other = FrontCodedSet.class.cast(object);
+            equals = other.size() == this.size();
+            final Iterator<String> mine = this.iterator();
+            final Iterator<String> theirs = other.iterator();
+            while (equals && mine.hasNext()) {
+                equals = mine.next().equals(theirs.next());
+            }
+        } else if (object instanceof Set) {
+            final Set<?> other = Set.class.cast(object);
+            equals = other.size() == this.size() && this.containsAll(other);
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        boolean first = true;
+        for (final String item : this) {
+            if (!first) {
+                text.append(", ");
+            }
+            text.append(item);
+            first = false;
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.end - this.start;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.end == this.start;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        boolean contains = false;
+        if (key instanceof String) {
+            final int pos = this.rank(String.class.cast(key), false);
+            contains = pos < this.end && this.get(pos).equals(key);
+        }
+        return contains;
+    }
+
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedSet<String> subSet(final String from, final String till) {
+        if (from.compareTo(till) > 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "FrontCodedSet#subSet() from \"%s\" is after \"%s\"",
+                    from, till
+                )
+            );
+        }
+        return this.window(this.rank(from, false), this.rank(till, false));
+    }
+
+    @Override
+    public SortedSet<String> headSet(final String till) {
+        return this.window(this.start, this.rank(till, false));
+    }
+
+    @Override
+    public SortedSet<String> tailSet(final String from) {
+        return this.window(this.rank(from, false), this.end);
+    }
+
+    @Override
+    public String first() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException("FrontCodedSet is empty");
+        }
+        return this.get(this.start);
+    }
+
+    @Override
+    public String last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException("FrontCodedSet is empty");
+        }
+        return this.get(this.end - 1);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new FrontCodedSet.Cursor(this, this.start);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.toArray(new Object[0]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(final T[] array) {
+        final T[] dest;
+        if (array.length >= this.size()) {
+            dest = array;
+        } else {
+            dest = Arrays.copyOf(array, this.size());
+        }
+        int pos = 0;
+        for (final String item : this) {
+            dest[pos] = (T) item;
+            ++pos;
+        }
+        if (dest.length > pos) {
+            dest[pos] = null;
+        }
+        return dest;
+    }
+
+    @Override
+    @Deprecated
+    public boolean add(final String element) {
+        throw new UnsupportedOperationException(
+            "add(): FrontCodedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean remove(final Object obj) {
+        throw new UnsupportedOperationException(
+            "remove(): FrontCodedSet is immutable"
+        );
+    }
+
+    @Override
+    public boolean containsAll(final Collection<?> col) {
+        boolean all = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                all = false;
+                break;
+            }
+        }
+        return all;
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final Collection<? extends String> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): FrontCodedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean retainAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "retainAll(): FrontCodedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean removeAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "removeAll(): FrontCodedSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): FrontCodedSet is immutable"
+        );
+    }
+
+    /**
+     * Window of the same data.
+     * @param first The first string, inclusive
+     * @param last The last string, exclusive
+     * @return New set
+     */
+    private FrontCodedSet window(final int first, final int last) {
+        return new FrontCodedSet(
+            this.data, this.blocks, first, Math.max(first, last)
+        );
+    }
+
+    /**
+     * String by its number.
+     * @param pos Number of the string
+     * @return The string
+     */
+    private String get(final int pos) {
+        final FrontCodedSet.Cursor cursor = new FrontCodedSet.Cursor(this, pos);
+        return cursor.next();
+    }
+
+    /**
+     * The first string of the block.
+     * @param block Number of the block
+     * @return The string
+     */
+    private String head(final int block) {
+        final int[] pos = {this.blocks[block]};
+        final int length = FrontCodedSet.varint(this.data, pos);
+        return new String(this.data, pos[0], length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of the first string in the window, which is not before
+     * the given one.
+     * @param str The string
+     * @param prefix Are strings which start with it also before it?
+     * @return Number of the string, or the end of the window
+     */
+    private int rank(final String str, final boolean prefix) {
+        int lower = 0;
+        int upper = this.blocks.length - 1;
+        int found = -1;
+        while (lower <= upper) {
+            final int mid = lower + upper >>> 1;
+            if (FrontCodedSet.before(this.head(mid), str, prefix)) {
+                found = mid;
+                lower = mid + 1;
+            } else {
+                upper = mid - 1;
+            }
+        }
+        int rank = 0;
+        if (found >= 0) {
+            rank = found << FrontCodedSet.BLOCK;
+            final FrontCodedSet.Cursor cursor = new FrontCodedSet.Cursor(
+                new FrontCodedSet(
+                    this.data, this.blocks, rank, Integer.MAX_VALUE
+                ),
+                rank
+            );
+            while (cursor.hasNext()
+                && FrontCodedSet.before(cursor.next(), str, prefix)) {
+                ++rank;
+            }
+        }
+        return Math.min(Math.max(rank, this.start), this.end);
+    }
+
+    /**
+     * Is this string before the given one?
+     * @param item The string
+     * @param str The given one
+     * @param prefix Are strings which start with it also before it?
+     * @return TRUE if it is
+     */
+    private static boolean before(final String item, final String str,
+        final boolean prefix) {
+        return item.compareTo(str) < 0 || prefix && item.startsWith(str);
+    }
+
+    /**
+     * Sorted unique strings.
+     * @param items The strings
+     * @return Array of them
+     */
+    private static String[] sorted(final Iterable<String> items) {
+        if (items == null) {
+            throw new IllegalArgumentException(
+                "argument of FrontCodedSet ctor can't be NULL"
+            );
+        }
+        String[] array = new String[0];
+        if (items instanceof Collection) {
+            array = new String[Collection.class.cast(items).size()];
+        }
+        int size = 0;
+        boolean sorted = true;
+        for (final String item : items) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, Math.max(16, size << 1));
+            }
+            sorted = sorted
+                && (size == 0 || array[size - 1].compareTo(item) < 0);
+            array[size] = item;
+            ++size;
+        }
+        if (!sorted) {
+            Arrays.sort(array, 0, size);
+        }
+        int unique = 0;
+        for (int idx = 0; idx < size; ++idx) {
+            if (unique == 0 || !array[unique - 1].equals(array[idx])) {
+                array[unique] = array[idx];
+                ++unique;
+            }
+        }
+        return Arrays.copyOf(array, unique);
+    }
+
+    /**
+     * Encode sorted unique strings.
+     * @param items The strings
+     * @return The set
+     */
+    private static FrontCodedSet encode(final String[] items) {
+        final int[] heads = new int[
+            items.length + (1 << FrontCodedSet.BLOCK) - 1
+            >> FrontCodedSet.BLOCK
+        ];
+        byte[] bytes = new byte[items.length << 2];
+        int size = 0;
+        byte[] prev = new byte[0];
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        for (int idx = 0; idx < items.length; ++idx) {
+            final byte[] next = FrontCodedSet.utf(encoder, items[idx]);
+            int shared = 0;
+            if ((idx & (1 << FrontCodedSet.BLOCK) - 1) == 0) {
+                heads[idx >> FrontCodedSet.BLOCK] = size;
+            } else {
+                final int max = Math.min(prev.length, next.length);
+                while (shared < max && prev[shared] == next[shared]) {
+                    ++shared;
+                }
+            }
+            final int room = size + next.length - shared + Integer.BYTES * 3;
+            if (room > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(room, bytes.length << 1));
+            }
+            if ((idx & (1 << FrontCodedSet.BLOCK) - 1) != 0) {
+                size = FrontCodedSet.write(bytes, size, shared);
+            }
+            size = FrontCodedSet.write(bytes, size, next.length - shared);
+            System.arraycopy(next, shared, bytes, size, next.length - shared);
+            size += next.length - shared;
+            prev = next;
+        }
+        return new FrontCodedSet(
+            Arrays.copyOf(bytes, size), heads, 0, items.length
+        );
+    }
+
+    /**
+     * Encode the string in UTF-8, without replacing malformed chars.
+     * @param encoder The encoder of UTF-8, which reports errors
+     * @param str The string
+     * @return Bytes
+     */
+    private static byte[] utf(final CharsetEncoder encoder, final String str) {
+        final ByteBuffer buf;
+        try {
+            buf = encoder.encode(CharBuffer.wrap(str));
+        } catch (final CharacterCodingException ex) {
+            throw new IllegalArgumentException(
+                String.format("string \"%s\" is not valid UTF-16", str), ex
+            );
+        }
+        final byte[] bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Write a varint.
+     * @param bytes Where to write
+     * @param pos Position
+     * @param value The value
+     * @return Position after it
+     */
+    private static int write(final byte[] bytes, final int pos,
+        final int value) {
+        int next = pos;
+        int rest = value;
+        while (rest >= FrontCodedSet.MORE) {
+            bytes[next] = (byte) (rest | FrontCodedSet.MORE);
+            ++next;
+            rest >>>= FrontCodedSet.SEVEN;
+        }
+        bytes[next] = (byte) rest;
+        return next + 1;
+    }
+
+    /**
+     * Read a varint.
+     * @param bytes Where to read from
+     * @param pos Position, which is moved after the varint
+     * @return The value
+     */
+    private static int varint(final byte[] bytes, final int[] pos) {
+        int value = 0;
+        int shift = 0;
+        int next;
+        do {
+            next = bytes[pos[0]] & 0xFF;
+            ++pos[0];
+            value |= (next & FrontCodedSet.MORE - 1) << shift;
+            shift += FrontCodedSet.SEVEN;
+        } while ((next & FrontCodedSet.MORE) != 0);
+        return value;
+    }
+
+    /**
+     * Iterator over strings, decoding them one by one.
+     * @since 2.0
+     */
+    private static final class Cursor implements Iterator<String> {
+        /**
+         * The set.
+         */
+        private final transient FrontCodedSet set;
+
+        /**
+         * Number of the next string.
+         */
+        private int next;
+
+        /**
+         * Position of the next string in the data.
+         */
+        private final int[] pos;
+
+        /**
+         * Bytes of the previous string.
+         */
+        private byte[] prev;
+
+        /**
+         * Length of the previous string.
+         */
+        private int length;
+
+        /**
+         * Ctor.
+         * @param origin The set
+         * @param first Number of the first string
+         */
+        Cursor(final FrontCodedSet origin, final int first) {
+            this.set = origin;
+            this.next = first & -(1 << FrontCodedSet.BLOCK);
+            this.pos = new int[1];
+            this.prev = new byte[0];
+            if (this.next >> FrontCodedSet.BLOCK < origin.blocks.length) {
+                this.pos[0] = origin.blocks[this.next >> FrontCodedSet.BLOCK];
+            }
+            while (this.next < first) {
+                this.decode();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < this.set.end
+                && this.pos[0] < this.set.data.length;
+        }
+
+        @Override
+        public String next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("no more strings");
+            }
+            this.decode();
+            return new String(
+                this.prev, 0, this.length, StandardCharsets.UTF_8
+            );
+        }
+
+        /**
+         * Decode the next string into the buffer.
+         */
+        private void decode() {
+            int shared = 0;
+            if ((this.next & (1 << FrontCodedSet.BLOCK) - 1) != 0) {
+                shared = FrontCodedSet.varint(this.set.data, this.pos);
+            }
+            final int rest = FrontCodedSet.varint(this.set.data, this.pos);
+            if (shared + rest > this.prev.length) {
+                this.prev = Arrays.copyOf(
+                    this.prev, Math.max(shared + rest, this.prev.length << 1)
+                );
+            }
+            System.arraycopy(
+                this.set.data, this.pos[0], this.prev, shared, rest
+            );
+            this.pos[0] += rest;
+            this.length = shared + rest;
+            ++this.next;
+        }
+    }
+}
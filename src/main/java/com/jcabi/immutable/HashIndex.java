@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import java.util.Objects;
+
+/**
+ * Hash index of positions of items in an array.
+ *
+ * <p>The index is an open-addressing table with linear probing, which
+ * keeps the first position of every distinct item. The table has
+ * one and a half slots per item, that is six bytes per item. If some
+ * items are repeated, the last positions are kept in a second table
+ * of the same size; without repetitions the last position is the first
+ * one and the second table is not allocated. Collections, which only
+ * need first positions, like sets deduplicating their items and
+ * bidirectional maps, build the index without the second table at all,
+ * even if some items are repeated. The index doesn't copy
+ * the items and must never outlive changes of them, which is not
+ * a problem, since all arrays in this package are immutable.
+ *
+ * @since 2.0
+ */
+@Immutable
+final class HashIndex {
+
+    /**
+     * The largest array that can be indexed.
+     */
+    static final int MAX = 1 << 28;
+
+    /**
+     * Multiplier that spreads hash codes over the table (golden ratio).
+     */
+    private static final int SPREAD = 0x9E3779B9;
+
+    /**
+     * Bytes in the header of an object or an array, approximately.
+     */
+    private static final int HEADER = 16;
+
+    /**
+     * Last positions of all arrays without repeated items.
+     */
+    private static final int[] UNIQUE = new int[0];
+
+    /**
+     * The items, not copied.
+     */
+    @Immutable.Array
+    private final transient Object[] items;
+
+    /**
+     * First positions of items, plus one, or zeros in empty slots.
+     */
+    @Immutable.Array
+    private final transient int[] first;
+
+    /**
+     * Last positions of items, plus one, in the same slots, or nothing
+     * at all, if no item is repeated or they are not kept.
+     */
+    @Immutable.Array
+    private final transient int[] last;
+
+    /**
+     * Are last positions of repeated items kept?
+     */
+    private final transient boolean lasts;
+
+    /**
+     * Ctor, for first and last positions.
+     * @param values Items to index
+     */
+    HashIndex(final Object[] values) {
+        this(values, true);
+    }
+
+    /**
+     * Ctor.
+     *
+     * <p>The ctor throws {@link IllegalArgumentException} if there are
+     * more than {@link #MAX} items.
+     *
+     * @param values Items to index
+     * @param repeated Keep last positions of repeated items?
+     */
+    HashIndex(final Object[] values, final boolean repeated) {
+        if (values.length > HashIndex.MAX) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "can't index more than %d items: %d",
+                    HashIndex.MAX, values.length
+                )
+            );
+        }
+        this.items = values;
+        this.first = new int[values.length + (values.length >>> 1) + 1];
+        int[] positions = HashIndex.UNIQUE;
+        for (int pos = 0; pos < values.length; ++pos) {
+            final int slot = this.slot(values[pos]);
+            if (this.first[slot] == 0) {
+                this.first[slot] = pos + 1;
+            } else if (repeated && positions.length == 0) {
+                positions = this.first.clone();
+            }
+            if (positions.length > 0) {
+                positions[slot] = pos + 1;
+            }
+        }
+        this.last = positions;
+        this.lasts = repeated;
+    }
+
+    /**
+     * Position of the first occurrence of the item.
+     * @param item The item to find
+     * @return Position or -1 if it's absent
+     */
+    int first(final Object item) {
+        return this.first[this.slot(item)] - 1;
+    }
+
+    /**
+     * Position of the last occurrence of the item.
+     *
+     * <p>The method throws {@link IllegalStateException} if the index
+     * doesn't keep last positions.
+     *
+     * @param item The item to find
+     * @return Position or -1 if it's absent
+     */
+    int last(final Object item) {
+        if (!this.lasts) {
+            throw new IllegalStateException(
+                "the index keeps first positions only"
+            );
+        }
+        final int slot = this.slot(item);
+        final int pos;
+        if (this.last.length == 0) {
+            pos = this.first[slot] - 1;
+        } else {
+            pos = this.last[slot] - 1;
+        }
+        return pos;
+    }
+
+    /**
+     * Memory taken by the index, in bytes, excluding the items.
+     * @return Bytes
+     */
+    long bytes() {
+        return HashIndex.HEADER * 3L
+            + (long) Integer.BYTES * (this.first.length + this.last.length);
+    }
+
+    /**
+     * Find the slot of the item or the empty slot, where it would be.
+     * @param item The item
+     * @return Slot
+     */
+    private int slot(final Object item) {
+        final int hash = Objects.hashCode(item) * HashIndex.SPREAD;
+        int slot = (int) (
+            Integer.toUnsignedLong(hash) * this.first.length >>> Integer.SIZE
+        );
+        while (this.first[slot] != 0
+            && !Objects.equals(this.items[this.first[slot] - 1], item)) {
+            ++slot;
+            if (slot == this.first.length) {
+                slot = 0;
+            }
+        }
+        return slot;
+    }
+
+}
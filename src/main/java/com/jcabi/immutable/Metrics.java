@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters of copies, which mutators of immutable collections make.
+ *
+ * <p>Every {@code with()}, {@code without()} or {@code apply()} of
+ * {@link Array}, {@link ArraySet}, {@link ArraySortedSet} and
+ * {@link ArrayMap} copies the collection, while {@code with()} of
+ * {@link ChunkedArray} copies one chunk and the spine. The counters
+ * show how many copies were made, how many elements they had and how
+ * many bytes they took, as estimated by {@link Footprint} for the new
+ * collection itself and every array it copied, without temporary
+ * objects.
+ *
+ * <p>The counters are disabled, unless the JVM is started with
+ * {@code -Dcom.jcabi.immutable.metrics=true}. When they are disabled,
+ * a mutator pays for one check of a static final flag, which the JIT
+ * compiler removes. When they are enabled, a mutator adds to three
+ * {@link LongAdder}s, which don't contend between threads.
+ *
+ * <p>The counters may be polled by {@link #all()} or exposed to JMX by
+ * {@link #expose()}, as beans {@code com.jcabi.immutable:type=Metrics}.
+ * Other monitoring systems may get every copy through a
+ * {@link MetricsListener}, registered as a service provider.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.0
+ */
+public final class Metrics implements MetricsMBean {
+
+    /**
+     * Are the counters enabled?
+     */
+    static final boolean ENABLED = Boolean.getBoolean(
+        "com.jcabi.immutable.metrics"
+    );
+
+    /**
+     * Listeners of copies, found by {@link ServiceLoader}.
+     */
+    private static final MetricsListener[] LISTENERS = Metrics.listeners();
+
+    /**
+     * Counters of {@link Array}.
+     */
+    static final Metrics ARRAY = new Metrics(Array.class, 1);
+
+    /**
+     * Counters of {@link ArraySet}.
+     */
+    static final Metrics SET = new Metrics(ArraySet.class, 1);
+
+    /**
+     * Counters of {@link ArraySortedSet}.
+     */
+    static final Metrics SORTED = new Metrics(ArraySortedSet.class, 1);
+
+    /**
+     * Counters of {@link ArrayMap}.
+     */
+    static final Metrics MAP = new Metrics(ArrayMap.class, 2);
+
+    /**
+     * Counters of {@link ChunkedArray}, where elements of a copy are
+     * items of the chunk and chunks of the spine.
+     */
+    static final Metrics CHUNKED = new Metrics(ChunkedArray.class, 2);
+
+    /**
+     * All counters.
+     */
+    private static final Collection<Metrics> ALL =
+        Collections.unmodifiableList(
+            Arrays.asList(
+                Metrics.ARRAY, Metrics.SET, Metrics.SORTED, Metrics.MAP,
+                Metrics.CHUNKED
+            )
+        );
+
+    /**
+     * The class of collections.
+     */
+    private final Class<?> type;
+
+    /**
+     * Arrays in a copy.
+     */
+    private final int arrays;
+
+    /**
+     * Bytes of a copy, except its arrays.
+     */
+    private final long shell;
+
+    /**
+     * Copies made.
+     */
+    private final LongAdder copies;
+
+    /**
+     * Elements copied.
+     */
+    private final LongAdder elements;
+
+    /**
+     * Bytes taken by copies.
+     */
+    private final LongAdder bytes;
+
+    /**
+     * Ctor.
+     * @param cls The class of collections
+     * @param total Arrays in every copy
+     */
+    private Metrics(final Class<?> cls, final int total) {
+        this.type = cls;
+        this.arrays = total;
+        if (Metrics.ENABLED) {
+            this.shell = Footprint.instance(cls);
+        } else {
+            this.shell = 0L;
+        }
+        this.copies = new LongAdder();
+        this.elements = new LongAdder();
+        this.bytes = new LongAdder();
+    }
+
+    /**
+     * Are the counters enabled?
+     * @return TRUE if they are
+     */
+    public static boolean enabled() {
+        return Metrics.ENABLED;
+    }
+
+    /**
+     * Counters of all classes.
+     * @return Counters
+     */
+    public static Collection<Metrics> all() {
+        return Metrics.ALL;
+    }
+
+    /**
+     * Counters of the class.
+     * @param cls The class, like {@code Array.class}
+     * @return Counters
+     */
+    public static Metrics of(final Class<?> cls) {
+        Metrics found = null;
+        for (final Metrics metrics : Metrics.ALL) {
+            if (metrics.type.equals(cls)) {
+                found = metrics;
+                break;
+            }
+        }
+        if (found == null) {
+            throw new IllegalArgumentException(
+                String.format("there are no metrics of %s", cls)
+            );
+        }
+        return found;
+    }
+
+    /**
+     * Register all counters in the platform JMX server, unless they are
+     * registered already.
+     */
+    public static synchronized void expose() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final Metrics metrics : Metrics.ALL) {
+            try {
+                final ObjectName name = new ObjectName(
+                    String.format(
+                        "%s:type=Metrics,name=%s",
+                        Metrics.class.getPackage().getName(),
+                        metrics.getName()
+                    )
+                );
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(metrics, name);
+                }
+            } catch (final JMException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return this.type.getSimpleName();
+    }
+
+    @Override
+    public long getCopies() {
+        return this.copies.sum();
+    }
+
+    @Override
+    public long getElements() {
+        return this.elements.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return this.bytes.sum();
+    }
+
+    @Override
+    public void reset() {
+        this.copies.reset();
+        this.elements.reset();
+        this.bytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s: %d copies, %d elements, %d bytes",
+            this.getName(), this.getCopies(), this.getElements(),
+            this.getBytes()
+        );
+    }
+
+    /**
+     * Count a copy, if the counters are enabled.
+     * @param size Elements in the copy
+     */
+    void copied(final int size) {
+        if (Metrics.ENABLED) {
+            this.count(
+                size, this.shell + this.arrays * Footprint.array(size)
+            );
+        }
+    }
+
+    /**
+     * Count a copy of two arrays of different sizes, like the spine and
+     * a chunk of {@link ChunkedArray}, if the counters are enabled.
+     * @param first Elements in the first array
+     * @param second Elements in the second array
+     */
+    void copied(final int first, final int second) {
+        if (Metrics.ENABLED) {
+            this.count(
+                first + second,
+                this.shell + Footprint.array(first) + Footprint.array(second)
+            );
+        }
+    }
+
+    /**
+     * Add the copy to the counters and report it to the listeners.
+     * @param size Elements copied
+     * @param taken Bytes taken by the copy
+     */
+    private void count(final int size, final long taken) {
+        this.copies.increment();
+        this.elements.add(size);
+        this.bytes.add(taken);
+        for (final MetricsListener listener : Metrics.LISTENERS) {
+            listener.copied(this.type, size, taken);
+        }
+    }
+
+    /**
+     * Find the listeners, if the counters are enabled.
+     * @return Listeners
+     */
+    private static MetricsListener[] listeners() {
+        final List<MetricsListener> found = new ArrayList<>(0);
+        if (Metrics.ENABLED) {
+            for (final MetricsListener listener
+                : ServiceLoader.load(MetricsListener.class)) {
+                found.add(listener);
+            }
+        }
+        return found.toArray(new MetricsListener[0]);
+    }
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only map with a minimal perfect hash function over its keys.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * The map is made for lookup tables, which are built once and then
+ * only read. Its keys and values are stored in two arrays, in the order
+ * of a hash function, which is built like BBHash does it: all keys are
+ * hashed into a bit array of the same size, the bits hit by exactly one
+ * key are kept, and the keys that collided go to the next level, with
+ * another hash function. The position of a key in the arrays is the
+ * number of bits set before its own bit. The function takes about three
+ * bits per key, and {@link #get(Object)} is one hash, usually on the
+ * first level, one slot load and one {@link Object#equals(Object)}.
+ * <p>
+ * Large maps are built in parallel, in the common fork-join pool.
+ * Keys with equal hash codes can't be separated by the function, so
+ * levels are added only while they place some keys. The keys left are
+ * stored aside, sorted by their hash codes, and are found by binary
+ * search over them.
+ * <p>
+ * Limitation:
+ * Encapsulated objects with exposed mutators can mutate their state.
+ *
+ * @param <K> Map key type
+ * @param <V> Value key type
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (550 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "rawtypes", "unchecked",
+    "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class PerfectMap<K, V> implements Map<K, V> {
+
+    /**
+     * Maximum number of levels; the keys left after them are stored aside.
+     */
+    private static final int LEVELS = 64;
+
+    /**
+     * Maps smaller than this are built in one thread.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * Bits in one word, as a power of two.
+     */
+    private static final int WORD = 6;
+
+    /**
+     * Words in one block of the rank directory, as a power of two.
+     */
+    private static final int BLOCK = 3;
+
+    /**
+     * Multiplier that makes seeds of levels (golden ratio).
+     */
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * First multiplier of the MurmurHash3 finalizer.
+     */
+    private static final long MIX = 0xFF51AFD7ED558CCDL;
+
+    /**
+     * Second multiplier of the MurmurHash3 finalizer.
+     */
+    private static final long MIXED = 0xC4CEB9FE1A85EC53L;
+
+    /**
+     * Shift of the MurmurHash3 finalizer.
+     */
+    private static final int SHIFT = 33;
+
+    /**
+     * Bits of all levels, one after another.
+     */
+    @Immutable.Array
+    private final transient long[] bits;
+
+    /**
+     * The first bit of each level and the end of the last one.
+     */
+    @Immutable.Array
+    private final transient long[] levels;
+
+    /**
+     * Number of bits set before each block of words.
+     */
+    @Immutable.Array
+    private final transient int[] ranks;
+
+    /**
+     * All keys, in the order of the hash function.
+     */
+    @Immutable.Array
+    private final transient K[] keys;
+
+    /**
+     * All values, in the same order.
+     */
+    @Immutable.Array
+    private final transient V[] vals;
+
+    /**
+     * Number of keys placed by the hash function; the rest is aside.
+     */
+    private final transient int placed;
+
+    /**
+     * Hash codes of keys aside, in ascending order.
+     */
+    @Immutable.Array
+    private final transient int[] codes;
+
+    /**
+     * Public ctor.
+     * @param map The original map
+     */
+    public PerfectMap(final Map<K, V> map) {
+        if (map == null) {
+            throw new IllegalArgumentException(
+                "argument of PerfectMap ctor can't be NULL"
+            );
+        }
+        final Map.Entry<K, V>[] entries =
+            map.entrySet().toArray(new Map.Entry[0]);
+        for (final Map.Entry<K, V> entry : entries) {
+            if (entry.getKey() == null) {
+                throw new IllegalArgumentException(
+                    "keys of PerfectMap can't be NULL"
+                );
+            }
+        }
+        final long[][] layers = new long[PerfectMap.LEVELS][];
+        int[] left = IntStream.range(0, entries.length).toArray();
+        int depth = 0;
+        while (left.length > 0 && depth < PerfectMap.LEVELS) {
+            final long[] layer = PerfectMap.layer(entries, left, depth);
+            final int[] next = PerfectMap.collided(
+                entries, left, depth, layer
+            );
+            if (next.length == left.length) {
+                break;
+            }
+            layers[depth] = layer;
+            left = next;
+            ++depth;
+        }
+        left = IntStream.of(left).boxed().sorted(
+            Comparator.comparingInt(idx -> entries[idx].getKey().hashCode())
+        ).mapToInt(Integer::intValue).toArray();
+        this.levels = new long[depth + 1];
+        for (int level = 0; level < depth; ++level) {
+            this.levels[level + 1] = this.levels[level]
+                + ((long) layers[level].length << PerfectMap.WORD);
+        }
+        this.bits = new long[(int) (this.levels[depth] >>> PerfectMap.WORD)];
+        for (int level = 0; level < depth; ++level) {
+            System.arraycopy(
+                layers[level], 0, this.bits,
+                (int) (this.levels[level] >>> PerfectMap.WORD),
+                layers[level].length
+            );
+        }
+        this.ranks = PerfectMap.ranks(this.bits);
+        this.keys = (K[]) new Object[entries.length];
+        this.vals = (V[]) new Object[entries.length];
+        this.placed = entries.length - left.length;
+        PerfectMap.stream(IntStream.range(0, entries.length).toArray())
+            .forEach(
+                idx -> {
+                    final int slot = this.slot(entries[idx].getKey());
+                    if (slot >= 0) {
+                        this.keys[slot] = entries[idx].getKey();
+                        this.vals[slot] = entries[idx].getValue();
+                    }
+                }
+            );
+        this.codes = new int[left.length];
+        for (int idx = 0; idx < left.length; ++idx) {
+            this.keys[this.placed + idx] = entries[left[idx]].getKey();
+            this.vals[this.placed + idx] = entries[left[idx]].getValue();
+            this.codes[idx] = this.keys[this.placed + idx].hashCode();
+        }
+    }
+
+    /**
+     * Memory taken by the hash function, in bits per key.
+     * @return Bits per key, including the rank directory, but not
+     *  the hash codes of keys aside
+     */
+    public double bitsPerKey() {
+        return (double) (this.bits.length * Long.SIZE
+            + this.ranks.length * Integer.SIZE
+            + this.levels.length * Long.SIZE)
+            / Math.max(1, this.keys.length);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            hash += Objects.hashCode(this.keys[idx])
+                ^ Objects.hashCode(this.vals[idx]);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof Map) {
+            final Map<?, ?> other = Map.class.cast(object);
+            equals = other.size() == this.keys.length;
+            for (int idx = 0; equals && idx < this.keys.length; ++idx) {
+                final Object key = this.keys[idx];
+                equals = Objects.equals(this.vals[idx], other.get(key))
+                    && (this.vals[idx] != null || other.containsKey(key));
+            }
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.keys.length; ++idx) {
+            if (idx > 0) {
+                text.append(", ");
+            }
+            text.append(this.keys[idx]).append('=').append(this.vals[idx]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return Arrays.asList(this.vals).contains(value);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int pos = this.find(key);
+        final V value;
+        if (pos >= 0) {
+            value = this.vals[pos];
+        } else {
+            value = null;
+        }
+        return value;
+    }
+
+    @Override
+    @Deprecated
+    public V put(final K key, final V value) {
+        throw new UnsupportedOperationException(
+            "put(): PerfectMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public V remove(final Object key) {
+        throw new UnsupportedOperationException(
+            "remove(): PerfectMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException(
+            "putAll(): PerfectMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): PerfectMap is immutable"
+        );
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new PerfectMap.KeySet<>(this);
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableList(Arrays.asList(this.vals));
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new PerfectMap.EntrySet<>(this);
+    }
+
+    /**
+     * Find position of the key.
+     * @param key The key to find
+     * @return Position in the arrays or -1 if it's absent
+     */
+    private int find(final Object key) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "key of PerfectMap can't be NULL"
+            );
+        }
+        final int slot = this.slot(key);
+        int pos = -1;
+        if (slot >= 0) {
+            if (this.keys[slot].equals(key)) {
+                pos = slot;
+            }
+        } else if (this.codes.length > 0) {
+            pos = this.aside(key);
+        }
+        return pos;
+    }
+
+    /**
+     * Find position of the key among the keys aside.
+     * @param key The key to find
+     * @return Position in the arrays or -1 if it's absent
+     */
+    private int aside(final Object key) {
+        final int code = key.hashCode();
+        int idx = Arrays.binarySearch(this.codes, code);
+        int pos = -1;
+        if (idx >= 0) {
+            while (idx > 0 && this.codes[idx - 1] == code) {
+                --idx;
+            }
+            while (idx < this.codes.length && this.codes[idx] == code) {
+                if (this.keys[this.placed + idx].equals(key)) {
+                    pos = this.placed + idx;
+                    break;
+                }
+                ++idx;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Calculate the hash function.
+     * @param key The key
+     * @return Slot of the key or -1, if the function doesn't know it
+     */
+    private int slot(final Object key) {
+        int slot = -1;
+        for (int level = 0; level < this.levels.length - 1; ++level) {
+            final long bit = this.levels[level] + PerfectMap.position(
+                key, level, this.levels[level + 1] - this.levels[level]
+            );
+            final int word = (int) (bit >>> PerfectMap.WORD);
+            if ((this.bits[word] & 1L << bit) != 0L) {
+                slot = this.ranks[word >> PerfectMap.BLOCK]
+                    + Long.bitCount(this.bits[word] & (1L << bit) - 1L);
+                for (int idx = word & -(1 << PerfectMap.BLOCK);
+                    idx < word; ++idx) {
+                    slot += Long.bitCount(this.bits[idx]);
+                }
+                break;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Make one level of the function.
+     * @param entries All entries
+     * @param left Entries not placed yet
+     * @param level The level
+     * @return Bits of the level
+     */
+    private static long[] layer(final Map.Entry<?, ?>[] entries,
+        final int[] left, final int level) {
+        final int words = (left.length + Long.SIZE - 1) >>> PerfectMap.WORD;
+        final AtomicLongArray seen = new AtomicLongArray(words);
+        final AtomicLongArray twice = new AtomicLongArray(words);
+        PerfectMap.stream(left).forEach(
+            idx -> {
+                final long bit = PerfectMap.position(
+                    entries[idx].getKey(), level,
+                    (long) words << PerfectMap.WORD
+                );
+                final int word = (int) (bit >>> PerfectMap.WORD);
+                final long mask = 1L << bit;
+                if ((seen.getAndAccumulate(word, mask, (a, b) -> a | b)
+                    & mask) != 0L) {
+                    twice.accumulateAndGet(word, mask, (a, b) -> a | b);
+                }
+            }
+        );
+        final long[] layer = new long[words];
+        for (int word = 0; word < words; ++word) {
+            layer[word] = seen.get(word) & ~twice.get(word);
+        }
+        return layer;
+    }
+
+    /**
+     * Find entries that collided on this level.
+     * @param entries All entries
+     * @param left Entries not placed yet
+     * @param level The level
+     * @param layer Bits of the level
+     * @return Entries to place on the next levels
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static int[] collided(final Map.Entry<?, ?>[] entries,
+        final int[] left, final int level, final long[] layer) {
+        return PerfectMap.stream(left).filter(
+            idx -> {
+                final long bit = PerfectMap.position(
+                    entries[idx].getKey(), level,
+                    (long) layer.length << PerfectMap.WORD
+                );
+                return (layer[(int) (bit >>> PerfectMap.WORD)]
+                    & 1L << bit) == 0L;
+            }
+        ).toArray();
+    }
+
+    /**
+     * Count bits set before each block of words.
+     * @param words All words
+     * @return Ranks of blocks
+     */
+    private static int[] ranks(final long[] words) {
+        final int[] ranks = new int[(words.length >> PerfectMap.BLOCK) + 1];
+        int rank = 0;
+        for (int idx = 0; idx < words.length; ++idx) {
+            if ((idx & (1 << PerfectMap.BLOCK) - 1) == 0) {
+                ranks[idx >> PerfectMap.BLOCK] = rank;
+            }
+            rank += Long.bitCount(words[idx]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Position of the key in a level.
+     * @param key The key
+     * @param level The level
+     * @param size Bits in the level, less than 2^32
+     * @return Position of its bit in the level
+     */
+    private static long position(final Object key, final int level,
+        final long size) {
+        long hash = Objects.hashCode(key) ^ (level + 1) * PerfectMap.SEED;
+        hash = (hash ^ (hash >>> PerfectMap.SHIFT)) * PerfectMap.MIX;
+        hash = (hash ^ (hash >>> PerfectMap.SHIFT)) * PerfectMap.MIXED;
+        hash ^= hash >>> PerfectMap.SHIFT;
+        return ((hash >>> Integer.SIZE) * size) >>> Integer.SIZE;
+    }
+
+    /**
+     * Stream of numbers, parallel if there are many of them.
+     * @param items The numbers
+     * @return Stream
+     */
+    private static IntStream stream(final int[] items) {
+        IntStream stream = IntStream.of(items);
+        if (items.length >= PerfectMap.PARALLEL) {
+            stream = stream.parallel();
+        }
+        return stream;
+    }
+
+    /**
+     * Read-only view of the keys.
+     * @param <K> Key type.
+     * @since 2.0
+     */
+    private static final class KeySet<K> extends AbstractSet<K> {
+        /**
+         * The map.
+         */
+        private final transient PerfectMap<K, ?> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        KeySet(final PerfectMap<K, ?> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return Collections.unmodifiableList(
+                Arrays.asList(this.map.keys)
+            ).iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.map.keys.length;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return this.map.containsKey(key);
+        }
+    }
+
+    /**
+     * Read-only view of the entries, which are created on the fly.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @since 2.0
+     */
+    private static final class EntrySet<K, V>
+        extends AbstractSet<Map.Entry<K, V>> {
+        /**
+         * The map.
+         */
+        private final transient PerfectMap<K, V> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        EntrySet(final PerfectMap<K, V> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<Map.Entry<K, V>>() {
+                /**
+                 * Current position.
+                 */
+                private int pos;
+
+                @Override
+                public boolean hasNext() {
+                    return this.pos < EntrySet.this.map.keys.length;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException(
+                            "no more entries in PerfectMap"
+                        );
+                    }
+                    final Map.Entry<K, V> entry =
+                        new AbstractMap.SimpleImmutableEntry<>(
+                            EntrySet.this.map.keys[this.pos],
+                            EntrySet.this.map.vals[this.pos]
+                        );
+                    ++this.pos;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.map.keys.length;
+        }
+    }
+
+}
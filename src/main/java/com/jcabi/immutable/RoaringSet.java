@@ -0,0 +1,996 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Sorted set of integers, compressed into Roaring containers.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * Integers are not boxed. They are grouped by their upper sixteen bits,
+ * and the lower sixteen bits of each group are kept in a container of
+ * one of three kinds, whichever is the smallest:
+ * a sorted {@code char[]} of up to 4096 values (two bytes per value),
+ * a {@code long[]} bitmap of all 65536 values (8 KB), or a
+ * {@code short[]} of runs, as pairs of the first value and the length
+ * minus one (four bytes per run). Dense groups take about one bit per
+ * value, sparse ones two bytes, instead of sixteen bytes of a boxed
+ * {@link Integer} plus a reference to it in {@link ArraySortedSet}.
+ * <p>
+ * {@link #and(RoaringSet)}, {@link #or(RoaringSet)} and
+ * {@link #andNot(RoaringSet)} work group by group: bitmaps are combined
+ * word by word, arrays and runs are merged, and groups which are not
+ * touched by the operation are shared between sets without copying.
+ * {@link #contains(int)} is a binary search over groups and then inside
+ * the container, or a bit test in a bitmap.
+ * <p>
+ * Integers are ordered naturally, {@link #comparator()} is NULL.
+ *
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (900 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "PMD.TooManyMethods", "PMD.GodClass",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class RoaringSet implements SortedSet<Integer> {
+
+    /**
+     * Maximum number of values in an array container.
+     */
+    private static final int LIMIT = 4096;
+
+    /**
+     * Number of words in a bitmap container.
+     */
+    private static final int WORDS = 1024;
+
+    /**
+     * Bits of a value in one word, as a power of two.
+     */
+    private static final int WORD = 6;
+
+    /**
+     * Number of lower bits, which are kept in containers.
+     */
+    private static final int LOW = 16;
+
+    /**
+     * Mask of lower bits.
+     */
+    private static final int MASK = 0xFFFF;
+
+    /**
+     * Flipping this bit makes the signed order of integers unsigned.
+     */
+    private static final int SIGN = Integer.MIN_VALUE;
+
+    /**
+     * Operation: intersection.
+     */
+    private static final int AND = 0;
+
+    /**
+     * Operation: union.
+     */
+    private static final int OR = 1;
+
+    /**
+     * Operation: difference.
+     */
+    private static final int ANDNOT = 2;
+
+    /**
+     * Upper bits of each group, in ascending order.
+     */
+    @Immutable.Array
+    private final transient char[] highs;
+
+    /**
+     * Container of each group: {@code char[]}, {@code long[]} or
+     * {@code short[]}, never empty.
+     */
+    @Immutable.Array
+    private final transient Object[] containers;
+
+    /**
+     * Number of values before each group, and the total in the end.
+     */
+    @Immutable.Array
+    private final transient long[] offsets;
+
+    /**
+     * Public ctor, with no values.
+     */
+    public RoaringSet() {
+        this(new char[0], new Object[0]);
+    }
+
+    /**
+     * Public ctor.
+     * @param values The values, in any order, maybe with duplicates
+     */
+    public RoaringSet(final int... values) {
+        this(RoaringSet.build(values.clone()));
+    }
+
+    /**
+     * Public ctor.
+     *
+     * <p>Sets sorted in natural order, like {@link ArraySortedSet} of
+     * integers with the default comparator, are not sorted again.
+     *
+     * @param values The values, in any order, maybe with duplicates
+     */
+    public RoaringSet(final Iterable<Integer> values) {
+        this(RoaringSet.build(RoaringSet.unbox(values)));
+    }
+
+    /**
+     * Private ctor.
+     * @param set The set to copy
+     */
+    private RoaringSet(final RoaringSet set) {
+        this(set.highs, set.containers);
+    }
+
+    /**
+     * Private ctor, which takes ownership of arrays, without copying.
+     * @param groups Upper bits of groups
+     * @param conts Containers of groups
+     */
+    private RoaringSet(final char[] groups, final Object[] conts) {
+        this.highs = groups;
+        this.containers = conts;
+        this.offsets = new long[conts.length + 1];
+        for (int idx = 0; idx < conts.length; ++idx) {
+            this.offsets[idx + 1] = this.offsets[idx]
+                + RoaringSet.card(conts[idx]);
+        }
+    }
+
+    /**
+     * Does it contain the value?
+     * @param value The value
+     * @return TRUE if it's there
+     */
+    public boolean contains(final int value) {
+        final int flipped = value ^ RoaringSet.SIGN;
+        final int group = Arrays.binarySearch(
+            this.highs, (char) (flipped >>> RoaringSet.LOW)
+        );
+        return group >= 0 && RoaringSet.has(
+            this.containers[group], (char) (flipped & RoaringSet.MASK)
+        );
+    }
+
+    /**
+     * Values, which are both in this set and in the other one.
+     * @param other The other set
+     * @return New set
+     */
+    public RoaringSet and(final RoaringSet other) {
+        return this.merge(other, RoaringSet.AND);
+    }
+
+    /**
+     * Values, which are in this set or in the other one.
+     * @param other The other set
+     * @return New set
+     */
+    public RoaringSet or(final RoaringSet other) {
+        return this.merge(other, RoaringSet.OR);
+    }
+
+    /**
+     * Values of this set, which are not in the other one.
+     * @param other The other set
+     * @return New set
+     */
+    public RoaringSet andNot(final RoaringSet other) {
+        return this.merge(other, RoaringSet.ANDNOT);
+    }
+
+    /**
+     * All values, in ascending order.
+     * @return New array
+     */
+    public int[] toIntArray() {
+        final int[] array = new int[this.size()];
+        int pos = 0;
+        for (int group = 0; group < this.highs.length; ++group) {
+            final int base = this.highs[group] << RoaringSet.LOW;
+            for (final char low : RoaringSet.lows(this.containers[group])) {
+                array[pos] = (base | low) ^ RoaringSet.SIGN;
+                ++pos;
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (final int value : this.toIntArray()) {
+            hash += value;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        final boolean equals;
+        if (object instanceof RoaringSet) {
+            final RoaringSet other = RoaringSet.class.cast(object);
+            equals = Arrays.equals(this.highs, other.highs)
+                && Arrays.deepEquals(this.containers, other.containers);
+        } else if (object instanceof Set) {
+            final Set<?> other = Set.class.cast(object);
+            equals = other.size() == this.size() && this.containsAll(other);
+        } else {
+            equals = false;
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (final int value : this.toIntArray()) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(value);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(
+            Integer.MAX_VALUE, this.offsets[this.containers.length]
+        );
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.containers.length == 0;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        return key instanceof Integer
+            && this.contains(Integer.class.cast(key).intValue());
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedSet<Integer> subSet(final Integer from, final Integer till) {
+        if (from > till) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "first argument %d of RoaringSet#subSet() is above %d",
+                    from, till
+                )
+            );
+        }
+        return this.range(RoaringSet.unsigned(from), RoaringSet.unsigned(till));
+    }
+
+    @Override
+    public SortedSet<Integer> headSet(final Integer till) {
+        return this.range(0L, RoaringSet.unsigned(till));
+    }
+
+    @Override
+    public SortedSet<Integer> tailSet(final Integer from) {
+        return this.range(RoaringSet.unsigned(from), 1L << Integer.SIZE);
+    }
+
+    @Override
+    public Integer first() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException("RoaringSet is empty");
+        }
+        return this.value(0, RoaringSet.min(this.containers[0]));
+    }
+
+    @Override
+    public Integer last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException("RoaringSet is empty");
+        }
+        final int group = this.containers.length - 1;
+        return this.value(group, RoaringSet.max(this.containers[group]));
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new RoaringSet.Cursor(this);
+    }
+
+    @Override
+    public Object[] toArray() {
+        final int[] values = this.toIntArray();
+        final Object[] array = new Object[values.length];
+        for (int idx = 0; idx < values.length; ++idx) {
+            array[idx] = values[idx];
+        }
+        return array;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(final T[] array) {
+        final int[] values = this.toIntArray();
+        final T[] dest;
+        if (array.length >= values.length) {
+            dest = array;
+        } else {
+            dest = Arrays.copyOf(array, values.length);
+        }
+        for (int idx = 0; idx < values.length; ++idx) {
+            dest[idx] = (T) Integer.valueOf(values[idx]);
+        }
+        if (dest.length > values.length) {
+            dest[values.length] = null;
+        }
+        return dest;
+    }
+
+    @Override
+    @Deprecated
+    public boolean add(final Integer element) {
+        throw new UnsupportedOperationException(
+            "add(): RoaringSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean remove(final Object obj) {
+        throw new UnsupportedOperationException(
+            "remove(): RoaringSet is immutable"
+        );
+    }
+
+    @Override
+    public boolean containsAll(final Collection<?> col) {
+        boolean all = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                all = false;
+                break;
+            }
+        }
+        return all;
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final Collection<? extends Integer> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): RoaringSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean retainAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "retainAll(): RoaringSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean removeAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "removeAll(): RoaringSet is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): RoaringSet is immutable"
+        );
+    }
+
+    /**
+     * Value in the group.
+     * @param group Number of the group
+     * @param low Lower bits
+     * @return The value
+     */
+    private int value(final int group, final int low) {
+        return (this.highs[group] << RoaringSet.LOW | low) ^ RoaringSet.SIGN;
+    }
+
+    /**
+     * Combine this set with another one, group by group.
+     * @param other The other set
+     * @param opr Operation
+     * @return New set
+     */
+    private RoaringSet merge(final RoaringSet other, final int opr) {
+        final char[] groups = new char[this.highs.length + other.highs.length];
+        final Object[] conts = new Object[groups.length];
+        int size = 0;
+        int left = 0;
+        int right = 0;
+        while (left < this.highs.length || right < other.highs.length) {
+            final int cmp;
+            if (right == other.highs.length) {
+                cmp = -1;
+            } else if (left == this.highs.length) {
+                cmp = 1;
+            } else {
+                cmp = Character.compare(this.highs[left], other.highs[right]);
+            }
+            final char group;
+            final Object cont;
+            if (cmp < 0) {
+                group = this.highs[left];
+                if (opr == RoaringSet.AND) {
+                    cont = null;
+                } else {
+                    cont = this.containers[left];
+                }
+                ++left;
+            } else if (cmp > 0) {
+                group = other.highs[right];
+                if (opr == RoaringSet.OR) {
+                    cont = other.containers[right];
+                } else {
+                    cont = null;
+                }
+                ++right;
+            } else {
+                group = this.highs[left];
+                cont = RoaringSet.combine(
+                    this.containers[left], other.containers[right], opr
+                );
+                ++left;
+                ++right;
+            }
+            if (cont != null) {
+                groups[size] = group;
+                conts[size] = cont;
+                ++size;
+            }
+        }
+        return new RoaringSet(
+            Arrays.copyOf(groups, size), Arrays.copyOf(conts, size)
+        );
+    }
+
+    /**
+     * Values in the range of unsigned flipped values.
+     * @param from The first value, inclusive
+     * @param till The last value, exclusive
+     * @return New set
+     */
+    private RoaringSet range(final long from, final long till) {
+        final char[] groups = new char[this.highs.length];
+        final Object[] conts = new Object[groups.length];
+        int size = 0;
+        for (int group = 0; group < this.highs.length; ++group) {
+            final long base = (long) this.highs[group] << RoaringSet.LOW;
+            final long end = base + RoaringSet.MASK + 1L;
+            final Object cont;
+            if (end <= from || base >= till) {
+                cont = null;
+            } else if (base >= from && end <= till) {
+                cont = this.containers[group];
+            } else {
+                final char[] lows = RoaringSet.lows(this.containers[group]);
+                final char[] kept = new char[lows.length];
+                int count = 0;
+                for (final char low : lows) {
+                    if (base + low >= from && base + low < till) {
+                        kept[count] = low;
+                        ++count;
+                    }
+                }
+                cont = RoaringSet.make(kept, count);
+            }
+            if (cont != null) {
+                groups[size] = this.highs[group];
+                conts[size] = cont;
+                ++size;
+            }
+        }
+        return new RoaringSet(
+            Arrays.copyOf(groups, size), Arrays.copyOf(conts, size)
+        );
+    }
+
+    /**
+     * Value as unsigned flipped long.
+     * @param value The value
+     * @return Position of it in unsigned order
+     */
+    private static long unsigned(final int value) {
+        return Integer.toUnsignedLong(value ^ RoaringSet.SIGN);
+    }
+
+    /**
+     * Integers of the iterable.
+     * @param values The values
+     * @return Array of them
+     */
+    private static int[] unbox(final Iterable<Integer> values) {
+        int[] array = new int[0];
+        if (values instanceof Collection) {
+            array = new int[Collection.class.cast(values).size()];
+        }
+        int size = 0;
+        for (final Integer value : values) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, Math.max(16, size << 1));
+            }
+            array[size] = value;
+            ++size;
+        }
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Build a set.
+     * @param values Values, which are sorted in place
+     * @return The set
+     */
+    private static RoaringSet build(final int[] values) {
+        boolean sorted = true;
+        for (int idx = 1; idx < values.length && sorted; ++idx) {
+            sorted = values[idx - 1] <= values[idx];
+        }
+        if (!sorted) {
+            Arrays.sort(values);
+        }
+        final char[] groups = new char[values.length];
+        final Object[] conts = new Object[values.length];
+        final char[] lows = new char[RoaringSet.MASK + 1];
+        int size = 0;
+        int idx = 0;
+        while (idx < values.length) {
+            final int high = (values[idx] ^ RoaringSet.SIGN) >>> RoaringSet.LOW;
+            int count = 0;
+            while (idx < values.length
+                && (values[idx] ^ RoaringSet.SIGN) >>> RoaringSet.LOW == high) {
+                final char low = (char) (values[idx] & RoaringSet.MASK);
+                if (count == 0 || lows[count - 1] != low) {
+                    lows[count] = low;
+                    ++count;
+                }
+                ++idx;
+            }
+            groups[size] = (char) high;
+            conts[size] = RoaringSet.make(lows, count);
+            ++size;
+        }
+        return new RoaringSet(
+            Arrays.copyOf(groups, size), Arrays.copyOf(conts, size)
+        );
+    }
+
+    /**
+     * Make the smallest container of sorted unique lower bits.
+     * @param lows The lower bits, not kept by the container
+     * @param count How many of them to use
+     * @return Container or NULL, if there are no values
+     */
+    private static Object make(final char[] lows, final int count) {
+        final Object cont;
+        if (count == 0) {
+            cont = null;
+        } else if (count > RoaringSet.LIMIT) {
+            final long[] words = new long[RoaringSet.WORDS];
+            for (int idx = 0; idx < count; ++idx) {
+                words[lows[idx] >>> RoaringSet.WORD] |= 1L << lows[idx];
+            }
+            cont = RoaringSet.fromBitmap(words);
+        } else {
+            final int runs = RoaringSet.runs(lows, count);
+            if (runs << 1 < count) {
+                cont = RoaringSet.toRuns(lows, count, runs);
+            } else {
+                cont = Arrays.copyOf(lows, count);
+            }
+        }
+        return cont;
+    }
+
+    /**
+     * Make the smallest container of a bitmap.
+     * @param words The bitmap, which the container may keep
+     * @return Container or NULL, if there are no values
+     */
+    private static Object fromBitmap(final long[] words) {
+        int count = 0;
+        int runs = 0;
+        long prev = 0L;
+        for (final long word : words) {
+            count += Long.bitCount(word);
+            runs += Long.bitCount(word & ~(word << 1 | prev >>> Long.SIZE - 1));
+            prev = word;
+        }
+        final Object cont;
+        if (count == 0) {
+            cont = null;
+        } else if (runs << 2 < Math.min(words.length << 3, count << 1)) {
+            cont = RoaringSet.toRuns(RoaringSet.lows(words), count, runs);
+        } else if (count <= RoaringSet.LIMIT) {
+            cont = RoaringSet.lows(words);
+        } else {
+            cont = words;
+        }
+        return cont;
+    }
+
+    /**
+     * Number of runs of consecutive values.
+     * @param lows Sorted unique lower bits
+     * @param count How many of them to use
+     * @return Number of runs
+     */
+    private static int runs(final char[] lows, final int count) {
+        int runs = 0;
+        for (int idx = 0; idx < count; ++idx) {
+            if (idx == 0 || lows[idx] != lows[idx - 1] + 1) {
+                ++runs;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Make a container of runs.
+     * @param lows Sorted unique lower bits
+     * @param count How many of them to use
+     * @param runs Number of runs in them
+     * @return Pairs of the first value and the length minus one
+     */
+    private static short[] toRuns(final char[] lows, final int count,
+        final int runs) {
+        final short[] pairs = new short[runs << 1];
+        int run = -1;
+        for (int idx = 0; idx < count; ++idx) {
+            if (idx == 0 || lows[idx] != lows[idx - 1] + 1) {
+                ++run;
+                pairs[run << 1] = (short) lows[idx];
+            } else {
+                ++pairs[(run << 1) + 1];
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Combine two containers of one group.
+     * @param left The first container
+     * @param right The second container
+     * @param opr Operation
+     * @return Container or NULL, if there are no values
+     */
+    private static Object combine(final Object left, final Object right,
+        final int opr) {
+        final Object cont;
+        if (left instanceof long[] || right instanceof long[]) {
+            final long[] first = RoaringSet.words(left);
+            final long[] second = RoaringSet.words(right);
+            for (int idx = 0; idx < first.length; ++idx) {
+                if (opr == RoaringSet.AND) {
+                    first[idx] &= second[idx];
+                } else if (opr == RoaringSet.OR) {
+                    first[idx] |= second[idx];
+                } else {
+                    first[idx] &= ~second[idx];
+                }
+            }
+            cont = RoaringSet.fromBitmap(first);
+        } else {
+            final char[] first = RoaringSet.lows(left);
+            final char[] second = RoaringSet.lows(right);
+            final char[] merged = new char[first.length + second.length];
+            int size = 0;
+            int one = 0;
+            int two = 0;
+            while (one < first.length || two < second.length) {
+                final int cmp;
+                if (two == second.length) {
+                    cmp = -1;
+                } else if (one == first.length) {
+                    cmp = 1;
+                } else {
+                    cmp = Character.compare(first[one], second[two]);
+                }
+                if (cmp < 0) {
+                    if (opr != RoaringSet.AND) {
+                        merged[size] = first[one];
+                        ++size;
+                    }
+                    ++one;
+                } else if (cmp > 0) {
+                    if (opr == RoaringSet.OR) {
+                        merged[size] = second[two];
+                        ++size;
+                    }
+                    ++two;
+                } else {
+                    if (opr != RoaringSet.ANDNOT) {
+                        merged[size] = first[one];
+                        ++size;
+                    }
+                    ++one;
+                    ++two;
+                }
+            }
+            cont = RoaringSet.make(merged, size);
+        }
+        return cont;
+    }
+
+    /**
+     * Number of values in the container.
+     * @param cont The container
+     * @return Number of values
+     */
+    private static int card(final Object cont) {
+        int card = 0;
+        if (cont instanceof char[]) {
+            card = ((char[]) cont).length;
+        } else if (cont instanceof long[]) {
+            for (final long word : (long[]) cont) {
+                card += Long.bitCount(word);
+            }
+        } else {
+            final short[] pairs = (short[]) cont;
+            for (int idx = 1; idx < pairs.length; idx += 2) {
+                card += (pairs[idx] & RoaringSet.MASK) + 1;
+            }
+        }
+        return card;
+    }
+
+    /**
+     * Does the container have the value?
+     * @param cont The container
+     * @param low Lower bits of the value
+     * @return TRUE if it's there
+     */
+    private static boolean has(final Object cont, final char low) {
+        final boolean has;
+        if (cont instanceof char[]) {
+            has = Arrays.binarySearch((char[]) cont, low) >= 0;
+        } else if (cont instanceof long[]) {
+            has = (((long[]) cont)[low >>> RoaringSet.WORD] & 1L << low) != 0L;
+        } else {
+            final short[] pairs = (short[]) cont;
+            int lower = 0;
+            int upper = (pairs.length >> 1) - 1;
+            int found = -1;
+            while (lower <= upper) {
+                final int mid = lower + upper >>> 1;
+                if ((pairs[mid << 1] & RoaringSet.MASK) <= low) {
+                    found = mid;
+                    lower = mid + 1;
+                } else {
+                    upper = mid - 1;
+                }
+            }
+            has = found >= 0 && low - (pairs[found << 1] & RoaringSet.MASK)
+                <= (pairs[(found << 1) + 1] & RoaringSet.MASK);
+        }
+        return has;
+    }
+
+    /**
+     * The smallest lower bits in the container.
+     * @param cont The container
+     * @return Lower bits
+     */
+    private static int min(final Object cont) {
+        final int min;
+        if (cont instanceof char[]) {
+            min = ((char[]) cont)[0];
+        } else if (cont instanceof long[]) {
+            final long[] words = (long[]) cont;
+            int idx = 0;
+            while (words[idx] == 0L) {
+                ++idx;
+            }
+            min = (idx << RoaringSet.WORD)
+                + Long.numberOfTrailingZeros(words[idx]);
+        } else {
+            min = ((short[]) cont)[0] & RoaringSet.MASK;
+        }
+        return min;
+    }
+
+    /**
+     * The largest lower bits in the container.
+     * @param cont The container
+     * @return Lower bits
+     */
+    private static int max(final Object cont) {
+        final int max;
+        if (cont instanceof char[]) {
+            final char[] lows = (char[]) cont;
+            max = lows[lows.length - 1];
+        } else if (cont instanceof long[]) {
+            final long[] words = (long[]) cont;
+            int idx = words.length - 1;
+            while (words[idx] == 0L) {
+                --idx;
+            }
+            max = (idx << RoaringSet.WORD) + Long.SIZE - 1
+                - Long.numberOfLeadingZeros(words[idx]);
+        } else {
+            final short[] pairs = (short[]) cont;
+            max = (pairs[pairs.length - 2] & RoaringSet.MASK)
+                + (pairs[pairs.length - 1] & RoaringSet.MASK);
+        }
+        return max;
+    }
+
+    /**
+     * Sorted lower bits of the container.
+     * @param cont The container
+     * @return Lower bits, which must not be modified
+     */
+    private static char[] lows(final Object cont) {
+        final char[] lows;
+        if (cont instanceof char[]) {
+            lows = (char[]) cont;
+        } else if (cont instanceof long[]) {
+            final long[] words = (long[]) cont;
+            lows = new char[RoaringSet.card(cont)];
+            int pos = 0;
+            for (int idx = 0; idx < words.length; ++idx) {
+                long word = words[idx];
+                while (word != 0L) {
+                    lows[pos] = (char) ((idx << RoaringSet.WORD)
+                        + Long.numberOfTrailingZeros(word));
+                    ++pos;
+                    word &= word - 1L;
+                }
+            }
+        } else {
+            final short[] pairs = (short[]) cont;
+            lows = new char[RoaringSet.card(cont)];
+            int pos = 0;
+            for (int idx = 0; idx < pairs.length; idx += 2) {
+                final int start = pairs[idx] & RoaringSet.MASK;
+                final int length = (pairs[idx + 1] & RoaringSet.MASK) + 1;
+                for (int low = start; low < start + length; ++low) {
+                    lows[pos] = (char) low;
+                    ++pos;
+                }
+            }
+        }
+        return lows;
+    }
+
+    /**
+     * Bitmap of the container.
+     * @param cont The container
+     * @return New bitmap
+     */
+    private static long[] words(final Object cont) {
+        final long[] words;
+        if (cont instanceof long[]) {
+            words = ((long[]) cont).clone();
+        } else {
+            words = new long[RoaringSet.WORDS];
+            for (final char low : RoaringSet.lows(cont)) {
+                words[low >>> RoaringSet.WORD] |= 1L << low;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Iterator over values.
+     * @since 2.0
+     */
+    private static final class Cursor implements Iterator<Integer> {
+        /**
+         * The set.
+         */
+        private final transient RoaringSet set;
+
+        /**
+         * Number of the current group.
+         */
+        private int group;
+
+        /**
+         * Lower bits of the current group.
+         */
+        private char[] lows;
+
+        /**
+         * Position in them.
+         */
+        private int pos;
+
+        /**
+         * Ctor.
+         * @param origin The set
+         */
+        Cursor(final RoaringSet origin) {
+            this.set = origin;
+            this.group = -1;
+            this.lows = new char[0];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.pos < this.lows.length
+                || this.group + 1 < this.set.containers.length;
+        }
+
+        @Override
+        public Integer next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("no more values");
+            }
+            if (this.pos == this.lows.length) {
+                ++this.group;
+                this.lows = RoaringSet.lows(this.set.containers[this.group]);
+                this.pos = 0;
+            }
+            final int value = this.set.value(this.group, this.lows[this.pos]);
+            ++this.pos;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Concatenation of arrays, without copying them.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * The rope keeps references to the concatenated {@link Array}s and
+ * the offset of the first item of each of them. Concatenating ropes
+ * concatenates their parts, so the rope is never deeper than one
+ * level and {@link #get(int)} is a binary search over the offsets,
+ * that is <b>O(log k)</b>, where k is the number of parts.
+ * Iteration goes through the parts one by one.
+ * <p>
+ * The rope is flattened into one {@link Array} either explicitly, by
+ * {@link #flatten()}, or automatically, as soon as the number of
+ * {@link #get(int)} calls reaches its size. After that, {@link #get(int)}
+ * is <b>O(1)</b>.
+ * <p>
+ * Limitation:
+ * Encapsulated objects with exposed mutators can mutate their state.
+ *
+ * @param <T> Value key type
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (470 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "unchecked", "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors"
+})
+public final class Rope<T> implements List<T> {
+
+    /**
+     * Multiplier for hash codes, the same as in {@link List#hashCode()}.
+     */
+    private static final int PRIME = 31;
+
+    /**
+     * All parts, none of them are empty.
+     */
+    @Immutable.Array
+    private final transient Array<T>[] parts;
+
+    /**
+     * Position of the first item of each part.
+     */
+    @Immutable.Array
+    private final transient int[] offsets;
+
+    /**
+     * Total number of items.
+     */
+    private final transient int length;
+
+    /**
+     * How many times {@link #get(int)} was called, approximately.
+     */
+    @Immutable.Array
+    private final transient int[] reads;
+
+    /**
+     * Flattened array, when it's ready.
+     */
+    @Immutable.Array
+    private final transient Array<T>[] flat;
+
+    /**
+     * Public ctor.
+     * @param arrays Arrays to concatenate
+     */
+    public Rope(final Iterable<Array<T>> arrays) {
+        this(Rope.nonempty(arrays));
+    }
+
+    /**
+     * Private ctor, which takes ownership of the parts, without copying.
+     * @param all Parts, none of them are empty
+     */
+    private Rope(final Array<T>[] all) {
+        this.parts = all;
+        this.offsets = new int[all.length];
+        int total = 0;
+        for (int idx = 0; idx < all.length; ++idx) {
+            this.offsets[idx] = total;
+            total = Math.addExact(total, all[idx].size());
+        }
+        this.length = total;
+        this.reads = new int[1];
+        this.flat = Rope.parts(1);
+    }
+
+    /**
+     * Make a new one with an extra array at the end.
+     * @param array The array to append
+     * @return New rope
+     */
+    public Rope<T> with(final Array<T> array) {
+        if (array == null) {
+            throw new IllegalArgumentException(
+                "argument of Rope#with() can't be NULL"
+            );
+        }
+        final Rope<T> rope;
+        if (array.isEmpty()) {
+            rope = this;
+        } else {
+            final Array<T>[] all = Arrays.copyOf(
+                this.parts, this.parts.length + 1
+            );
+            all[this.parts.length] = array;
+            rope = new Rope<>(all);
+        }
+        return rope;
+    }
+
+    /**
+     * Make a new one with all parts of another rope at the end.
+     * @param rope The rope to append
+     * @return New rope
+     */
+    public Rope<T> with(final Rope<T> rope) {
+        if (rope == null) {
+            throw new IllegalArgumentException(
+                "Rope argument of Rope#with() can't be NULL"
+            );
+        }
+        final Array<T>[] all = Arrays.copyOf(
+            this.parts, this.parts.length + rope.parts.length
+        );
+        System.arraycopy(
+            rope.parts, 0, all, this.parts.length, rope.parts.length
+        );
+        return new Rope<>(all);
+    }
+
+    /**
+     * Copy all items into one array.
+     *
+     * <p>The result is cached, so only the first call copies.
+     *
+     * @return The array
+     */
+    public Array<T> flatten() {
+        Array<T> array = this.flat[0];
+        if (array == null) {
+            final T[] items = (T[]) new Object[this.length];
+            for (int idx = 0; idx < this.parts.length; ++idx) {
+                this.parts[idx].copyTo(items, this.offsets[idx]);
+            }
+            array = new Array<>(items, items.length);
+            this.flat[0] = array;
+        }
+        return array;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (final Array<T> part : this.parts) {
+            for (final T item : part) {
+                hash = Rope.PRIME * hash + Objects.hashCode(item);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof Rope) {
+            final Rope<?> rope = Rope.class.cast(object);
+            equals = rope.length == this.length && this.same(rope);
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (final T item : this) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(item);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.length == 0;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            /**
+             * Current part.
+             */
+            private int part;
+
+            /**
+             * Iterator of the current part.
+             */
+            private Iterator<T> items = Array.<T>of().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.items.hasNext()
+                    && this.part < Rope.this.parts.length) {
+                    this.items = Rope.this.parts[this.part].iterator();
+                    ++this.part;
+                }
+                return this.items.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException("no more items in Rope");
+                }
+                return this.items.next();
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.flatten().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(final T[] array) {
+        return this.flatten().toArray(array);
+    }
+
+    @Override
+    @Deprecated
+    public boolean add(final T element) {
+        throw new UnsupportedOperationException(
+            "add(): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean remove(final Object obj) {
+        throw new UnsupportedOperationException(
+            "remove(): Rope is immutable"
+        );
+    }
+
+    @Override
+    public boolean containsAll(final Collection<?> col) {
+        boolean contains = true;
+        for (final Object item : col) {
+            if (!this.contains(item)) {
+                contains = false;
+                break;
+            }
+        }
+        return contains;
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final Collection<? extends T> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean retainAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "retainAll(): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean removeAll(final Collection<?> col) {
+        throw new UnsupportedOperationException(
+            "removeAll(): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public boolean addAll(final int index, final Collection<? extends T> col) {
+        throw new UnsupportedOperationException(
+            "addAll(): Rope is immutable, can't change"
+        );
+    }
+
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "index %d is out of bounds, length=%d",
+                    index,
+                    this.length
+                )
+            );
+        }
+        Array<T> array = this.flat[0];
+        if (array == null) {
+            final int count = this.reads[0] + 1;
+            this.reads[0] = count;
+            if (count >= this.length) {
+                array = this.flatten();
+            }
+        }
+        final T item;
+        if (array == null) {
+            final int part = this.part(index);
+            item = this.parts[part].get(index - this.offsets[part]);
+        } else {
+            item = array.get(index);
+        }
+        return item;
+    }
+
+    @Override
+    @Deprecated
+    public T set(final int index, final T element) {
+        throw new UnsupportedOperationException(
+            "set(idx): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void add(final int index, final T element) {
+        throw new UnsupportedOperationException(
+            "add(idx): Rope is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public T remove(final int index) {
+        throw new UnsupportedOperationException(
+            "remove(idx): Rope is immutable"
+        );
+    }
+
+    @Override
+    public int indexOf(final Object obj) {
+        int index = -1;
+        for (int idx = 0; idx < this.parts.length; ++idx) {
+            final int pos = this.parts[idx].indexOf(obj);
+            if (pos >= 0) {
+                index = this.offsets[idx] + pos;
+                break;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(final Object obj) {
+        int index = -1;
+        for (int idx = this.parts.length - 1; idx >= 0; --idx) {
+            final int pos = this.parts[idx].lastIndexOf(obj);
+            if (pos >= 0) {
+                index = this.offsets[idx] + pos;
+                break;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return this.flatten().listIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        return this.flatten().listIterator(index);
+    }
+
+    @Override
+    public List<T> subList(final int from, final int till) {
+        return this.flatten().subList(from, till);
+    }
+
+    /**
+     * Compare items with the items of a rope of the same length, part
+     * by part, without flattening any of them.
+     * @param rope The rope
+     * @return TRUE if all items are equal
+     */
+    private boolean same(final Rope<?> rope) {
+        int mine = 0;
+        int theirs = 0;
+        int left = 0;
+        int right = 0;
+        boolean same = true;
+        for (int idx = 0; same && idx < this.length; ++idx) {
+            if (left == this.parts[mine].size()) {
+                ++mine;
+                left = 0;
+            }
+            if (right == rope.parts[theirs].size()) {
+                ++theirs;
+                right = 0;
+            }
+            same = Objects.deepEquals(
+                this.parts[mine].get(left), rope.parts[theirs].get(right)
+            );
+            ++left;
+            ++right;
+        }
+        return same;
+    }
+
+    /**
+     * Find the part, which contains the item with this index.
+     * @param index Index of the item, which is within bounds
+     * @return Index of the part
+     */
+    private int part(final int index) {
+        final int found = Arrays.binarySearch(this.offsets, index);
+        final int part;
+        if (found >= 0) {
+            part = found;
+        } else {
+            part = -found - 2;
+        }
+        return part;
+    }
+
+    /**
+     * Non-empty arrays, in their order.
+     * @param arrays All arrays
+     * @param <T> Type of items
+     * @return Parts of a rope
+     */
+    private static <T> Array<T>[] nonempty(final Iterable<Array<T>> arrays) {
+        if (arrays == null) {
+            throw new IllegalArgumentException(
+                "argument of Rope ctor can't be NULL"
+            );
+        }
+        final List<Array<T>> all = new ArrayList<>(0);
+        for (final Array<T> array : arrays) {
+            if (!array.isEmpty()) {
+                all.add(array);
+            }
+        }
+        return all.toArray(Rope.parts(all.size()));
+    }
+
+    /**
+     * Make an empty array of parts.
+     * @param count How many parts
+     * @param <T> Type of items
+     * @return The array
+     */
+    private static <T> Array<T>[] parts(final int count) {
+        return (Array<T>[]) new Array<?>[count];
+    }
+}
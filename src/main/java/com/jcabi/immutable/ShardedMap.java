@@ -0,0 +1,559 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Loggable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Map on top of many {@link ArrayMap}s, split by hash codes of keys.
+ *
+ * <p>This class is truly immutable. This means that it never changes
+ * its encapsulated values and is annotated with {@code @Immutable}
+ * annotation.
+ * <p>
+ * Keys are spread over 2<sup>k</sup> shards, by their hash codes.
+ * {@link #with(Object, Object)} and {@link #without(Object)} rebuild
+ * only one shard, which has about n/2<sup>k</sup> entries, and copy
+ * 2<sup>k</sup> references to the shards, instead of copying all
+ * n entries, like {@link ArrayMap} does. With sixty four shards, which
+ * is the default, an update of a map of a million entries copies
+ * about sixteen thousand of them.
+ * <p>
+ * Apart from that, it behaves like one map: {@link #size()} is
+ * <b>O(1)</b>, iteration goes shard after shard, and
+ * {@link #equals(Object)} and {@link #hashCode()} follow the contract
+ * of {@link Map}, so it's equal to any map with the same entries.
+ * Large maps are built in parallel, one shard per task, in the common
+ * fork-join pool.
+ * <p>
+ * Limitation:
+ * Encapsulated objects with exposed mutators can mutate their state.
+ *
+ * @param <K> Map key type
+ * @param <V> Value key type
+ * @since 2.0
+ * @checkstyle MissingDeprecatedCheck (550 lines)
+ */
+@Immutable
+@Loggable(Loggable.DEBUG)
+@SuppressWarnings({
+    "rawtypes", "unchecked",
+    "PMD.TooManyMethods",
+    "PMD.ConstructorOnlyInitializesOrCallOtherConstructors",
+    "PMD.OnlyOneConstructorShouldDoInitialization"
+})
+public final class ShardedMap<K, V> implements Map<K, V> {
+
+    /**
+     * Default number of shards, as a power of two.
+     */
+    private static final int BITS = 6;
+
+    /**
+     * Maximum number of shards, as a power of two.
+     */
+    private static final int MAX = 16;
+
+    /**
+     * Maps smaller than this are built in one thread.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * Multiplier that spreads hash codes over the shards (golden ratio).
+     */
+    private static final int SPREAD = 0x9E3779B9;
+
+    /**
+     * All shards.
+     */
+    @Immutable.Array
+    private final transient ArrayMap<K, V>[] shards;
+
+    /**
+     * Total number of entries.
+     */
+    private final transient int length;
+
+    /**
+     * Public ctor, with an empty map.
+     */
+    public ShardedMap() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Public ctor, with sixty four shards.
+     * @param map The original map
+     */
+    public ShardedMap(final Map<K, V> map) {
+        this(map, ShardedMap.BITS);
+    }
+
+    /**
+     * Public ctor.
+     * @param map The original map
+     * @param bits Number of shards, as a power of two, from zero to 16
+     */
+    public ShardedMap(final Map<K, V> map, final int bits) {
+        this(ShardedMap.split(map, bits));
+    }
+
+    /**
+     * Private ctor.
+     * @param parts The shards
+     */
+    private ShardedMap(final ArrayMap<K, V>[] parts) {
+        this(parts, Arrays.stream(parts).mapToInt(ArrayMap::size).sum());
+    }
+
+    /**
+     * Private ctor.
+     * @param parts The shards
+     * @param size Total number of entries in them
+     */
+    private ShardedMap(final ArrayMap<K, V>[] parts, final int size) {
+        this.shards = parts;
+        this.length = size;
+    }
+
+    /**
+     * Make a new one with an extra entry.
+     * @param key The key
+     * @param value The value
+     * @return New map
+     */
+    public ShardedMap<K, V> with(final K key, final V value) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "first argument of ShardedMap#with() can't be NULL"
+            );
+        }
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "second argument of ShardedMap#with() can't be NULL"
+            );
+        }
+        return this.edit(Collections.singletonMap(key, value));
+    }
+
+    /**
+     * Make a new one with these extra entries.
+     *
+     * <p>The method throws {@link IllegalArgumentException} if a key or
+     * a value is NULL; keys are removed only by {@code without()}.
+     *
+     * @param ents Entries
+     * @return New map
+     */
+    public ShardedMap<K, V> with(final Map<K, V> ents) {
+        if (ents == null) {
+            throw new IllegalArgumentException(
+                "arguments of ShardedMap#with() can't be NULL"
+            );
+        }
+        for (final Map.Entry<K, V> entry : ents.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException(
+                    "keys and values of ShardedMap#with() can't be NULL"
+                );
+            }
+        }
+        return this.edit(ents);
+    }
+
+    /**
+     * Make a new one without this key.
+     * @param key The key
+     * @return New map
+     */
+    public ShardedMap<K, V> without(final K key) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "argument of ShardedMap#without() can't be NULL"
+            );
+        }
+        return this.edit(Collections.singletonMap(key, null));
+    }
+
+    /**
+     * Make a new one without these keys.
+     * @param keys The keys to remove
+     * @return New map
+     */
+    public ShardedMap<K, V> without(final Collection<K> keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException(
+                "arguments of ShardedMap#without() can't be NULL"
+            );
+        }
+        final Map<K, V> edits = new HashMap<>(keys.size());
+        for (final K key : keys) {
+            edits.put(key, null);
+        }
+        return this.edit(edits);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (final ArrayMap<K, V> shard : this.shards) {
+            for (final Map.Entry<K, V> entry : shard.entrySet()) {
+                hash += entry.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        boolean equals = false;
+        if (object instanceof ShardedMap
+            && ShardedMap.class.cast(object).shards.length
+            == this.shards.length) {
+            equals = Arrays.equals(
+                this.shards, ShardedMap.class.cast(object).shards
+            );
+        } else if (object instanceof Map) {
+            final Map<?, ?> other = Map.class.cast(object);
+            equals = other.size() == this.length;
+            final Iterator<Map.Entry<K, V>> entries =
+                this.entrySet().iterator();
+            while (equals && entries.hasNext()) {
+                final Map.Entry<K, V> entry = entries.next();
+                equals = entry.getValue().equals(other.get(entry.getKey()));
+            }
+        }
+        return equals;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(0);
+        for (final ArrayMap<K, V> shard : this.shards) {
+            if (!shard.isEmpty()) {
+                if (text.length() > 0) {
+                    text.append(", ");
+                }
+                text.append(shard);
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int size() {
+        return this.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.shard(key).containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        boolean contains = false;
+        for (final ArrayMap<K, V> shard : this.shards) {
+            if (shard.containsValue(value)) {
+                contains = true;
+                break;
+            }
+        }
+        return contains;
+    }
+
+    @Override
+    public V get(final Object key) {
+        return this.shard(key).get(key);
+    }
+
+    @Override
+    @Deprecated
+    public V put(final K key, final V value) {
+        throw new UnsupportedOperationException(
+            "put(): ShardedMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public V remove(final Object key) {
+        throw new UnsupportedOperationException(
+            "remove(): ShardedMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException(
+            "putAll(): ShardedMap is immutable"
+        );
+    }
+
+    @Override
+    @Deprecated
+    public void clear() {
+        throw new UnsupportedOperationException(
+            "clear(): ShardedMap is immutable"
+        );
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new ShardedMap.KeySet<>(this);
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new ShardedMap.Values<>(this);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new ShardedMap.EntrySet<>(this);
+    }
+
+    /**
+     * Make a new one with edits applied to the shards they touch.
+     * @param edits Keys and new values, NULL for removed keys
+     * @return New map
+     */
+    private ShardedMap<K, V> edit(final Map<K, V> edits) {
+        final Map<K, V>[] parts = new Map[this.shards.length];
+        for (final Map.Entry<K, V> entry : edits.entrySet()) {
+            final int idx = ShardedMap.index(entry.getKey(), parts.length);
+            if (parts[idx] == null) {
+                parts[idx] = new HashMap<>(1);
+            }
+            parts[idx].put(entry.getKey(), entry.getValue());
+        }
+        final ArrayMap<K, V>[] next = this.shards.clone();
+        int size = this.length;
+        for (int idx = 0; idx < parts.length; ++idx) {
+            if (parts[idx] != null) {
+                next[idx] = this.shards[idx].apply(
+                    ArrayMap.Delta.of(parts[idx])
+                );
+                size += next[idx].size() - this.shards[idx].size();
+            }
+        }
+        return new ShardedMap<>(next, size);
+    }
+
+    /**
+     * Shard of the key.
+     * @param key The key
+     * @return The shard
+     */
+    private ArrayMap<K, V> shard(final Object key) {
+        return this.shards[ShardedMap.index(key, this.shards.length)];
+    }
+
+    /**
+     * Stream of all entries, shard after shard.
+     * @return Stream
+     */
+    private Stream<Map.Entry<K, V>> entries() {
+        return Arrays.stream(this.shards).flatMap(
+            shard -> shard.entrySet().stream()
+        );
+    }
+
+    /**
+     * Number of the shard of the key.
+     * @param key The key
+     * @param total Number of shards, a power of two
+     * @return Number of the shard
+     */
+    private static int index(final Object key, final int total) {
+        final int mixed = Objects.hashCode(key) * ShardedMap.SPREAD;
+        return (mixed ^ mixed >>> Short.SIZE) & total - 1;
+    }
+
+    /**
+     * Split the map into shards.
+     * @param map The map
+     * @param bits Number of shards, as a power of two
+     * @param <K> Map key type
+     * @param <V> Value key type
+     * @return Shards
+     */
+    private static <K, V> ArrayMap<K, V>[] split(final Map<K, V> map,
+        final int bits) {
+        if (map == null) {
+            throw new IllegalArgumentException(
+                "first argument of ShardedMap ctor can't be NULL"
+            );
+        }
+        if (bits < 0 || bits > ShardedMap.MAX) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "number of bits %d of ShardedMap must be in [0..%d]",
+                    bits, ShardedMap.MAX
+                )
+            );
+        }
+        final Map<K, V>[] parts = new Map[1 << bits];
+        for (int idx = 0; idx < parts.length; ++idx) {
+            parts[idx] = new HashMap<>(map.size() >> bits);
+        }
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            parts[ShardedMap.index(entry.getKey(), parts.length)].put(
+                entry.getKey(), entry.getValue()
+            );
+        }
+        IntStream stream = IntStream.range(0, parts.length);
+        if (map.size() >= ShardedMap.PARALLEL) {
+            stream = stream.parallel();
+        }
+        return stream.mapToObj(idx -> new ArrayMap<>(parts[idx]))
+            .toArray(ArrayMap[]::new);
+    }
+
+    /**
+     * Read-only view of the keys.
+     * @param <K> Key type.
+     * @since 2.0
+     */
+    private static final class KeySet<K> extends AbstractSet<K> {
+        /**
+         * The map.
+         */
+        private final transient ShardedMap<K, ?> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        KeySet(final ShardedMap<K, ?> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return this.map.entries().map(Map.Entry::getKey).iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.map.length;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return this.map.containsKey(key);
+        }
+    }
+
+    /**
+     * Read-only view of the values.
+     * @param <V> Value type.
+     * @since 2.0
+     */
+    private static final class Values<V> extends AbstractCollection<V> {
+        /**
+         * The map.
+         */
+        private final transient ShardedMap<?, V> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        Values(final ShardedMap<?, V> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return this.map.entries().map(Map.Entry::getValue).iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.map.length;
+        }
+    }
+
+    /**
+     * Read-only view of the entries.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @since 2.0
+     */
+    private static final class EntrySet<K, V>
+        extends AbstractSet<Map.Entry<K, V>> {
+        /**
+         * The map.
+         */
+        private final transient ShardedMap<K, V> map;
+
+        /**
+         * Ctor.
+         * @param origin The map
+         */
+        EntrySet(final ShardedMap<K, V> origin) {
+            super();
+            this.map = origin;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return this.map.entries().iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.map.length;
+        }
+    }
+}
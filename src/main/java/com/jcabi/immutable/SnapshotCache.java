@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded cache for read-mostly workloads, on top of immutable
+ * snapshots.
+ *
+ * <p>This class is mutable and thread-safe. The entries live in an
+ * {@link ArrayMap} snapshot, which is never changed, and readers look
+ * them up through its {@link PerfectMap} view: {@link #get(Object)}
+ * is one volatile read and an <b>O(1)</b> lookup, without locks, and
+ * it never rebuilds the snapshot.
+ * <p>
+ * Writes are not applied one by one. {@link #put(Object, Object)} and
+ * {@link #invalidate(Object)} only queue an edit, and the queue is applied
+ * in one rebuild of the snapshot, when it's long enough, when the
+ * period since the last rebuild is over, or when {@link #flush()} is
+ * called. Until then, readers see the previous snapshot. The queue and
+ * the period are checked by every write, and also by the writer, which
+ * finishes a rebuild. If there may be no more writes after the last
+ * edit, {@link #schedule(ScheduledExecutorService)} checks them once
+ * a period in the given executor, so a queued edit is visible to
+ * readers soon after the period.
+ * <p>
+ * Every lookup counts the key in a {@link FrequencySketch}. When
+ * a rebuild makes the snapshot larger than the capacity, the least
+ * frequently used keys are evicted, and the new keys compete with the
+ * old ones on equal terms: a new key which is used less often than
+ * all old ones is not admitted at all (TinyLFU).
+ *
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ * @since 2.0
+ */
+@SuppressWarnings("unchecked")
+public final class SnapshotCache<K, V> {
+
+    /**
+     * Queued edits, which trigger a rebuild.
+     */
+    private static final int BATCH = 1024;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int capacity;
+
+    /**
+     * Period between rebuilds, in nanoseconds.
+     */
+    private final long period;
+
+    /**
+     * The current snapshot, for writers.
+     */
+    private final AtomicReference<ArrayMap<K, V>> snapshot;
+
+    /**
+     * Index of the current snapshot, for readers.
+     */
+    private final AtomicReference<PerfectMap<K, V>> index;
+
+    /**
+     * Edits waiting for a rebuild; NULL value means removal.
+     */
+    private final Queue<Map.Entry<K, V>> pending;
+
+    /**
+     * Number of edits waiting for a rebuild.
+     */
+    private final AtomicInteger waiting;
+
+    /**
+     * Time of the last rebuild, by {@link System#nanoTime()}.
+     */
+    private final AtomicLong rebuilt;
+
+    /**
+     * Lock of the rebuild.
+     */
+    private final Lock lock;
+
+    /**
+     * Frequencies of keys.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Lookups that found the key.
+     */
+    private final LongAdder hit;
+
+    /**
+     * Lookups that didn't find the key.
+     */
+    private final LongAdder miss;
+
+    /**
+     * Entries evicted or not admitted.
+     */
+    private final LongAdder evicted;
+
+    /**
+     * Public ctor, with rebuilds at least once a second.
+     * @param max Maximum number of entries
+     */
+    public SnapshotCache(final int max) {
+        this(max, 1L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Public ctor.
+     * @param max Maximum number of entries
+     * @param time Period between rebuilds, if there are queued edits
+     * @param unit Unit of the period
+     */
+    public SnapshotCache(final int max, final long time, final TimeUnit unit) {
+        if (max <= 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "capacity %d of SnapshotCache must be positive", max
+                )
+            );
+        }
+        this.capacity = max;
+        this.period = unit.toNanos(time);
+        this.snapshot = new AtomicReference<>(ArrayMap.of());
+        this.index = new AtomicReference<>(this.snapshot.get().perfect());
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.waiting = new AtomicInteger();
+        this.rebuilt = new AtomicLong(System.nanoTime());
+        this.lock = new ReentrantLock();
+        this.sketch = new FrequencySketch(max);
+        this.hit = new LongAdder();
+        this.miss = new LongAdder();
+        this.evicted = new LongAdder();
+    }
+
+    /**
+     * Find the value of the key.
+     * @param key The key
+     * @return The value or NULL, if it's not in the cache
+     */
+    public V get(final K key) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "argument of SnapshotCache#get() can't be NULL"
+            );
+        }
+        final V value = this.index.get().get(key);
+        this.sketch.increment(key);
+        if (value == null) {
+            this.miss.increment();
+        } else {
+            this.hit.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Put the entry into the cache, on the next rebuild.
+     * @param key The key
+     * @param value The value
+     */
+    public void put(final K key, final V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException(
+                "arguments of SnapshotCache#put() can't be NULL"
+            );
+        }
+        this.queue(key, value);
+    }
+
+    /**
+     * Remove the key from the cache, on the next rebuild.
+     * @param key The key
+     */
+    public void invalidate(final K key) {
+        if (key == null) {
+            throw new IllegalArgumentException(
+                "argument of SnapshotCache#invalidate() can't be NULL"
+            );
+        }
+        this.queue(key, null);
+    }
+
+    /**
+     * Apply all queued edits now.
+     */
+    public void flush() {
+        this.lock.lock();
+        try {
+            this.rebuild();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Check queued edits once a period, in the executor, and apply
+     * them, if it's time.
+     *
+     * <p>The executor runs a rebuild, so readers never do it. Cancel
+     * the returned future to stop the checks.
+     *
+     * @param executor The executor
+     * @return Future of the periodic task
+     */
+    public ScheduledFuture<?> schedule(
+        final ScheduledExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException(
+                "argument of SnapshotCache#schedule() can't be NULL"
+            );
+        }
+        return executor.scheduleWithFixedDelay(
+            this::maintain, this.period, this.period, TimeUnit.NANOSECONDS
+        );
+    }
+
+    /**
+     * The current snapshot of the cache.
+     * @return Map of entries
+     */
+    public ArrayMap<K, V> snapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Number of lookups that found the key.
+     * @return Hits
+     */
+    public long hits() {
+        return this.hit.sum();
+    }
+
+    /**
+     * Number of lookups that didn't find the key.
+     * @return Misses
+     */
+    public long misses() {
+        return this.miss.sum();
+    }
+
+    /**
+     * Number of entries evicted or not admitted.
+     * @return Evictions
+     */
+    public long evictions() {
+        return this.evicted.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d/%d entries, %d hits, %d misses, %d evictions",
+            this.snapshot.get().size(), this.capacity,
+            this.hits(), this.misses(), this.evictions()
+        );
+    }
+
+    /**
+     * Queue an edit and rebuild, if it's time.
+     * @param key The key
+     * @param value The value, NULL if the key is removed
+     */
+    private void queue(final K key, final V value) {
+        this.pending.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+        this.waiting.incrementAndGet();
+        this.maintain();
+    }
+
+    /**
+     * Rebuild, while it's time and the lock is free.
+     *
+     * <p>If another thread holds the lock, it checks the queue again
+     * after its rebuild, so edits queued meanwhile are not stranded.
+     */
+    private void maintain() {
+        while (this.due() && this.lock.tryLock()) {
+            try {
+                this.rebuild();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Is it time to apply queued edits?
+     * @return TRUE if the queue is long enough or the period is over
+     */
+    private boolean due() {
+        final int count = this.waiting.get();
+        return count >= SnapshotCache.BATCH
+            || count > 0
+            && System.nanoTime() - this.rebuilt.get() >= this.period;
+    }
+
+    /**
+     * Apply queued edits, evict extra entries and publish the snapshot.
+     *
+     * <p>Must be called only by the holder of the lock.
+     */
+    private void rebuild() {
+        final Map<K, V> edits = new HashMap<>(0);
+        Map.Entry<K, V> edit = this.pending.poll();
+        while (edit != null) {
+            this.waiting.decrementAndGet();
+            edits.put(edit.getKey(), edit.getValue());
+            edit = this.pending.poll();
+        }
+        if (!edits.isEmpty()) {
+            final ArrayMap<K, V> before = this.snapshot.get();
+            ArrayMap<K, V> after = before.apply(ArrayMap.Delta.of(edits));
+            if (after.size() > this.capacity) {
+                after = this.evict(this.index.get(), after);
+            }
+            this.snapshot.set(after);
+            this.index.set(after.perfect());
+            this.sketch.age();
+        }
+        this.rebuilt.set(System.nanoTime());
+    }
+
+    /**
+     * Evict the least frequently used entries, above the capacity.
+     *
+     * <p>On equal frequencies, the keys that were in the cache before
+     * win over the new ones.
+     *
+     * @param before Index of the snapshot before the edits
+     * @param after Snapshot after the edits, larger than the capacity
+     * @return Snapshot without evicted entries
+     */
+    private ArrayMap<K, V> evict(final PerfectMap<K, V> before,
+        final ArrayMap<K, V> after) {
+        final K[] keys = (K[]) after.keySet().toArray();
+        final long[] ranks = new long[keys.length];
+        for (int idx = 0; idx < keys.length; ++idx) {
+            long rank = (long) this.sketch.frequency(keys[idx]) << 1;
+            if (before.containsKey(keys[idx])) {
+                ++rank;
+            }
+            ranks[idx] = rank << Integer.SIZE | idx;
+        }
+        Arrays.sort(ranks);
+        final int extra = keys.length - this.capacity;
+        final Map<K, V> victims = new HashMap<>(extra);
+        for (int idx = 0; idx < extra; ++idx) {
+            victims.put(keys[(int) ranks[idx]], null);
+        }
+        this.evicted.add(extra);
+        return after.apply(ArrayMap.Delta.of(victims));
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+
+/**
+ * Publisher of new versions of a shared immutable snapshot.
+ *
+ * <p>This class is thread-safe. Every {@link #publish(Object)} makes
+ * a new {@link SnapshotPublisher.Version}, with a sequential number and
+ * the size of the snapshot, and offers it to all subscribers, instead of
+ * letting them poll for changes. Right after subscribing, a subscriber
+ * gets the current version.
+ * <p>
+ * Backpressure is respected: a subscriber never gets more versions
+ * than it requested. The versions it didn't request yet are coalesced:
+ * only the latest one is kept for it, the intermediate ones are dropped.
+ * So, a slow subscriber always gets the latest snapshot and never has
+ * an unbounded backlog, while the memory is <b>O(1)</b> per subscriber.
+ * <p>
+ * Subscribers are notified by the executor, one task at a time for each
+ * of them, so signals to one subscriber, including {@code onError()}
+ * for a non-positive request, are never concurrent. A subscriber, which
+ * throws from a signal, is cancelled.
+ *
+ * @param <T> Type of snapshots
+ * @since 2.0
+ */
+@SuppressWarnings("PMD.AvoidUsingVolatile")
+public final class SnapshotPublisher<T>
+    implements Flow.Publisher<SnapshotPublisher.Version<T>> {
+
+    /**
+     * The latest version.
+     */
+    private final AtomicReference<SnapshotPublisher.Version<T>> current;
+
+    /**
+     * Size of a snapshot.
+     */
+    private final ToIntFunction<T> sizer;
+
+    /**
+     * Executor of notifications.
+     */
+    private final Executor executor;
+
+    /**
+     * Active subscriptions.
+     */
+    private final Collection<SnapshotPublisher.Link<T>> links;
+
+    /**
+     * Is it closed already?
+     */
+    private volatile boolean closed;
+
+    /**
+     * Public ctor, with the common fork-join pool as an executor.
+     * @param initial The initial snapshot
+     * @param size Size of a snapshot, e.g. {@code ArrayMap::size}
+     */
+    public SnapshotPublisher(final T initial, final ToIntFunction<T> size) {
+        this(initial, size, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Public ctor.
+     * @param initial The initial snapshot
+     * @param size Size of a snapshot, e.g. {@code ArrayMap::size}
+     * @param exec Executor of notifications
+     */
+    public SnapshotPublisher(final T initial, final ToIntFunction<T> size,
+        final Executor exec) {
+        if (initial == null || size == null || exec == null) {
+            throw new IllegalArgumentException(
+                "arguments of SnapshotPublisher#new can't be NULL"
+            );
+        }
+        this.current = new AtomicReference<>(
+            new SnapshotPublisher.Version<>(
+                0L, size.applyAsInt(initial), initial
+            )
+        );
+        this.sizer = size;
+        this.executor = exec;
+        this.links = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * The latest version.
+     * @return Version
+     */
+    public SnapshotPublisher.Version<T> latest() {
+        return this.current.get();
+    }
+
+    /**
+     * Publish a new snapshot.
+     * @param snapshot The snapshot
+     * @return Its version
+     */
+    public SnapshotPublisher.Version<T> publish(final T snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException(
+                "argument of SnapshotPublisher#publish() can't be NULL"
+            );
+        }
+        if (this.closed) {
+            throw new IllegalStateException("SnapshotPublisher is closed");
+        }
+        final int size = this.sizer.applyAsInt(snapshot);
+        final SnapshotPublisher.Version<T> version = this.current.updateAndGet(
+            prev -> new SnapshotPublisher.Version<>(
+                prev.number() + 1L, size, snapshot
+            )
+        );
+        for (final SnapshotPublisher.Link<T> link : this.links) {
+            link.offer(version);
+        }
+        return version;
+    }
+
+    /**
+     * Close it: subscribers get the versions they requested and then
+     * {@code onComplete()}.
+     */
+    public void close() {
+        this.closed = true;
+        for (final SnapshotPublisher.Link<T> link : this.links) {
+            link.drain();
+        }
+    }
+
+    @Override
+    public void subscribe(
+        final Flow.Subscriber<? super SnapshotPublisher.Version<T>> sub) {
+        if (sub == null) {
+            throw new IllegalArgumentException(
+                "argument of SnapshotPublisher#subscribe() can't be NULL"
+            );
+        }
+        final SnapshotPublisher.Link<T> link =
+            new SnapshotPublisher.Link<>(this, sub);
+        this.links.add(link);
+        sub.onSubscribe(link);
+        link.offer(this.current.get());
+    }
+
+    /**
+     * Version of a snapshot.
+     * @param <T> Type of snapshots
+     * @since 2.0
+     */
+    public static final class Version<T> {
+        /**
+         * Sequential number, zero for the initial snapshot.
+         */
+        private final long num;
+
+        /**
+         * Size of the snapshot.
+         */
+        private final int count;
+
+        /**
+         * The snapshot.
+         */
+        private final T value;
+
+        /**
+         * Ctor.
+         * @param number Sequential number
+         * @param size Size of the snapshot
+         * @param snapshot The snapshot
+         */
+        Version(final long number, final int size, final T snapshot) {
+            this.num = number;
+            this.count = size;
+            this.value = snapshot;
+        }
+
+        /**
+         * Sequential number of the version, zero for the initial one.
+         *
+         * <p>Numbers of versions delivered to a subscriber grow, but
+         * may have gaps, where versions were coalesced.
+         *
+         * @return Number
+         */
+        public long number() {
+            return this.num;
+        }
+
+        /**
+         * Size of the snapshot, to pre-size structures before reading it.
+         * @return Number of items or entries
+         */
+        public int size() {
+            return this.count;
+        }
+
+        /**
+         * The snapshot.
+         * @return Snapshot
+         */
+        public T snapshot() {
+            return this.value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d (%d)", this.num, this.count);
+        }
+    }
+
+    /**
+     * Subscription of one subscriber.
+     * @param <T> Type of snapshots
+     * @since 2.0
+     */
+    private static final class Link<T> implements Flow.Subscription {
+        /**
+         * The publisher.
+         */
+        private final SnapshotPublisher<T> origin;
+
+        /**
+         * The subscriber.
+         */
+        private final Flow.Subscriber<? super SnapshotPublisher.Version<T>>
+            target;
+
+        /**
+         * The latest version not delivered yet, or NULL.
+         */
+        private final AtomicReference<SnapshotPublisher.Version<T>> latest;
+
+        /**
+         * How many versions are requested and not delivered yet.
+         */
+        private final AtomicLong demand;
+
+        /**
+         * How many times the drain was asked for, while it's running.
+         */
+        private final AtomicInteger wip;
+
+        /**
+         * Error to signal by the drain, or NULL.
+         */
+        private final AtomicReference<Throwable> error;
+
+        /**
+         * Number of the version delivered last, touched only by drain.
+         */
+        private long delivered;
+
+        /**
+         * Is it cancelled or completed?
+         */
+        private volatile boolean done;
+
+        /**
+         * Ctor.
+         * @param pub The publisher
+         * @param sub The subscriber
+         */
+        Link(final SnapshotPublisher<T> pub,
+            final Flow.Subscriber<? super SnapshotPublisher.Version<T>> sub) {
+            this.origin = pub;
+            this.target = sub;
+            this.latest = new AtomicReference<>();
+            this.demand = new AtomicLong();
+            this.wip = new AtomicInteger();
+            this.error = new AtomicReference<>();
+            this.delivered = -1L;
+        }
+
+        @Override
+        public void request(final long count) {
+            if (count <= 0L) {
+                this.error.compareAndSet(
+                    null,
+                    new IllegalArgumentException(
+                        String.format(
+                            "non-positive request %d, see rule 3.9", count
+                        )
+                    )
+                );
+                this.drain();
+            } else {
+                this.demand.accumulateAndGet(
+                    count,
+                    (left, right) -> {
+                        final long sum = left + right;
+                        final long total;
+                        if (sum < 0L) {
+                            total = Long.MAX_VALUE;
+                        } else {
+                            total = sum;
+                        }
+                        return total;
+                    }
+                );
+                this.drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.done = true;
+            this.origin.links.remove(this);
+        }
+
+        /**
+         * Offer a new version, replacing the undelivered one.
+         * @param version The version
+         */
+        void offer(final SnapshotPublisher.Version<T> version) {
+            this.latest.accumulateAndGet(
+                version,
+                (prev, next) -> {
+                    final SnapshotPublisher.Version<T> newer;
+                    if (prev == null || next.number() > prev.number()) {
+                        newer = next;
+                    } else {
+                        newer = prev;
+                    }
+                    return newer;
+                }
+            );
+            this.drain();
+        }
+
+        /**
+         * Schedule a drain, unless it's running already.
+         */
+        void drain() {
+            if (this.wip.getAndIncrement() == 0) {
+                this.executor().execute(this::run);
+            }
+        }
+
+        /**
+         * Deliver as many versions as requested, one drain at a time.
+         *
+         * <p>If the subscriber throws, it's cancelled and the drain is
+         * reset, so that further offers don't wait for it forever.
+         */
+        private void run() {
+            boolean clean = false;
+            try {
+                this.loop();
+                clean = true;
+            } finally {
+                if (!clean) {
+                    this.cancel();
+                    this.wip.set(0);
+                }
+            }
+        }
+
+        /**
+         * Deliver signals until no more drains are asked for.
+         */
+        private void loop() {
+            int missed = 1;
+            while (missed != 0) {
+                final Throwable failure = this.error.get();
+                if (failure != null && !this.done) {
+                    this.cancel();
+                    this.target.onError(failure);
+                }
+                while (!this.done && this.demand.get() > 0L) {
+                    final SnapshotPublisher.Version<T> next =
+                        this.latest.getAndSet(null);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.number() > this.delivered) {
+                        this.delivered = next.number();
+                        if (this.demand.get() != Long.MAX_VALUE) {
+                            this.demand.decrementAndGet();
+                        }
+                        this.target.onNext(next);
+                    }
+                }
+                if (!this.done && this.origin.closed
+                    && this.latest.get() == null) {
+                    this.cancel();
+                    this.target.onComplete();
+                }
+                missed = this.wip.addAndGet(-missed);
+            }
+        }
+
+        /**
+         * Executor of the publisher.
+         * @return Executor
+         */
+        private Executor executor() {
+            return this.origin.executor;
+        }
+    }
+}
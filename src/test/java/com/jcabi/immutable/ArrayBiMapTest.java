@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ArrayBiMap}.
+ * @since 2.0
+ */
+final class ArrayBiMapTest {
+
+    @Test
+    void findsInBothDirections() {
+        final ArrayBiMap<String, Integer> map =
+            new ArrayBiMap<String, Integer>()
+                .with("one", 1)
+                .with("two", 2);
+        MatcherAssert.assertThat(map.get("two"), Matchers.equalTo(2));
+        MatcherAssert.assertThat(map.key(1), Matchers.equalTo("one"));
+        MatcherAssert.assertThat(map.key(3), Matchers.nullValue());
+        MatcherAssert.assertThat(map.containsValue(2), Matchers.is(true));
+        MatcherAssert.assertThat(map, Matchers.hasToString("one=1, two=2"));
+    }
+
+    @Test
+    void invertsWithoutCopying() {
+        final Map<String, Integer> origin = new LinkedHashMap<>(0);
+        origin.put("a", 10);
+        origin.put("b", 20);
+        final ArrayBiMap<String, Integer> map = new ArrayBiMap<>(origin);
+        final ArrayBiMap<Integer, String> inverse = map.inverse();
+        MatcherAssert.assertThat(inverse.get(20), Matchers.equalTo("b"));
+        MatcherAssert.assertThat(inverse.keySet(), Matchers.contains(10, 20));
+        MatcherAssert.assertThat(inverse.inverse(), Matchers.equalTo(map));
+        MatcherAssert.assertThat(map, Matchers.equalTo(origin));
+        MatcherAssert.assertThat(
+            map.hashCode(), Matchers.equalTo(origin.hashCode())
+        );
+    }
+
+    @Test
+    void updatesBothSides() {
+        final ArrayBiMap<String, Integer> map =
+            new ArrayBiMap<String, Integer>()
+                .with("x", 1)
+                .with("y", 2)
+                .with("x", 3)
+                .without("y");
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(map.key(3), Matchers.equalTo("x"));
+        MatcherAssert.assertThat(map.key(1), Matchers.nullValue());
+        MatcherAssert.assertThat(map.inverse().get(2), Matchers.nullValue());
+        MatcherAssert.assertThat(map.without("z"), Matchers.sameInstance(map));
+    }
+
+    @Test
+    void rejectsDuplicateValues() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        origin.put("a", 1);
+        origin.put("b", 1);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ArrayBiMap<>(origin)
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ArrayBiMap<String, Integer>().with("a", 1).with("b", 1)
+        );
+    }
+
+    @Test
+    void behavesAsHashMap() {
+        final Map<Integer, Integer> expected = new HashMap<>(0);
+        ArrayBiMap<Integer, Integer> map = new ArrayBiMap<>();
+        for (int idx = 0; idx < 500; ++idx) {
+            map = map.with(idx, -idx);
+            expected.put(idx, -idx);
+        }
+        for (int idx = 0; idx < 500; idx += 3) {
+            map = map.without(idx);
+            expected.remove(idx);
+        }
+        MatcherAssert.assertThat(map, Matchers.equalTo(expected));
+        MatcherAssert.assertThat(
+            map.entrySet(), Matchers.equalTo(expected.entrySet())
+        );
+        for (final Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            MatcherAssert.assertThat(
+                map.key(entry.getValue()), Matchers.equalTo(entry.getKey())
+            );
+        }
+    }
+}
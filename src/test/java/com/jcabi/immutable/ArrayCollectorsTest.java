@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ArrayCollectors}.
+ * @since 2.0
+ */
+final class ArrayCollectorsTest {
+
+    @Test
+    void collectsArrayInOrder() {
+        MatcherAssert.assertThat(
+            IntStream.range(0, 10_000).parallel().boxed()
+                .collect(ArrayCollectors.toArray()),
+            Matchers.equalTo(
+                new Array<>(
+                    IntStream.range(0, 10_000).boxed()
+                        .collect(Collectors.toList())
+                )
+            )
+        );
+    }
+
+    @Test
+    void collectsArraySet() {
+        MatcherAssert.assertThat(
+            Stream.of("a", "b", "a", "c").collect(ArrayCollectors.toArraySet()),
+            Matchers.equalTo(new ArraySet<>(Arrays.asList("c", "b", "a")))
+        );
+    }
+
+    @Test
+    void collectsSortedSetInParallel() {
+        MatcherAssert.assertThat(
+            IntStream.range(0, 10_000).parallel()
+                .mapToObj(idx -> idx % 777)
+                .collect(
+                    ArrayCollectors.toArraySortedSet(
+                        new ArrayComparator.Reverse<Integer>()
+                    )
+                ),
+            Matchers.allOf(
+                Matchers.<Integer>iterableWithSize(777),
+                Matchers.equalTo(
+                    new ArraySortedSet<>(
+                        IntStream.range(0, 777).boxed()
+                            .collect(Collectors.toList()),
+                        new ArrayComparator.Reverse<Integer>()
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void keepsOrderWithNeutralComparator() {
+        MatcherAssert.assertThat(
+            Stream.of(3, 1, 2).collect(
+                ArrayCollectors.toArraySortedSet(
+                    new ArrayComparator.Neutral<>()
+                )
+            ),
+            Matchers.contains(3, 1, 2)
+        );
+    }
+
+    @Test
+    void collectsArrayMap() {
+        final Map<String, Integer> expected = new HashMap<>(0);
+        expected.put("one", 3);
+        expected.put("three", 5);
+        MatcherAssert.assertThat(
+            Stream.of("three", "one").collect(
+                ArrayCollectors.toArrayMap(Function.identity(), String::length)
+            ),
+            Matchers.equalTo(new ArrayMap<>(expected))
+        );
+    }
+
+    @Test
+    void rejectsDuplicateKeys() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> Stream.of("x", "y", "x").collect(
+                ArrayCollectors.toArrayMap(Function.identity(), s -> s)
+            )
+        );
+    }
+
+    @Test
+    void rejectsNullValuesOfMap() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> Stream.of("a").collect(
+                ArrayCollectors.toArrayMap(Function.identity(), s -> null)
+            )
+        );
+    }
+
+    @Test
+    void collectsSameSetAsTwoSteps() {
+        final int total = 200_000;
+        MatcherAssert.assertThat(
+            IntStream.range(0, total)
+                .parallel().map(idx -> idx * 7 % total).boxed()
+                .collect(ArrayCollectors.toArraySortedSet()),
+            Matchers.equalTo(
+                new ArraySortedSet<>(
+                    IntStream.range(0, total)
+                        .parallel().map(idx -> idx * 7 % total).boxed()
+                        .collect(Collectors.toList())
+                )
+            )
+        );
+    }
+}
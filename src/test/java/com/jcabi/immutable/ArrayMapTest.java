@@ -29,6 +29,11 @@
  */
 package com.jcabi.immutable;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import org.hamcrest.MatcherAssert;
@@ -128,4 +133,205 @@ final class ArrayMapTest {
         );
     }
 
+    @Test
+    void iteratesEntries() {
+        MatcherAssert.assertThat(
+            new ArrayMap<Integer, String>()
+                .with(2, "two")
+                .with(1, "one")
+                .entrySet()
+                .iterator()
+                .next(),
+            Matchers.allOf(
+                Matchers.hasToString("1=one"),
+                Matchers.equalTo(
+                    new ArrayMap<Integer, String>().with(1, "one")
+                        .entrySet().iterator().next()
+                )
+            )
+        );
+    }
+
+    @Test
+    void keepsNoObjectsPerEntry() throws Exception {
+        final Map<Integer, String> origin = new ConcurrentHashMap<>(0);
+        for (int idx = 0; idx < 1000; ++idx) {
+            origin.put(idx, String.valueOf(idx));
+        }
+        final ArrayMap<Integer, String> map = new ArrayMap<>(origin);
+        final Map<Object, Boolean> payload = new IdentityHashMap<>(0);
+        for (final Map.Entry<Integer, String> entry : map.entrySet()) {
+            payload.put(entry.getKey(), true);
+            payload.put(entry.getValue(), true);
+        }
+        int slots = 0;
+        int wrappers = 0;
+        for (final Field field : ArrayMap.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                for (final Object item : (Object[]) field.get(map)) {
+                    ++slots;
+                    if (!payload.containsKey(item)) {
+                        ++wrappers;
+                    }
+                }
+            }
+        }
+        MatcherAssert.assertThat(
+            "one slot per key and per value, with no entry objects",
+            new int[] {slots, wrappers},
+            Matchers.equalTo(new int[] {origin.size() * 2, 0})
+        );
+    }
+
+    @Test
+    void buildsSmallMaps() {
+        MatcherAssert.assertThat(
+            ArrayMap.of(1, "one").with(ArrayMap.<Integer, String>of()),
+            Matchers.allOf(
+                Matchers.equalTo(
+                    new ArrayMap<Integer, String>().with(1, "one")
+                ),
+                Matchers.hasEntry(1, "one")
+            )
+        );
+    }
+
+    @Test
+    void consultsBloomFilter() {
+        final ArrayMap<String, Integer> map = new ArrayMap<String, Integer>()
+            .with("one", 1)
+            .with("two", 2)
+            .bloomed(10);
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.hasEntry("two", 2),
+                Matchers.not(Matchers.hasKey("three"))
+            )
+        );
+        MatcherAssert.assertThat(
+            map.bloom().bytes(),
+            Matchers.greaterThan(0L)
+        );
+    }
+
+    @Test
+    void findsDifferenceBetweenMaps() {
+        final ArrayMap<Integer, String> before = new ArrayMap<Integer, String>()
+            .with(1, "one")
+            .with(2, "two")
+            .with(3, "three");
+        final ArrayMap.Delta<Integer, String> delta = ArrayMap.diff(
+            before,
+            before.without(1).with(3, "3").with(4, "four")
+        );
+        MatcherAssert.assertThat(
+            delta,
+            Matchers.hasToString("+4=four ~3=3 -[1]")
+        );
+    }
+
+    @Test
+    void appliesDifferenceBetweenMaps() {
+        final Map<Integer, Integer> left = new ConcurrentHashMap<>(0);
+        final Map<Integer, Integer> right = new ConcurrentHashMap<>(0);
+        for (int idx = 0; idx < 1000; ++idx) {
+            left.put(idx * 2, idx);
+            if (idx % 7 != 0) {
+                right.put(idx * 3, idx % 5);
+            }
+        }
+        final ArrayMap<Integer, Integer> before = new ArrayMap<>(left);
+        final ArrayMap<Integer, Integer> after = new ArrayMap<>(right);
+        MatcherAssert.assertThat(
+            before.apply(ArrayMap.diff(before, after)),
+            Matchers.equalTo(after)
+        );
+    }
+
+    @Test
+    void makesEmptyDeltaForEqualMaps() {
+        final ArrayMap<String, String> map = ArrayMap.of("a", "b");
+        MatcherAssert.assertThat(
+            ArrayMap.diff(map, new ArrayMap<>(map)).isEmpty(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void equalsOtherMapsWithSameEntries() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        for (int idx = 0; idx < 100; ++idx) {
+            origin.put(String.format("k%d", idx), idx);
+        }
+        final ArrayMap<String, Integer> map = new ArrayMap<>(origin);
+        final ShardedMap<String, Integer> sharded = new ShardedMap<>(origin);
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.equalTo(origin),
+                Matchers.equalTo(sharded),
+                Matchers.not(Matchers.equalTo(map.without("k1")))
+            )
+        );
+        MatcherAssert.assertThat(origin, Matchers.equalTo(map));
+        MatcherAssert.assertThat(sharded, Matchers.equalTo(map));
+        MatcherAssert.assertThat(
+            map.hashCode(),
+            Matchers.equalTo(origin.hashCode())
+        );
+    }
+
+    @Test
+    void findsKeysByEqualsAfterComparator() {
+        final Object key = new ArrayMapTest.Named("same");
+        final Map<Object, String> origin = new HashMap<>(0);
+        origin.put(key, "found");
+        origin.put(new ArrayMapTest.Named("other"), "other");
+        final ArrayMap<Object, String> map = new ArrayMap<>(origin);
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.hasEntry(key, "found"),
+                Matchers.not(
+                    Matchers.hasKey((Object) new ArrayMapTest.Named("same"))
+                )
+            )
+        );
+    }
+
+    @Test
+    void ignoresKeysOfOtherTypes() {
+        final ArrayMap<String, String> map = ArrayMap.of("a", "b");
+        MatcherAssert.assertThat(
+            map.containsKey(1),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * Key that is not comparable and is compared by identity.
+     * @since 2.0
+     */
+    private static final class Named {
+        /**
+         * The name.
+         */
+        private final String name;
+
+        /**
+         * Ctor.
+         * @param text The name
+         */
+        Named(final String text) {
+            this.name = text;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ArrayMultimap}.
+ * @since 2.0
+ */
+final class ArrayMultimapTest {
+
+    @Test
+    void groupsUnsortedPairs() {
+        final ArrayMultimap<String, Integer> map = new ArrayMultimap<>(
+            Arrays.asList(
+                ArrayMultimapTest.pair("b", 1), ArrayMultimapTest.pair("a", 2),
+                ArrayMultimapTest.pair("b", 3), ArrayMultimapTest.pair("c", 4),
+                ArrayMultimapTest.pair("a", 5)
+            )
+        );
+        MatcherAssert.assertThat(
+            map,
+            Matchers.hasToString("a=[2, 5], b=[1, 3], c=[4]")
+        );
+        MatcherAssert.assertThat(map.get("b"), Matchers.contains(1, 3));
+        MatcherAssert.assertThat(map.get("z"), Matchers.empty());
+        MatcherAssert.assertThat(map.size(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(map.keys(), Matchers.contains("a", "b", "c"));
+    }
+
+    @Test
+    void findsValuesAsMapOfLists() {
+        final Random random = new Random(1L);
+        final Map<Integer, List<Integer>> expected = new TreeMap<>();
+        final Collection<Map.Entry<Integer, Integer>> pairs =
+            new ArrayList<>(100_000);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            final int key = random.nextInt(5000);
+            expected.computeIfAbsent(key, any -> new ArrayList<>(1)).add(idx);
+            pairs.add(ArrayMultimapTest.pair(key, idx));
+        }
+        final ArrayMultimap<Integer, Integer> map =
+            new ArrayMultimap<>(pairs);
+        for (int key = -1; key <= 5000; ++key) {
+            MatcherAssert.assertThat(
+                new ArrayList<>(map.get(key)),
+                Matchers.equalTo(
+                    expected.getOrDefault(key, new ArrayList<>(0))
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            new ArrayMultimap<>(expected),
+            Matchers.equalTo(map)
+        );
+    }
+
+    @Test
+    void addsAndRemovesKeys() {
+        final ArrayMultimap<String, Integer> map =
+            new ArrayMultimap<String, Integer>()
+                .with("m", 1).with("m", 2).with("z", 3).with("a", 4);
+        MatcherAssert.assertThat(
+            map,
+            Matchers.hasToString("a=[4], m=[1, 2], z=[3]")
+        );
+        MatcherAssert.assertThat(
+            map.without("m").with("a", 5),
+            Matchers.hasToString("a=[4, 5], z=[3]")
+        );
+        MatcherAssert.assertThat(map.without("q"), Matchers.sameInstance(map));
+    }
+
+    @Test
+    void takesLessMemoryThanMapOfArrays() {
+        final Map<Integer, List<Integer>> groups = new TreeMap<>();
+        ArrayMap<Integer, Array<Integer>> arrays = new ArrayMap<>();
+        for (int key = 0; key < 1000; ++key) {
+            final List<Integer> list = Arrays.asList(key, key + 1, key + 2);
+            groups.put(key, list);
+            arrays = arrays.with(key, new Array<>(list));
+        }
+        MatcherAssert.assertThat(
+            new Footprint(new ArrayMultimap<>(groups)).retained(),
+            Matchers.lessThan(new Footprint(arrays).retained() / 2L)
+        );
+    }
+
+    @Test
+    void rejectsNullPairs() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ArrayMultimap<>(
+                Arrays.asList(ArrayMultimapTest.pair("a", null))
+            )
+        );
+    }
+
+    /**
+     * Make a pair.
+     * @param key The key
+     * @param value The value
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return Pair
+     */
+    private static <K, V> Map.Entry<K, V> pair(final K key, final V value) {
+        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+}
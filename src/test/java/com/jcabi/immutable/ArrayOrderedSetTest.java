@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ArrayOrderedSet}.
+ * @since 2.0
+ */
+final class ArrayOrderedSetTest {
+
+    @Test
+    void keepsOrderOfInsertion() {
+        final ArrayOrderedSet<String> set = new ArrayOrderedSet<>(
+            "c", "a", "c", "b", "a"
+        );
+        MatcherAssert.assertThat(set, Matchers.contains("c", "a", "b"));
+        MatcherAssert.assertThat(set, Matchers.hasToString("c, a, b"));
+        MatcherAssert.assertThat(
+            new int[] {set.indexOf("b"), set.indexOf("z")},
+            Matchers.equalTo(new int[] {2, -1})
+        );
+        MatcherAssert.assertThat(set.get(1), Matchers.equalTo("a"));
+    }
+
+    @Test
+    void behavesAsLinkedHashSet() {
+        final Random random = new Random(1L);
+        final Set<Integer> expected = new LinkedHashSet<>(0);
+        final Integer[] items = new Integer[10_000];
+        for (int idx = 0; idx < items.length; ++idx) {
+            items[idx] = random.nextInt(5000);
+            expected.add(items[idx]);
+        }
+        final ArrayOrderedSet<Integer> set = new ArrayOrderedSet<>(items);
+        MatcherAssert.assertThat(
+            Arrays.asList(set.toArray()),
+            Matchers.equalTo(Arrays.asList(expected.toArray()))
+        );
+        for (int item = 0; item < 5000; ++item) {
+            MatcherAssert.assertThat(
+                set.contains(item),
+                Matchers.is(expected.contains(item))
+            );
+        }
+    }
+
+    @Test
+    void addsAndRemovesItems() {
+        final ArrayOrderedSet<Integer> set = new ArrayOrderedSet<>(3, 1, 2);
+        MatcherAssert.assertThat(
+            set.with(1).with(9).without(3).with(Arrays.asList(2, 7, 7)),
+            Matchers.contains(1, 2, 9, 7)
+        );
+        MatcherAssert.assertThat(set.with(1), Matchers.sameInstance(set));
+        MatcherAssert.assertThat(set.without(5), Matchers.sameInstance(set));
+    }
+
+    @Test
+    void equalsToSetWithSameItems() {
+        MatcherAssert.assertThat(
+            new ArrayOrderedSet<>(1, 2, 3),
+            Matchers.allOf(
+                Matchers.equalTo(new HashSet<>(Arrays.asList(3, 2, 1))),
+                Matchers.equalTo(new ArrayOrderedSet<>(2, 3, 1))
+            )
+        );
+        MatcherAssert.assertThat(
+            new ArrayOrderedSet<>(1, 2, 3).hashCode(),
+            Matchers.equalTo(new HashSet<>(Arrays.asList(1, 2, 3)).hashCode())
+        );
+    }
+
+    @Test
+    void convertsToArray() {
+        MatcherAssert.assertThat(
+            new ArrayOrderedSet<>("x", "y", "x").asArray(),
+            Matchers.equalTo(new Array<>("x", "y"))
+        );
+    }
+
+    @Test
+    void rejectsNullItems() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new ArrayOrderedSet<>("a", null)
+        );
+    }
+}
@@ -35,6 +35,7 @@ import java.util.LinkedList;
 import java.util.Set;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -88,4 +89,54 @@ final class ArraySetTest {
         );
     }
 
+    @Test
+    void buildsSmallSets() {
+        MatcherAssert.assertThat(
+            ArraySet.of("a", "a").with(ArraySet.of("b", "c")),
+            Matchers.allOf(
+                Matchers.<String>iterableWithSize(3),
+                Matchers.hasItems("a", "b", "c")
+            )
+        );
+    }
+
+    @Test
+    void rejectsNullItemsOfSmallSets() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> ArraySet.of((String) null)
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> ArraySet.of(null, "a")
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> ArraySet.of("a", null)
+        );
+    }
+
+    @Test
+    void sharesEmptySet() {
+        MatcherAssert.assertThat(
+            ArraySet.<Integer>of(),
+            Matchers.allOf(
+                Matchers.sameInstance(ArraySet.<String>of()),
+                Matchers.equalTo(new ArraySet<Integer>())
+            )
+        );
+    }
+
+    @Test
+    void consultsBloomFilter() {
+        final ArraySet<Integer> set = new ArraySet<>(
+            Arrays.asList(1, 2, 3)
+        ).bloomed(10);
+        MatcherAssert.assertThat(
+            new boolean[] {set.contains(2), set.contains(4)},
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+        MatcherAssert.assertThat(
+            set.bloom().fpp(),
+            Matchers.lessThan(0.1)
+        );
+    }
+
 }
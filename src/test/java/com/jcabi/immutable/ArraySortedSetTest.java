@@ -29,10 +29,19 @@
  */
 package com.jcabi.immutable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -137,4 +146,331 @@ final class ArraySortedSetTest {
         );
     }
 
+    @Test
+    void consultsBloomFilter() {
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            Arrays.asList(3, 1, 2)
+        ).bloomed(10);
+        MatcherAssert.assertThat(
+            new boolean[] {set.contains(2), set.contains(4)},
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+        MatcherAssert.assertThat(set, Matchers.contains(1, 2, 3));
+    }
+
+    @Test
+    void findsItemsWithComparator() {
+        final ArraySortedSet<String> set = new ArraySortedSet<String>(
+            Arrays.asList("beta", "Alpha", "gamma"),
+            (left, right) -> right.compareTo(left)
+        ).bloomed(10);
+        MatcherAssert.assertThat(
+            new boolean[] {
+                set.contains("Alpha"), set.contains("alpha"),
+                set.contains(null),
+                set.containsAll(Arrays.asList("gamma", "beta")),
+                set.containsAll(Arrays.asList("gamma", "delta")),
+            },
+            Matchers.equalTo(new boolean[] {true, false, false, true, false})
+        );
+    }
+
+    @Test
+    void findsItemsEqualByComparatorInBloomedSet() {
+        final List<String> items = new ArrayList<>(10);
+        for (int idx = 0; idx < 10; ++idx) {
+            items.add(String.format("key%d", idx));
+        }
+        final ArraySortedSet<String> set = new ArraySortedSet<>(
+            items, String::compareToIgnoreCase
+        );
+        MatcherAssert.assertThat(
+            new boolean[] {
+                set.contains("KEY5"), set.bloomed(10).contains("KEY5"),
+            },
+            Matchers.equalTo(new boolean[] {true, true})
+        );
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void doesNotContainItemsOfOtherTypes() {
+        final Set set = new ArraySortedSet<>(Arrays.asList(1, 2, 3));
+        MatcherAssert.assertThat(
+            new boolean[] {
+                set.contains("x"),
+                new ArraySortedSet<>(Arrays.asList(1, 2)).bloomed(10)
+                    .contains("x"),
+            },
+            Matchers.equalTo(new boolean[] {false, false})
+        );
+    }
+
+    @Test
+    void findsDifferenceBetweenSets() {
+        final ArraySortedSet<Integer> before = new ArraySortedSet<>(
+            Arrays.asList(1, 3, 5, 7)
+        );
+        final ArraySortedSet.Delta<Integer> delta = ArraySortedSet.diff(
+            before, before.without(3).with(4).with(8)
+        );
+        MatcherAssert.assertThat(
+            delta,
+            Matchers.hasToString("+[4, 8] -[3]")
+        );
+    }
+
+    @Test
+    void appliesDifferenceBetweenSets() {
+        final Collection<Integer> left = new LinkedList<>();
+        final Collection<Integer> right = new LinkedList<>();
+        for (int idx = 0; idx < 1000; ++idx) {
+            left.add(idx * 2);
+            right.add(idx * 3);
+        }
+        final ArraySortedSet<Integer> before = new ArraySortedSet<>(
+            left, ArraySortedSetTest.CMP
+        );
+        final ArraySortedSet<Integer> after = new ArraySortedSet<>(
+            right, ArraySortedSetTest.CMP
+        );
+        MatcherAssert.assertThat(
+            before.apply(ArraySortedSet.diff(before, after)),
+            Matchers.equalTo(after)
+        );
+    }
+
+    @Test
+    void findsItemsByPosition() {
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            Arrays.asList(40, 10, 30, 20), ArraySortedSetTest.CMP
+        );
+        MatcherAssert.assertThat(
+            new int[] {
+                set.get(0), set.get(3), set.indexOf(30), set.indexOf(35),
+            },
+            Matchers.equalTo(new int[] {10, 40, 2, -1})
+        );
+    }
+
+    @Test
+    void ranksItems() {
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            Arrays.asList(40, 10, 30, 20), ArraySortedSetTest.CMP
+        );
+        MatcherAssert.assertThat(
+            new int[] {
+                set.rank(5), set.rank(10), set.rank(25), set.rank(99),
+                set.countBetween(10, 40), set.countBetween(15, 16),
+                set.countBetween(40, 10),
+            },
+            Matchers.equalTo(new int[] {0, 0, 2, 4, 3, 0, 0})
+        );
+    }
+
+    @Test
+    void findsQuantiles() {
+        final Collection<Integer> samples = new LinkedList<>();
+        for (int idx = 1; idx <= 1000; ++idx) {
+            samples.add(idx);
+        }
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            samples, ArraySortedSetTest.CMP
+        );
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                set.quantile(0.0d), set.quantile(0.5d),
+                set.quantile(0.99d), set.quantile(1.0d)
+            ),
+            Matchers.contains(1, 500, 990, 1000)
+        );
+    }
+
+    @Test
+    void findsItemsInUnsortedSet() {
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            Arrays.asList(3, 1, 2), new ArrayComparator.Neutral<>()
+        );
+        MatcherAssert.assertThat(
+            new int[] {set.get(0), set.indexOf(2)},
+            Matchers.equalTo(new int[] {3, 2})
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> set.rank(2)
+        );
+    }
+
+    @Test
+    void rejectsPositionOutOfBounds() {
+        Assertions.assertThrows(
+            ArrayIndexOutOfBoundsException.class,
+            () -> new ArraySortedSet<>(1, 2).get(2)
+        );
+    }
+
+    @Test
+    void navigatesAsTreeSet() {
+        final Random random = new Random(1L);
+        final NavigableSet<Integer> expected = new TreeSet<>();
+        for (int idx = 0; idx < 200; ++idx) {
+            expected.add(random.nextInt(1000));
+        }
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            expected, ArraySortedSetTest.CMP
+        );
+        for (int item = -10; item < 1010; item += 7) {
+            MatcherAssert.assertThat(
+                Arrays.asList(
+                    set.lower(item), set.floor(item),
+                    set.ceiling(item), set.higher(item)
+                ),
+                Matchers.equalTo(
+                    Arrays.asList(
+                        expected.lower(item), expected.floor(item),
+                        expected.ceiling(item), expected.higher(item)
+                    )
+                )
+            );
+        }
+    }
+
+    @Test
+    void makesRangesAsTreeSet() {
+        final NavigableSet<Integer> expected = new TreeSet<>(
+            Arrays.asList(10, 20, 30, 40, 50)
+        );
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(
+            expected, ArraySortedSetTest.CMP
+        );
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                new ArrayList<>(set.subSet(20, true, 40, true)),
+                new ArrayList<>(set.subSet(20, false, 40, false)),
+                new ArrayList<>(set.subSet(15, 45)),
+                new ArrayList<>(set.headSet(30)),
+                new ArrayList<>(set.headSet(30, true)),
+                new ArrayList<>(set.tailSet(30, false)),
+                new ArrayList<>(set.tailSet(60))
+            ),
+            Matchers.equalTo(
+                Arrays.asList(
+                    new ArrayList<>(expected.subSet(20, true, 40, true)),
+                    new ArrayList<>(expected.subSet(20, false, 40, false)),
+                    new ArrayList<>(expected.subSet(15, 45)),
+                    new ArrayList<>(expected.headSet(30)),
+                    new ArrayList<>(expected.headSet(30, true)),
+                    new ArrayList<>(expected.tailSet(30, false)),
+                    new ArrayList<>(expected.tailSet(60))
+                )
+            )
+        );
+    }
+
+    @Test
+    void iteratesInDescendingOrder() {
+        final NavigableSet<Integer> expected = new TreeSet<>(
+            Arrays.asList(10, 20, 30, 40, 50)
+        );
+        final NavigableSet<Integer> set = new ArraySortedSet<>(
+            expected, ArraySortedSetTest.CMP
+        ).descendingSet();
+        MatcherAssert.assertThat(set, Matchers.contains(50, 40, 30, 20, 10));
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                set.first(), set.ceiling(35), set.higher(40),
+                set.lower(40), set.floor(5)
+            ),
+            Matchers.equalTo(
+                Arrays.asList(
+                    expected.descendingSet().first(),
+                    expected.descendingSet().ceiling(35),
+                    expected.descendingSet().higher(40),
+                    expected.descendingSet().lower(40),
+                    expected.descendingSet().floor(5)
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            new ArrayList<>(set.subSet(40, true, 20, false)),
+            Matchers.contains(40, 30)
+        );
+        MatcherAssert.assertThat(
+            set.descendingIterator().next(),
+            Matchers.equalTo(10)
+        );
+    }
+
+    @Test
+    void checksBoundsOfSubSetFirst() {
+        final ArraySortedSet<Integer> set = new ArraySortedSet<>(1, 2, 3);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> set.subSet(null, true, 2, true)
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> set.subSet(3, true, 1, true)
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new ArraySortedSet<>(
+                Arrays.asList(3, 1, 2), new ArrayComparator.Neutral<>()
+            ).subSet(1, true, 2, true)
+        );
+    }
+
+    @Test
+    void keepsFirstOfEqualItems() {
+        final ArrayComparator<String> cmp = String::compareToIgnoreCase;
+        final List<String> items = Arrays.asList("b", "A", "a", "c", "B");
+        final NavigableSet<String> expected = new TreeSet<>(cmp);
+        expected.addAll(items);
+        MatcherAssert.assertThat(
+            new ArraySortedSet<>(items, cmp),
+            Matchers.contains(expected.toArray())
+        );
+    }
+
+    @Test
+    void keepsOrderOfUnsortedItems() {
+        MatcherAssert.assertThat(
+            new ArraySortedSet<>(
+                Arrays.asList(3, 1, 3), new ArrayComparator.Neutral<>()
+            ),
+            Matchers.contains(3, 1, 3)
+        );
+    }
+
+    @Test
+    void keepsSameItemsAsTreeSet() {
+        final Random random = new Random(1L);
+        final List<Integer> items = new ArrayList<>(50_000);
+        for (int idx = 0; idx < 50_000; ++idx) {
+            items.add(random.nextInt(40_000));
+        }
+        MatcherAssert.assertThat(
+            new ArraySortedSet<>(items, ArraySortedSetTest.CMP).toArray(),
+            Matchers.equalTo(new TreeSet<>(items).toArray())
+        );
+    }
+
+    @Test
+    void buildsFromSortedItems() {
+        MatcherAssert.assertThat(
+            ArraySortedSet.fromSorted(Arrays.asList(1, 5, 9)),
+            Matchers.allOf(
+                Matchers.contains(1, 5, 9),
+                Matchers.equalTo(new ArraySortedSet<>(9, 5, 1))
+            )
+        );
+    }
+
+    @Test
+    void rejectsUnsortedItems() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> ArraySortedSet.fromSorted(Arrays.asList(1, 5, 5))
+        );
+    }
 }
@@ -29,9 +29,13 @@
  */
 package com.jcabi.immutable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -176,4 +180,190 @@ final class ArrayTest {
         );
     }
 
+    @Test
+    void sharesEmptyArray() {
+        MatcherAssert.assertThat(
+            Array.<Integer>of(),
+            Matchers.allOf(
+                Matchers.sameInstance(Array.<String>of()),
+                Matchers.sameInstance(Array.of(new Integer[0])),
+                Matchers.empty()
+            )
+        );
+    }
+
+    @Test
+    void buildsSmallArrays() {
+        MatcherAssert.assertThat(
+            Array.of(1, 2, 3, 4).with(Array.of(5)).with(Array.of(6, 7, 8)),
+            Matchers.contains(1, 2, 3, 4, 5, 6, 7, 8)
+        );
+    }
+
+    @Test
+    void copiesItemsInFactory() {
+        final Integer[] ints = {1, 2, 3, 4, 5};
+        final Array<Integer> array = Array.of(ints);
+        ints[0] = 0;
+        MatcherAssert.assertThat(array, Matchers.contains(1, 2, 3, 4, 5));
+    }
+
+    @Test
+    void buildsIndexAfterManyLookups() {
+        final Collection<Integer> list = new LinkedList<>();
+        for (int idx = 0; idx < 100; ++idx) {
+            list.add(idx % 50);
+        }
+        final Array<Integer> array = new Array<>(list);
+        for (int idx = 0; idx < 100; ++idx) {
+            MatcherAssert.assertThat(
+                new int[] {array.indexOf(idx), array.lastIndexOf(idx)},
+                Matchers.anyOf(
+                    Matchers.equalTo(new int[] {idx, idx + 50}),
+                    Matchers.equalTo(new int[] {-1, -1})
+                )
+            );
+        }
+        MatcherAssert.assertThat(array.indexBytes(), Matchers.greaterThan(0L));
+    }
+
+    @Test
+    void neverIndexesModifiedArrays() {
+        final Collection<Integer> list = new LinkedList<>();
+        for (int idx = 0; idx < 100; ++idx) {
+            list.add(idx);
+        }
+        final Array<Integer> array = new Array<>(list).with(100);
+        final Array<Integer> copy = new Array<>(array);
+        for (int idx = 0; idx < 100; ++idx) {
+            array.indexOf(idx);
+            copy.indexOf(idx);
+        }
+        MatcherAssert.assertThat(array.indexBytes(), Matchers.equalTo(0L));
+        MatcherAssert.assertThat(copy.indexBytes(), Matchers.greaterThan(0L));
+    }
+
+    @Test
+    void checksContainsAll() {
+        final Array<Integer> array = Array.of(1, 2, 3, 4);
+        MatcherAssert.assertThat(
+            new boolean[] {
+                array.containsAll(Arrays.asList(4, 1)),
+                array.containsAll(Arrays.asList(1, 5)),
+            },
+            Matchers.equalTo(new boolean[] {true, false})
+        );
+    }
+
+    @Test
+    void appliesPatch() {
+        MatcherAssert.assertThat(
+            Array.of("a", "b", "c", "d").apply(
+                new Array.Patch<String>()
+                    .delete(3)
+                    .insert(4, "z")
+                    .set(0, "x")
+                    .insert(1, "p")
+                    .insert(1, "q")
+                    .delete(2)
+            ),
+            Matchers.contains("x", "p", "q", "b", "z")
+        );
+    }
+
+    @Test
+    void appliesPatchAsChainOfEdits() {
+        final Random random = new Random(1L);
+        final List<Integer> list = new ArrayList<>(1000);
+        for (int idx = 0; idx < 1000; ++idx) {
+            list.add(idx);
+        }
+        final Array<Integer> array = new Array<>(list);
+        Array.Patch<Integer> patch = new Array.Patch<>();
+        final boolean[] edited = new boolean[list.size()];
+        final List<Integer> positions = new ArrayList<>(0);
+        for (int idx = 0; idx < 50; ++idx) {
+            final int pos = random.nextInt(list.size());
+            if (!edited[pos]) {
+                edited[pos] = true;
+                positions.add(pos);
+            }
+        }
+        Collections.sort(positions, Collections.reverseOrder());
+        for (final int pos : positions) {
+            if (pos % 2 == 0) {
+                patch = patch.set(pos, -pos);
+                list.set(pos, -pos);
+            } else {
+                patch = patch.delete(pos);
+                list.remove(pos);
+            }
+            patch = patch.insert(pos, pos * 10);
+            list.add(pos, pos * 10);
+        }
+        MatcherAssert.assertThat(
+            new ArrayList<>(array.apply(patch)),
+            Matchers.equalTo(list)
+        );
+    }
+
+    @Test
+    void appliesManyEditsOfPatch() {
+        final Integer[] items = new Integer[100_000];
+        Arrays.fill(items, 0);
+        final Array.Patch.Builder<Integer> patch = new Array.Patch.Builder<>();
+        for (int idx = 0; idx < 50; ++idx) {
+            patch.set(idx * 1000, idx).insert(idx * 1000 + 1, idx);
+        }
+        final Array<Integer> patched = new Array<>(items).apply(
+            patch.build()
+        );
+        MatcherAssert.assertThat(
+            patched,
+            Matchers.<Integer>iterableWithSize(100_050)
+        );
+        MatcherAssert.assertThat(
+            new Integer[] {patched.get(49_049), patched.get(49_050)},
+            Matchers.equalTo(new Integer[] {49, 49})
+        );
+    }
+
+    @Test
+    void extendsPatchByBuilder() {
+        final Array.Patch<String> patch = new Array.Patch<String>()
+            .set(0, "x");
+        final Array.Patch.Builder<String> builder =
+            new Array.Patch.Builder<>(patch).delete(1);
+        final Array.Patch<String> first = builder.build();
+        builder.insert(3, "z");
+        MatcherAssert.assertThat(
+            new Object[] {
+                patch.size(), first.size(),
+                Array.of("a", "b", "c").apply(builder.build()),
+            },
+            Matchers.equalTo(
+                new Object[] {1, 2, Array.of("x", "c", "z")}
+            )
+        );
+    }
+
+    @Test
+    void rejectsPositionEditedTwice() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> Array.of(1, 2, 3).apply(
+                new Array.Patch<Integer>().set(1, 5).delete(1)
+            )
+        );
+    }
+
+    @Test
+    void rejectsPatchOutOfBounds() {
+        Assertions.assertThrows(
+            ArrayIndexOutOfBoundsException.class,
+            () -> Array.of(1, 2, 3).apply(
+                new Array.Patch<Integer>().set(3, 5)
+            )
+        );
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link AtomicArrayMap}.
+ * @since 2.0
+ */
+final class AtomicArrayMapTest {
+
+    @Test
+    void putsAndRemovesEntries() {
+        final AtomicArrayMap<String, Integer> map = new AtomicArrayMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        map.put("one", 0);
+        map.remove("two");
+        MatcherAssert.assertThat(
+            map.get(),
+            Matchers.allOf(
+                Matchers.hasEntry("one", 0),
+                Matchers.not(Matchers.hasKey("two")),
+                Matchers.aMapWithSize(1)
+            )
+        );
+    }
+
+    @Test
+    void returnsSnapshotWithEdit() {
+        final AtomicArrayMap<String, String> map = new AtomicArrayMap<>(
+            ArrayMap.of("a", "b")
+        );
+        final ArrayMap<String, String> before = map.get();
+        MatcherAssert.assertThat(
+            map.put("c", "d"),
+            Matchers.allOf(
+                Matchers.hasEntry("a", "b"),
+                Matchers.hasEntry("c", "d"),
+                Matchers.not(Matchers.equalTo(before))
+            )
+        );
+    }
+
+    /**
+     * Every thread puts its own keys at the same time, no edit must be
+     * lost and no more snapshots must be made than edits.
+     * @throws Exception If fails
+     */
+    @Test
+    void keepsEditsOfConcurrentWriters() throws Exception {
+        final int threads = 16;
+        final int edits = 500;
+        final AtomicArrayMap<Integer, Integer> map = new AtomicArrayMap<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService service = Executors.newFixedThreadPool(threads);
+        final Collection<Future<Integer>> futures = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; ++thread) {
+            final int base = thread * edits;
+            final Callable<Integer> task = () -> {
+                start.await();
+                for (int idx = 0; idx < edits; ++idx) {
+                    map.put(base + idx, idx);
+                }
+                return edits;
+            };
+            futures.add(service.submit(task));
+        }
+        start.countDown();
+        int total = 0;
+        for (final Future<Integer> future : futures) {
+            total += future.get(1L, TimeUnit.MINUTES);
+        }
+        service.shutdown();
+        MatcherAssert.assertThat(
+            map.get(),
+            Matchers.aMapWithSize(threads * edits)
+        );
+        MatcherAssert.assertThat(
+            map.rebuilds(),
+            Matchers.lessThanOrEqualTo((long) total)
+        );
+    }
+
+    @Test
+    void returnsFailureToWriter() {
+        final AtomicArrayMap<Object, Integer> map = new AtomicArrayMap<>();
+        map.put("first", 1);
+        Assertions.assertThrows(
+            ClassCastException.class,
+            () -> map.put(2, 2)
+        );
+        map.put("third", 3);
+        MatcherAssert.assertThat(
+            map.get(),
+            Matchers.allOf(
+                Matchers.<Object, Integer>hasEntry("third", 3),
+                Matchers.<Object, Integer>aMapWithSize(2)
+            )
+        );
+    }
+
+    @Test
+    void publishesChanges() throws Exception {
+        final AtomicArrayMap<String, Integer> map = new AtomicArrayMap<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        map.changes().subscribe(
+            new Flow.Subscriber<Object>() {
+                @Override
+                public void onSubscribe(final Flow.Subscription sub) {
+                    sub.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(final Object ver) {
+                    if (SnapshotPublisher.Version.class.cast(ver).size() == 2) {
+                        latch.countDown();
+                    }
+                }
+
+                @Override
+                public void onError(final Throwable error) {
+                    throw new IllegalStateException(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    throw new IllegalStateException("completed");
+                }
+            }
+        );
+        map.put("first", 1);
+        map.put("second", 2);
+        MatcherAssert.assertThat(
+            latch.await(1L, TimeUnit.MINUTES),
+            Matchers.is(true)
+        );
+    }
+
+}
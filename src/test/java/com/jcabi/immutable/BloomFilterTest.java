@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BloomFilter}.
+ * @since 2.0
+ */
+final class BloomFilterTest {
+
+    @Test
+    void neverMissesPresentItems() {
+        final Object[] items = new Object[10_000];
+        for (int idx = 0; idx < items.length; ++idx) {
+            items[idx] = String.format("item-%d", idx);
+        }
+        final BloomFilter filter = new BloomFilter(items, 4);
+        for (final Object item : items) {
+            MatcherAssert.assertThat(
+                filter.mightContain(item),
+                Matchers.is(true)
+            );
+        }
+    }
+
+    @Test
+    void rejectsMostOfAbsentItems() {
+        final Object[] items = new Object[10_000];
+        for (int idx = 0; idx < items.length; ++idx) {
+            items[idx] = idx * 2;
+        }
+        final BloomFilter filter = new BloomFilter(items, 10);
+        int positives = 0;
+        for (int idx = 0; idx < items.length; ++idx) {
+            if (filter.mightContain(idx * 2 + 1)) {
+                ++positives;
+            }
+        }
+        MatcherAssert.assertThat(
+            (double) positives / items.length,
+            Matchers.allOf(
+                Matchers.lessThan(0.03),
+                Matchers.closeTo(filter.fpp(), 0.02)
+            )
+        );
+    }
+
+    @Test
+    void reportsMemory() {
+        MatcherAssert.assertThat(
+            new BloomFilter(new Object[8192], 8).bytes(),
+            Matchers.greaterThanOrEqualTo(8192L)
+        );
+    }
+
+    @Test
+    void rejectsZeroBits() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new BloomFilter(new Object[1], 0)
+        );
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ChunkedArray}.
+ * @since 2.0
+ */
+final class ChunkedArrayTest {
+
+    @Test
+    void behavesAsArray() {
+        final ChunkedArray<String> array = new ChunkedArray<String>("a", "b")
+            .with("c")
+            .with(0, "x");
+        MatcherAssert.assertThat(array, Matchers.contains("x", "b", "c"));
+        MatcherAssert.assertThat(array, Matchers.hasToString("x, b, c"));
+        MatcherAssert.assertThat(array.indexOf("c"), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            array.hashCode(),
+            Matchers.equalTo(new Array<>("x", "b", "c").hashCode())
+        );
+        MatcherAssert.assertThat(
+            array, Matchers.equalTo(new ChunkedArray<>("x", "b", "c"))
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> array.get(3)
+        );
+        Assertions.assertThrows(
+            ArrayIndexOutOfBoundsException.class,
+            () -> array.with(4, "y")
+        );
+    }
+
+    @Test
+    void matchesListAcrossChunks() {
+        final List<Integer> expected = IntStream.range(0, 10_000)
+            .boxed()
+            .collect(Collectors.toList());
+        ChunkedArray<Integer> array = new ChunkedArray<>();
+        for (final Integer item : expected) {
+            array = array.with(item);
+        }
+        MatcherAssert.assertThat(
+            array, Matchers.equalTo(new ChunkedArray<>(expected))
+        );
+        MatcherAssert.assertThat(
+            Arrays.asList(array.toArray()),
+            Matchers.equalTo(expected)
+        );
+        MatcherAssert.assertThat(
+            new ArrayList<>(array.subList(4090, 4100)),
+            Matchers.equalTo(expected.subList(4090, 4100))
+        );
+        MatcherAssert.assertThat(array.get(8191), Matchers.equalTo(8191));
+        MatcherAssert.assertThat(
+            array.lastIndexOf(9999), Matchers.equalTo(9999)
+        );
+    }
+
+    @Test
+    void keepsOriginalAfterChange() {
+        final ChunkedArray<Integer> array = new ChunkedArray<>(
+            IntStream.range(0, 100_000).boxed().collect(Collectors.toList())
+        );
+        final ChunkedArray<Integer> changed = array.with(50_000, -1);
+        MatcherAssert.assertThat(
+            new Integer[] {
+                changed.get(50_000), array.get(50_000),
+                changed.get(49_999), changed.get(99_999),
+            },
+            Matchers.equalTo(new Integer[] {-1, 50_000, 49_999, 99_999})
+        );
+    }
+
+    @Test
+    void hashesNullItemsAsList() {
+        final List<String> list = Arrays.asList("a", null, "b");
+        MatcherAssert.assertThat(
+            new ChunkedArray<>(list).hashCode(),
+            Matchers.equalTo(list.hashCode())
+        );
+    }
+}
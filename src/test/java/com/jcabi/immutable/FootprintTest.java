@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Test case for {@link Footprint}.
+ *
+ * <p>Sizes are measured by JOL, which reads the real layout of objects
+ * in this JVM. Per-item overhead is the growth of a collection, when
+ * the number of items doubles, minus the growth of a plain array of
+ * the same items, so it doesn't depend on the size of references.
+ *
+ * @since 2.0
+ */
+final class FootprintTest {
+
+    /**
+     * Number of items in a small collection.
+     */
+    private static final int SMALL = 1000;
+
+    @Test
+    void matchesLayoutOfArrayMap() {
+        final ArrayMap<String, String> map = FootprintTest.map(100);
+        MatcherAssert.assertThat(
+            (double) new Footprint(map).retained(),
+            Matchers.closeTo(
+                GraphLayout.parseInstance(map).totalSize()
+                    - GraphLayout.parseInstance(map.keySet().toArray())
+                    .totalSize(),
+                GraphLayout.parseInstance(map).totalSize() * 0.05
+            )
+        );
+    }
+
+    @Test
+    void matchesLayoutOfSortedSet() {
+        final ArraySortedSet<String> set = new ArraySortedSet<>(
+            FootprintTest.items(100)
+        );
+        MatcherAssert.assertThat(
+            (double) new Footprint(set).retained(),
+            Matchers.closeTo(
+                GraphLayout.parseInstance(set).totalSize()
+                    - GraphLayout.parseInstance(set.toArray()).totalSize(),
+                GraphLayout.parseInstance(set).totalSize() * 0.05
+            )
+        );
+    }
+
+    @Test
+    void reportsShallowSize() {
+        final Footprint footprint = new Footprint(Array.of("a", "b"));
+        MatcherAssert.assertThat(
+            footprint.retained(),
+            Matchers.greaterThan(footprint.shallow())
+        );
+    }
+
+    @Test
+    void skipsItemsThatAreArrays() {
+        MatcherAssert.assertThat(
+            new Footprint(
+                new Array<>(Collections.singletonList(new String[1000]))
+            ).retained(),
+            Matchers.equalTo(
+                new Footprint(
+                    new Array<>(Collections.singletonList(new String[1]))
+                ).retained()
+            )
+        );
+    }
+
+    @Test
+    void rejectsForeignObjects() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new Footprint(new ArrayList<>(0))
+        );
+    }
+
+    @Test
+    void keepsOneReferencePerItemInArray() {
+        MatcherAssert.assertThat(
+            FootprintTest.overhead(
+                size -> new Array<>(FootprintTest.items(size)), 1
+            ),
+            Matchers.lessThanOrEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void keepsOneReferencePerItemInSet() {
+        MatcherAssert.assertThat(
+            FootprintTest.overhead(
+                size -> new ArraySet<>(FootprintTest.items(size)), 1
+            ),
+            Matchers.lessThanOrEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void keepsOneReferencePerItemInSortedSet() {
+        MatcherAssert.assertThat(
+            FootprintTest.overhead(
+                size -> new ArraySortedSet<>(FootprintTest.items(size)), 1
+            ),
+            Matchers.lessThanOrEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void keepsTwoReferencesPerEntryInMap() {
+        MatcherAssert.assertThat(
+            FootprintTest.overhead(FootprintTest::map, 2),
+            Matchers.lessThanOrEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void keepsTwoReferencesPerEntryInShardedMap() {
+        MatcherAssert.assertThat(
+            FootprintTest.overhead(
+                size -> new ShardedMap<>(FootprintTest.map(size)), 2
+            ),
+            Matchers.lessThanOrEqualTo(1.0)
+        );
+    }
+
+    @Test
+    void keepsFewBitsPerEntryInPerfectMap() {
+        MatcherAssert.assertThat(
+            FootprintTest.overhead(
+                size -> FootprintTest.map(size).perfect(), 2
+            ),
+            Matchers.lessThanOrEqualTo(1.0)
+        );
+    }
+
+    /**
+     * Bytes per item, above references to items.
+     * @param build Makes a collection of that many items
+     * @param refs References to each item in a plain array
+     * @return Bytes per item
+     */
+    private static double overhead(final IntFunction<Object> build,
+        final int refs) {
+        final int large = FootprintTest.SMALL * 2;
+        final long grown = FootprintTest.bytes(build.apply(large))
+            - FootprintTest.bytes(build.apply(FootprintTest.SMALL));
+        final long plain = FootprintTest.bytes(
+            FootprintTest.plain(large, refs)
+        ) - FootprintTest.bytes(FootprintTest.plain(FootprintTest.SMALL, refs));
+        return (double) (grown - plain) / (large - FootprintTest.SMALL);
+    }
+
+    /**
+     * Bytes taken by the object and everything it refers to.
+     * @param obj The object
+     * @return Bytes
+     */
+    private static long bytes(final Object obj) {
+        return GraphLayout.parseInstance(obj).totalSize();
+    }
+
+    /**
+     * Plain array with a number of references to each item.
+     * @param size Number of items
+     * @param refs References to each of them
+     * @return Array
+     */
+    private static Object[] plain(final int size, final int refs) {
+        final Object[] array = new Object[size * refs];
+        int pos = 0;
+        for (final String item : FootprintTest.items(size)) {
+            for (int ref = 0; ref < refs; ++ref) {
+                array[pos] = item;
+                ++pos;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Map of items to themselves.
+     * @param size Number of items
+     * @return Map
+     */
+    private static ArrayMap<String, String> map(final int size) {
+        final Map<String, String> map = new HashMap<>(0);
+        for (final String item : FootprintTest.items(size)) {
+            map.put(item, item);
+        }
+        return new ArrayMap<>(map);
+    }
+
+    /**
+     * Distinct items.
+     * @param size Number of items
+     * @return Items
+     */
+    private static Collection<String> items(final int size) {
+        final Collection<String> items = new ArrayList<>(size);
+        for (int idx = 0; idx < size; ++idx) {
+            items.add(String.format("item-%05d", idx));
+        }
+        return items;
+    }
+}
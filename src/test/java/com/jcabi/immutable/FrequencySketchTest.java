@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link FrequencySketch}.
+ * @since 2.0
+ */
+final class FrequencySketchTest {
+
+    @Test
+    void countsFrequencies() {
+        final FrequencySketch sketch = new FrequencySketch(100);
+        for (int idx = 0; idx < 7; ++idx) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+        MatcherAssert.assertThat(
+            sketch.frequency("hot"),
+            Matchers.greaterThan(sketch.frequency("cold"))
+        );
+        MatcherAssert.assertThat(sketch.frequency("hot"), Matchers.equalTo(7));
+    }
+
+    @Test
+    void sumsIncrementsOfAllThreads() throws InterruptedException {
+        final FrequencySketch sketch = new FrequencySketch(100);
+        for (int idx = 0; idx < 4; ++idx) {
+            final Thread thread = new Thread(
+                () -> {
+                    for (int step = 0; step < 3; ++step) {
+                        sketch.increment("shared");
+                    }
+                }
+            );
+            thread.start();
+            thread.join();
+        }
+        MatcherAssert.assertThat(
+            sketch.frequency("shared"), Matchers.equalTo(12)
+        );
+    }
+
+    @Test
+    void saturatesCounters() {
+        final FrequencySketch sketch = new FrequencySketch(100);
+        for (int idx = 0; idx < 100; ++idx) {
+            sketch.increment(1);
+        }
+        MatcherAssert.assertThat(sketch.frequency(1), Matchers.equalTo(15));
+    }
+
+    @Test
+    void halvesCountersWhenAging() {
+        final FrequencySketch sketch = new FrequencySketch(1);
+        for (int idx = 0; idx < 10; ++idx) {
+            sketch.increment("key");
+        }
+        MatcherAssert.assertThat(sketch.age(), Matchers.is(true));
+        MatcherAssert.assertThat(sketch.frequency("key"), Matchers.equalTo(5));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Test case for {@link FrontCodedSet}.
+ * @since 2.0
+ */
+final class FrontCodedSetTest {
+
+    @Test
+    void keepsStringsSorted() {
+        final FrontCodedSet set = new FrontCodedSet(
+            "beta", "alpha", "\u00e9t\u00e9", "beta", "", "alphabet"
+        );
+        MatcherAssert.assertThat(
+            set,
+            Matchers.contains(
+                "", "alpha", "alphabet", "beta", "\u00e9t\u00e9"
+            )
+        );
+        MatcherAssert.assertThat(set.first(), Matchers.equalTo(""));
+        MatcherAssert.assertThat(
+            set.last(),
+            Matchers.equalTo("\u00e9t\u00e9")
+        );
+        MatcherAssert.assertThat(
+            set,
+            Matchers.hasToString(", alpha, alphabet, beta, \u00e9t\u00e9")
+        );
+    }
+
+    @Test
+    void findsStrings() {
+        final SortedSet<String> expected = FrontCodedSetTest.urls(5_000, 1L);
+        final FrontCodedSet set = new FrontCodedSet(expected);
+        MatcherAssert.assertThat(set, Matchers.equalTo(expected));
+        MatcherAssert.assertThat(
+            set.hashCode(),
+            Matchers.equalTo(expected.hashCode())
+        );
+        for (final String url : expected) {
+            MatcherAssert.assertThat(set.contains(url), Matchers.is(true));
+            MatcherAssert.assertThat(
+                set.contains(String.format("%s/", url)),
+                Matchers.is(expected.contains(String.format("%s/", url)))
+            );
+        }
+        MatcherAssert.assertThat(set.contains("a"), Matchers.is(false));
+        MatcherAssert.assertThat(set.contains(1), Matchers.is(false));
+    }
+
+    @Test
+    void findsPrefixRange() {
+        final SortedSet<String> expected = FrontCodedSetTest.urls(5_000, 2L);
+        final FrontCodedSet set = new FrontCodedSet(expected);
+        for (final String prefix : new String[] {
+            "https://", "https://host7.example.com/", "https://host3",
+            "https://host9.example.com/page/1", "ftp://", "", "z",
+        }) {
+            final Collection<String> matching = new ArrayList<>(0);
+            for (final String url : expected) {
+                if (url.startsWith(prefix)) {
+                    matching.add(url);
+                }
+            }
+            MatcherAssert.assertThat(
+                new ArrayList<>(set.prefixRange(prefix)),
+                Matchers.equalTo(matching)
+            );
+        }
+    }
+
+    @Test
+    void makesHeadAndTailSets() {
+        final SortedSet<String> expected = FrontCodedSetTest.urls(1_000, 3L);
+        final FrontCodedSet set = new FrontCodedSet(expected);
+        final String from = "https://host2";
+        final String till = "https://host6.example.com/page/5";
+        MatcherAssert.assertThat(
+            set.headSet(till),
+            Matchers.equalTo(expected.headSet(till))
+        );
+        MatcherAssert.assertThat(
+            set.tailSet(from),
+            Matchers.equalTo(expected.tailSet(from))
+        );
+        MatcherAssert.assertThat(
+            set.subSet(from, till),
+            Matchers.equalTo(expected.subSet(from, till))
+        );
+        MatcherAssert.assertThat(
+            set.subSet(from, till).tailSet("https://host4"),
+            Matchers.equalTo(expected.subSet("https://host4", till))
+        );
+        MatcherAssert.assertThat(
+            set.subSet(from, till).last(),
+            Matchers.equalTo(expected.subSet(from, till).last())
+        );
+    }
+
+    @Test
+    void convertsArraySortedSet() {
+        final ArraySortedSet<String> origin = new ArraySortedSet<>(
+            "b", "c", "a"
+        );
+        MatcherAssert.assertThat(
+            new FrontCodedSet(origin),
+            Matchers.allOf(
+                Matchers.equalTo(origin),
+                Matchers.hasToString("a, b, c")
+            )
+        );
+    }
+
+    @Test
+    void compressesUrls() {
+        final SortedSet<String> urls = FrontCodedSetTest.urls(20_000, 4L);
+        final FrontCodedSet set = new FrontCodedSet(urls);
+        MatcherAssert.assertThat(
+            GraphLayout.parseInstance(new ArraySortedSet<>(urls)).totalSize()
+                / (double) GraphLayout.parseInstance(set).totalSize(),
+            Matchers.greaterThan(3.0)
+        );
+    }
+
+    @Test
+    void keepsSurrogatePairs() {
+        final FrontCodedSet set = new FrontCodedSet(
+            "a\uD83D\uDE00", "a\uD83D\uDE01", "b"
+        );
+        MatcherAssert.assertThat(
+            set,
+            Matchers.contains("a\uD83D\uDE00", "a\uD83D\uDE01", "b")
+        );
+        MatcherAssert.assertThat(
+            set.contains("a\uD83D\uDE01"), Matchers.is(true)
+        );
+    }
+
+    @Test
+    void rejectsUnpairedSurrogates() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new FrontCodedSet("a\uD800", "b")
+        );
+    }
+
+    @Test
+    void rejectsFirstOfEmptySet() {
+        Assertions.assertThrows(
+            NoSuchElementException.class,
+            () -> new FrontCodedSet().prefixRange("x").first()
+        );
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void rejectsModifications() {
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> new FrontCodedSet("a").add("b")
+        );
+    }
+
+    /**
+     * Random URL-like strings.
+     * @param total How many of them
+     * @param seed Seed of randomness
+     * @return Sorted set of them
+     */
+    private static SortedSet<String> urls(final int total, final long seed) {
+        final Random random = new Random(seed);
+        final List<String> all = new ArrayList<>(total);
+        for (int idx = 0; idx < total; ++idx) {
+            all.add(
+                String.format(
+                    "https://host%d.example.com/page/%d?id=%d",
+                    random.nextInt(10), random.nextInt(50),
+                    random.nextInt(1000)
+                )
+            );
+        }
+        return new TreeSet<>(all);
+    }
+}
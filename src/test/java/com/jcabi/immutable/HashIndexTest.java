@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link HashIndex}.
+ * @since 2.0
+ */
+final class HashIndexTest {
+
+    @Test
+    void findsFirstAndLastPositions() {
+        final HashIndex index = new HashIndex(
+            new Object[] {"a", "b", null, "a", "c", null, "a"}
+        );
+        MatcherAssert.assertThat(
+            new int[] {
+                index.first("a"), index.last("a"),
+                index.first(null), index.last(null),
+                index.first("c"), index.last("c"),
+                index.first("x"), index.last("x"),
+            },
+            Matchers.equalTo(new int[] {0, 6, 2, 5, 4, 4, -1, -1})
+        );
+    }
+
+    @Test
+    void indexesEmptyArray() {
+        MatcherAssert.assertThat(
+            new HashIndex(new Object[0]).first(1),
+            Matchers.equalTo(-1)
+        );
+    }
+
+    @Test
+    void keepsOneTableForUniqueItems() {
+        final Object[] items = new Object[1000];
+        for (int idx = 0; idx < items.length; ++idx) {
+            items[idx] = idx;
+        }
+        final HashIndex index = new HashIndex(items);
+        MatcherAssert.assertThat(
+            new int[] {index.first(999), index.last(999), index.first(-1)},
+            Matchers.equalTo(new int[] {999, 999, -1})
+        );
+        final long bytes = index.bytes();
+        MatcherAssert.assertThat(
+            bytes, Matchers.lessThan((long) Integer.BYTES * items.length * 2)
+        );
+        items[500] = 7;
+        MatcherAssert.assertThat(
+            new HashIndex(items).bytes(), Matchers.greaterThan(bytes)
+        );
+    }
+
+    @Test
+    void keepsFirstPositionsOnly() {
+        final Object[] items = {"a", "b", "a", "c", "b"};
+        final HashIndex index = new HashIndex(items, false);
+        MatcherAssert.assertThat(
+            new int[] {index.first("a"), index.first("b"), index.first("x")},
+            Matchers.equalTo(new int[] {0, 1, -1})
+        );
+        MatcherAssert.assertThat(
+            index.bytes(),
+            Matchers.lessThan(new HashIndex(items).bytes())
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> index.last("a")
+        );
+    }
+
+    @Test
+    void reportsMemory() {
+        MatcherAssert.assertThat(
+            new HashIndex(new Object[1000]).bytes(),
+            Matchers.greaterThan(
+                new HashIndex(new Object[10]).bytes()
+            )
+        );
+    }
+
+}
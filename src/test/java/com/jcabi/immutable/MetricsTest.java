@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.management.ObjectName;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Metrics}.
+ *
+ * <p>Surefire runs this test alone, in its own JVM, with the counters
+ * enabled by the system property; other tests run without them.
+ *
+ * @since 2.0
+ */
+final class MetricsTest {
+
+    /**
+     * Half of the smallest G1 region, where humongous objects start.
+     */
+    private static final long HUMONGOUS = 512L * 1024L;
+
+    @Test
+    void countsCopiesOfArray() {
+        final Metrics metrics = Metrics.of(Array.class);
+        final long copies = metrics.getCopies();
+        final long elements = metrics.getElements();
+        final long bytes = metrics.getBytes();
+        new Array<>(1, 2).with(3).withoutIndex(0);
+        MatcherAssert.assertThat(
+            metrics.getCopies() - copies,
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            metrics.getElements() - elements,
+            Matchers.equalTo(5L)
+        );
+        MatcherAssert.assertThat(
+            metrics.getBytes() - bytes,
+            Matchers.greaterThan(Footprint.array(3) + Footprint.array(2))
+        );
+    }
+
+    @Test
+    void countsCopiesOfMap() {
+        final Metrics metrics = Metrics.of(ArrayMap.class);
+        final long elements = metrics.getElements();
+        final long bytes = metrics.getBytes();
+        new ArrayMap<String, Integer>().with("a", 1).with("b", 2)
+            .without("a");
+        MatcherAssert.assertThat(
+            metrics.getElements() - elements,
+            Matchers.equalTo(4L)
+        );
+        MatcherAssert.assertThat(
+            metrics.getBytes() - bytes,
+            Matchers.greaterThan(Footprint.array(2) * 2)
+        );
+    }
+
+    @Test
+    void countsCopiesOfSets() {
+        final Metrics sorted = Metrics.of(ArraySortedSet.class);
+        final Metrics set = Metrics.of(ArraySet.class);
+        final long before = sorted.getCopies() + set.getCopies();
+        new ArraySortedSet<>(1, 2).with(3).without(1);
+        ArraySet.of(1, 2).with(3);
+        MatcherAssert.assertThat(
+            sorted.getCopies() + set.getCopies() - before,
+            Matchers.equalTo(3L)
+        );
+    }
+
+    @Test
+    void copiesArrayOnceForPatch() {
+        final Integer[] items = new Integer[100_000];
+        Arrays.fill(items, 0);
+        final Array<Integer> array = new Array<>(items);
+        final Array.Patch.Builder<Integer> patch = new Array.Patch.Builder<>();
+        for (int idx = 0; idx < 50; ++idx) {
+            patch.set(idx * 1000, idx).insert(idx * 1000 + 1, idx);
+        }
+        final Metrics metrics = Metrics.of(Array.class);
+        final long copies = metrics.getCopies();
+        final long elements = metrics.getElements();
+        array.apply(patch.build());
+        MatcherAssert.assertThat(
+            new long[] {
+                metrics.getCopies() - copies,
+                metrics.getElements() - elements,
+            },
+            Matchers.equalTo(new long[] {1L, 100_050L})
+        );
+    }
+
+    @Test
+    void countsExactSizeOfSortedSetDelta() {
+        final ArraySortedSet<Integer> before = new ArraySortedSet<>(1, 2, 3, 4);
+        final ArraySortedSet.Delta<Integer> delta = ArraySortedSet.diff(
+            before, new ArraySortedSet<>(2, 3, 5, 6, 7)
+        );
+        final Metrics metrics = Metrics.of(ArraySortedSet.class);
+        final long copies = metrics.getCopies();
+        final long elements = metrics.getElements();
+        before.apply(delta);
+        MatcherAssert.assertThat(
+            new long[] {
+                metrics.getCopies() - copies,
+                metrics.getElements() - elements,
+            },
+            Matchers.equalTo(new long[] {1L, 5L})
+        );
+    }
+
+    @Test
+    void copiesOnlyOneChunkOfChunkedArray() {
+        final ChunkedArray<Integer> array = new ChunkedArray<>(
+            IntStream.range(0, 100_000).boxed().collect(Collectors.toList())
+        );
+        final Metrics metrics = Metrics.of(ChunkedArray.class);
+        final long elements = metrics.getElements();
+        array.with(50_000, -1);
+        MatcherAssert.assertThat(
+            metrics.getElements() - elements,
+            Matchers.lessThan(5000L)
+        );
+    }
+
+    @Test
+    void copiesChunksBelowHumongousSize() {
+        final ChunkedArray<Integer> array = new ChunkedArray<>(
+            IntStream.range(0, 1_000_000).boxed().collect(Collectors.toList())
+        );
+        final Metrics metrics = Metrics.of(ChunkedArray.class);
+        final long bytes = metrics.getBytes();
+        array.with(0, -1);
+        MatcherAssert.assertThat(
+            metrics.getBytes() - bytes,
+            Matchers.lessThan(MetricsTest.HUMONGOUS)
+        );
+        MatcherAssert.assertThat(
+            Footprint.array(array.size()),
+            Matchers.greaterThan(MetricsTest.HUMONGOUS)
+        );
+    }
+
+    @Test
+    void countsEveryArrayOfChunkedArray() {
+        final Metrics metrics = Metrics.of(ChunkedArray.class);
+        final long elements = metrics.getElements();
+        final long bytes = metrics.getBytes();
+        new ChunkedArray<Integer>().with(1);
+        MatcherAssert.assertThat(
+            metrics.getElements() - elements,
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            metrics.getBytes() - bytes,
+            Matchers.equalTo(
+                Footprint.instance(ChunkedArray.class)
+                    + Footprint.array(1) * 2
+            )
+        );
+    }
+
+    @Test
+    void reportsCopiesToListeners() {
+        final Metrics metrics = Metrics.of(ArraySortedSet.class);
+        final long bytes = metrics.getBytes();
+        final long heard = MetricsTest.Listener.bytes(ArraySortedSet.class);
+        new ArraySortedSet<>(1, 2).with(3);
+        MatcherAssert.assertThat(
+            MetricsTest.Listener.bytes(ArraySortedSet.class) - heard,
+            Matchers.allOf(
+                Matchers.greaterThan(0L),
+                Matchers.equalTo(metrics.getBytes() - bytes)
+            )
+        );
+    }
+
+    @Test
+    void exposesCountersToJmx() throws Exception {
+        Metrics.expose();
+        Metrics.expose();
+        ArraySet.of(1).with(2);
+        MatcherAssert.assertThat(
+            (Long) ManagementFactory.getPlatformMBeanServer().getAttribute(
+                new ObjectName(
+                    "com.jcabi.immutable:type=Metrics,name=ArraySet"
+                ),
+                "Copies"
+            ),
+            Matchers.greaterThan(0L)
+        );
+    }
+
+    @Test
+    void listsAllCounters() {
+        MatcherAssert.assertThat(Metrics.enabled(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            Metrics.all(),
+            Matchers.<Metrics>iterableWithSize(5)
+        );
+    }
+
+    @Test
+    void rejectsUnknownClass() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> Metrics.of(String.class)
+        );
+    }
+
+    /**
+     * Listener, registered in {@code META-INF/services} of tests.
+     * @since 2.0
+     */
+    public static final class Listener implements MetricsListener {
+        /**
+         * Bytes heard, by class.
+         */
+        private static final Map<Class<?>, LongAdder> BYTES =
+            new ConcurrentHashMap<>(0);
+
+        @Override
+        public void copied(final Class<?> type, final int elements,
+            final long bytes) {
+            MetricsTest.Listener.BYTES
+                .computeIfAbsent(type, cls -> new LongAdder())
+                .add(bytes);
+        }
+
+        /**
+         * Bytes heard for the class.
+         * @param type The class
+         * @return Bytes
+         */
+        static long bytes(final Class<?> type) {
+            return MetricsTest.Listener.BYTES
+                .computeIfAbsent(type, cls -> new LongAdder())
+                .sum();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link PerfectMap}.
+ * @since 2.0
+ */
+final class PerfectMapTest {
+
+    @Test
+    void findsAllKeys() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            origin.put(String.format("key-%d", idx), idx);
+        }
+        final Map<String, Integer> map = new PerfectMap<>(origin);
+        for (final Map.Entry<String, Integer> entry : origin.entrySet()) {
+            MatcherAssert.assertThat(
+                map.get(entry.getKey()),
+                Matchers.equalTo(entry.getValue())
+            );
+        }
+        MatcherAssert.assertThat(map, Matchers.equalTo(origin));
+    }
+
+    @Test
+    void rejectsAbsentKeys() {
+        final Map<Integer, String> map = new ArrayMap<Integer, String>()
+            .with(1, "one")
+            .with(2, "two")
+            .perfect();
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.not(Matchers.hasKey(3)),
+                Matchers.hasEntry(2, "two")
+            )
+        );
+    }
+
+    @Test
+    void separatesKeysWithEqualHashCodes() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        origin.put("Aa", 1);
+        origin.put("BB", 2);
+        origin.put("C", 3);
+        MatcherAssert.assertThat(
+            new PerfectMap<>(origin),
+            Matchers.allOf(
+                Matchers.hasEntry("Aa", 1),
+                Matchers.hasEntry("BB", 2),
+                Matchers.hasEntry("C", 3),
+                Matchers.not(Matchers.hasKey("D"))
+            )
+        );
+    }
+
+    @Test
+    void keepsKeysWithEqualHashCodesAside() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        final String[] pairs = {"Aa", "BB"};
+        for (int idx = 0; idx < 1 << 10; ++idx) {
+            final StringBuilder key = new StringBuilder(0);
+            for (int bit = 0; bit < 10; ++bit) {
+                key.append(pairs[idx >> bit & 1]);
+            }
+            origin.put(key.toString(), idx);
+        }
+        final PerfectMap<String, Integer> map = new PerfectMap<>(origin);
+        MatcherAssert.assertThat(map, Matchers.equalTo(origin));
+        MatcherAssert.assertThat(
+            map.get("AaAaAaAaAaAaAaAaAaAb"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(map.bitsPerKey(), Matchers.lessThan(1.0));
+    }
+
+    @Test
+    void rejectsNullKeys() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        origin.put("a", 1);
+        final PerfectMap<String, Integer> map = new PerfectMap<>(origin);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> map.get(null)
+        );
+        origin.put(null, 2);
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new PerfectMap<>(origin)
+        );
+    }
+
+    @Test
+    void takesFewBitsPerKey() {
+        final Map<Integer, Integer> origin = new HashMap<>(0);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            origin.put(idx, idx);
+        }
+        MatcherAssert.assertThat(
+            new PerfectMap<>(origin).bitsPerKey(),
+            Matchers.lessThan(4.0)
+        );
+    }
+
+    @Test
+    void buildsEmptyMap() {
+        MatcherAssert.assertThat(
+            new PerfectMap<>(new ArrayMap<String, String>()),
+            Matchers.allOf(
+                Matchers.anEmptyMap(),
+                Matchers.not(Matchers.hasKey("x"))
+            )
+        );
+    }
+
+}
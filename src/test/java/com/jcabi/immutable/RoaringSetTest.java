@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link RoaringSet}.
+ * @since 2.0
+ */
+final class RoaringSetTest {
+
+    @Test
+    void keepsIntegersSorted() {
+        final RoaringSet set = new RoaringSet(7, -3, 1 << 20, 7, 0, -1 << 20);
+        MatcherAssert.assertThat(
+            set,
+            Matchers.allOf(
+                Matchers.<Integer>iterableWithSize(5),
+                Matchers.contains(-1 << 20, -3, 0, 7, 1 << 20)
+            )
+        );
+        MatcherAssert.assertThat(set.first(), Matchers.equalTo(-1 << 20));
+        MatcherAssert.assertThat(set.last(), Matchers.equalTo(1 << 20));
+    }
+
+    @Test
+    void findsValuesInAllContainers() {
+        final SortedSet<Integer> expected = RoaringSetTest.sample(1L);
+        final RoaringSet set = new RoaringSet(expected);
+        MatcherAssert.assertThat(set, Matchers.equalTo(expected));
+        MatcherAssert.assertThat(set.size(), Matchers.equalTo(expected.size()));
+        MatcherAssert.assertThat(
+            set.contains(1_000_001) && !set.contains(-5),
+            Matchers.is(expected.contains(1_000_001) && !expected.contains(-5))
+        );
+    }
+
+    @Test
+    void combinesSets() {
+        final SortedSet<Integer> left = RoaringSetTest.sample(2L);
+        final SortedSet<Integer> right = RoaringSetTest.sample(3L);
+        final SortedSet<Integer> and = new TreeSet<>(left);
+        and.retainAll(right);
+        final SortedSet<Integer> or = new TreeSet<>(left);
+        or.addAll(right);
+        final SortedSet<Integer> diff = new TreeSet<>(left);
+        diff.removeAll(right);
+        final RoaringSet first = new RoaringSet(left);
+        final RoaringSet second = new RoaringSet(right);
+        MatcherAssert.assertThat(first.and(second), Matchers.equalTo(and));
+        MatcherAssert.assertThat(first.or(second), Matchers.equalTo(or));
+        MatcherAssert.assertThat(first.andNot(second), Matchers.equalTo(diff));
+        MatcherAssert.assertThat(
+            first.or(second),
+            Matchers.equalTo(new RoaringSet(or))
+        );
+    }
+
+    @Test
+    void makesHeadAndTailSets() {
+        final SortedSet<Integer> expected = RoaringSetTest.sample(4L);
+        final RoaringSet set = new RoaringSet(expected);
+        MatcherAssert.assertThat(
+            set.headSet(70_000),
+            Matchers.equalTo(expected.headSet(70_000))
+        );
+        MatcherAssert.assertThat(
+            set.tailSet(-10),
+            Matchers.equalTo(expected.tailSet(-10))
+        );
+        MatcherAssert.assertThat(
+            set.subSet(100, 2_000_000),
+            Matchers.equalTo(expected.subSet(100, 2_000_000))
+        );
+    }
+
+    @Test
+    void convertsArraySortedSet() {
+        final ArraySortedSet<Integer> origin = new ArraySortedSet<>(
+            5, 1, 3, -8
+        );
+        MatcherAssert.assertThat(
+            new RoaringSet(origin),
+            Matchers.allOf(
+                Matchers.equalTo(origin),
+                Matchers.hasToString("-8, 1, 3, 5")
+            )
+        );
+    }
+
+    @Test
+    void compressesDenseValues() {
+        final int[] values = new int[1_000_000];
+        for (int idx = 0; idx < values.length; ++idx) {
+            values[idx] = idx * 2;
+        }
+        MatcherAssert.assertThat(
+            new Footprint(new RoaringSet(values)).retained(),
+            Matchers.lessThan(300_000L)
+        );
+    }
+
+    @Test
+    void rejectsFirstOfEmptySet() {
+        Assertions.assertThrows(
+            NoSuchElementException.class,
+            () -> new RoaringSet().first()
+        );
+    }
+
+    /**
+     * Values in sparse, dense and consecutive groups.
+     * @param seed Seed of randomness
+     * @return Values
+     */
+    private static SortedSet<Integer> sample(final long seed) {
+        final Random random = new Random(seed);
+        final SortedSet<Integer> values = new TreeSet<>();
+        for (int idx = 0; idx < 1000; ++idx) {
+            values.add(random.nextInt());
+        }
+        for (int idx = 0; idx < 20_000; ++idx) {
+            values.add(65_536 + random.nextInt(65_536));
+        }
+        final int start = 1_000_000 + random.nextInt(1000);
+        for (int idx = 0; idx < 50_000; ++idx) {
+            values.add(start + idx);
+        }
+        for (int idx = 0; idx < 300; ++idx) {
+            values.add(random.nextInt(200) - 100);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Rope}.
+ * @since 2.0
+ */
+final class RopeTest {
+
+    @Test
+    void concatenatesArrays() {
+        MatcherAssert.assertThat(
+            Array.concat(
+                Array.of(1, 2), new Array<Integer>(), Array.of(3, 4, 5)
+            ).with(Array.of(6)),
+            Matchers.allOf(
+                Matchers.<Integer>iterableWithSize(6),
+                Matchers.contains(1, 2, 3, 4, 5, 6)
+            )
+        );
+    }
+
+    @Test
+    void findsItemsByIndex() {
+        final Rope<Integer> rope = Array.concat(
+            Array.of(0, 1, 2), Array.of(3), Array.of(4, 5)
+        );
+        final Collection<Integer> items = new ArrayList<>(rope.size());
+        for (int idx = rope.size() - 1; idx >= 0; --idx) {
+            items.add(rope.get(idx));
+        }
+        MatcherAssert.assertThat(items, Matchers.contains(5, 4, 3, 2, 1, 0));
+    }
+
+    @Test
+    void concatenatesRopes() {
+        MatcherAssert.assertThat(
+            Array.concat(Array.of("a"), Array.of("b")).with(
+                Array.concat(Array.of("c"), Array.of("d", "e"))
+            ),
+            Matchers.allOf(
+                Matchers.hasToString("a, b, c, d, e"),
+                Matchers.equalTo(
+                    Array.concat(Array.of("a", "b", "c"), Array.of("d", "e"))
+                )
+            )
+        );
+    }
+
+    @Test
+    void flattensIntoArray() {
+        MatcherAssert.assertThat(
+            Array.concat(Array.of(1, 2), Array.of(3)).flatten(),
+            Matchers.equalTo(Array.of(1, 2, 3))
+        );
+    }
+
+    @Test
+    void findsIndexesOfItems() {
+        final Rope<Integer> rope = Array.concat(
+            Array.of(7, 8), Array.of(9, 7)
+        );
+        MatcherAssert.assertThat(
+            new int[] {rope.indexOf(7), rope.lastIndexOf(7), rope.indexOf(1)},
+            Matchers.equalTo(new int[] {0, 3, -1})
+        );
+    }
+
+    @Test
+    void rejectsIndexOutOfBounds() {
+        final Rope<Integer> rope = Array.concat(Array.of(1), Array.of(2));
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> rope.get(2)
+        );
+    }
+
+    @Test
+    void hashesLikeArray() {
+        MatcherAssert.assertThat(
+            Array.concat(Array.of(1, 2), Array.of(3)).hashCode(),
+            Matchers.equalTo(Array.of(1, 2, 3).hashCode())
+        );
+    }
+
+    @Test
+    void hashesNullItemsLikeArray() {
+        MatcherAssert.assertThat(
+            Array.concat(Array.of("a", null), Array.of("b")).hashCode(),
+            Matchers.equalTo(Array.of("a", null, "b").hashCode())
+        );
+    }
+
+    @Test
+    void comparesRopesSplitDifferently() {
+        final Rope<Integer> rope = Array.concat(
+            Array.of(1), Array.of(2, 3, 4), Array.of(5)
+        );
+        MatcherAssert.assertThat(
+            rope,
+            Matchers.equalTo(Array.concat(Array.of(1, 2), Array.of(3, 4, 5)))
+        );
+        MatcherAssert.assertThat(
+            rope,
+            Matchers.not(
+                Matchers.equalTo(
+                    Array.concat(Array.of(1, 2), Array.of(3, 4, 6))
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            rope.with(Array.of()), Matchers.sameInstance(rope)
+        );
+    }
+
+}
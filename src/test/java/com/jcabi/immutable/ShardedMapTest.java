@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ShardedMap}.
+ * @since 2.0
+ */
+final class ShardedMapTest {
+
+    @Test
+    void behavesLikeOneMap() {
+        final Map<String, Integer> origin = new HashMap<>(0);
+        for (int idx = 0; idx < 500; ++idx) {
+            origin.put(String.format("key-%d", idx), idx);
+        }
+        final ShardedMap<String, Integer> map = new ShardedMap<>(origin);
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.equalTo(origin),
+                Matchers.aMapWithSize(500),
+                Matchers.hasEntry("key-7", 7)
+            )
+        );
+        MatcherAssert.assertThat(
+            map.hashCode(),
+            Matchers.equalTo(origin.hashCode())
+        );
+        MatcherAssert.assertThat(
+            map.keySet(),
+            Matchers.equalTo(origin.keySet())
+        );
+    }
+
+    @Test
+    void addsAndRemovesEntries() {
+        final ShardedMap<Integer, String> map =
+            new ShardedMap<Integer, String>()
+                .with(1, "one")
+                .with(2, "two")
+                .with(1, "uno")
+                .without(2)
+                .with(3, "three");
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.aMapWithSize(2),
+                Matchers.hasEntry(1, "uno"),
+                Matchers.hasEntry(3, "three"),
+                Matchers.not(Matchers.hasKey(2))
+            )
+        );
+    }
+
+    @Test
+    void rejectsNullEntries() {
+        final ShardedMap<String, String> map = new ShardedMap<String, String>()
+            .with("x", "y");
+        final Map<String, String> value = new HashMap<>(0);
+        value.put("x", null);
+        final Map<String, String> key = new HashMap<>(0);
+        key.put(null, "y");
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> map.with(value)
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class, () -> map.with(key)
+        );
+        MatcherAssert.assertThat(map, Matchers.aMapWithSize(1));
+    }
+
+    @Test
+    void removesManyKeys() {
+        final Map<Integer, Integer> origin = new HashMap<>(0);
+        for (int idx = 0; idx < 100; ++idx) {
+            origin.put(idx, idx);
+        }
+        MatcherAssert.assertThat(
+            new ShardedMap<>(origin, 3).without(Arrays.asList(1, 2, 3, 1000)),
+            Matchers.aMapWithSize(97)
+        );
+    }
+
+    @Test
+    void equalsRegardlessOfShards() {
+        final Map<String, String> origin = new HashMap<>(0);
+        origin.put("a", "b");
+        origin.put("c", "d");
+        MatcherAssert.assertThat(
+            new ShardedMap<>(origin, 0),
+            Matchers.allOf(
+                Matchers.equalTo(new ShardedMap<>(origin, 4)),
+                Matchers.equalTo(new ArrayMap<>(origin))
+            )
+        );
+    }
+
+    @Test
+    void buildsLargeMapInParallel() {
+        final Map<Integer, Integer> origin = new HashMap<>(0);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            origin.put(idx, -idx);
+        }
+        final ShardedMap<Integer, Integer> map = new ShardedMap<>(origin)
+            .with(-1, 1);
+        MatcherAssert.assertThat(
+            map,
+            Matchers.allOf(
+                Matchers.aMapWithSize(100_001),
+                Matchers.hasEntry(54_321, -54_321),
+                Matchers.hasEntry(-1, 1)
+            )
+        );
+    }
+}
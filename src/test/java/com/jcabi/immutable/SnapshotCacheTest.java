@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SnapshotCache}.
+ * @since 2.0
+ */
+final class SnapshotCacheTest {
+
+    @Test
+    void findsEntriesAfterFlush() {
+        final SnapshotCache<String, Integer> cache = new SnapshotCache<>(
+            10, 1L, TimeUnit.HOURS
+        );
+        cache.put("one", 1);
+        cache.put("two", 2);
+        cache.invalidate("two");
+        MatcherAssert.assertThat(cache.get("one"), Matchers.nullValue());
+        cache.flush();
+        MatcherAssert.assertThat(cache.get("one"), Matchers.equalTo(1));
+        MatcherAssert.assertThat(cache.get("two"), Matchers.nullValue());
+    }
+
+    @Test
+    void showsLonePutAfterPeriodInExecutor() throws InterruptedException {
+        final SnapshotCache<String, Integer> cache = new SnapshotCache<>(
+            10, 10L, TimeUnit.MILLISECONDS
+        );
+        final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor();
+        try {
+            cache.schedule(executor);
+            cache.put("lone", 1);
+            for (int idx = 0; idx < 500 && cache.get("lone") == null; ++idx) {
+                TimeUnit.MILLISECONDS.sleep(10L);
+            }
+            MatcherAssert.assertThat(cache.get("lone"), Matchers.equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void neverRebuildsOnRead() throws InterruptedException {
+        final SnapshotCache<String, Integer> cache = new SnapshotCache<>(
+            10, 1L, TimeUnit.MILLISECONDS
+        );
+        cache.put("first", 1);
+        TimeUnit.MILLISECONDS.sleep(10L);
+        MatcherAssert.assertThat(cache.get("first"), Matchers.nullValue());
+        cache.put("second", 2);
+        MatcherAssert.assertThat(cache.get("first"), Matchers.equalTo(1));
+    }
+
+    @Test
+    void rejectsNullKey() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new SnapshotCache<String, Integer>(1).get(null)
+        );
+    }
+
+    @Test
+    void rebuildsAfterLargeBatch() {
+        final SnapshotCache<Integer, Integer> cache = new SnapshotCache<>(
+            5000, 1L, TimeUnit.HOURS
+        );
+        for (int idx = 0; idx < 2000; ++idx) {
+            cache.put(idx, idx);
+        }
+        MatcherAssert.assertThat(cache.get(7), Matchers.equalTo(7));
+    }
+
+    @Test
+    void evictsRarelyUsedEntries() {
+        final SnapshotCache<String, String> cache = new SnapshotCache<>(
+            2, 1L, TimeUnit.HOURS
+        );
+        cache.put("a", "alpha");
+        cache.put("b", "beta");
+        cache.flush();
+        for (int idx = 0; idx < 5; ++idx) {
+            cache.get("a");
+            cache.get("b");
+        }
+        cache.put("c", "gamma");
+        cache.flush();
+        MatcherAssert.assertThat(
+            cache.snapshot(),
+            Matchers.allOf(
+                Matchers.hasKey("a"),
+                Matchers.hasKey("b"),
+                Matchers.aMapWithSize(2)
+            )
+        );
+        MatcherAssert.assertThat(cache.evictions(), Matchers.equalTo(1L));
+    }
+
+    @Test
+    void admitsFrequentlyUsedKeys() {
+        final SnapshotCache<String, String> cache = new SnapshotCache<>(
+            1, 1L, TimeUnit.HOURS
+        );
+        cache.put("old", "x");
+        cache.flush();
+        for (int idx = 0; idx < 3; ++idx) {
+            cache.get("new");
+        }
+        cache.put("new", "y");
+        cache.flush();
+        MatcherAssert.assertThat(
+            cache.snapshot(),
+            Matchers.allOf(Matchers.hasKey("new"), Matchers.aMapWithSize(1))
+        );
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        final SnapshotCache<String, String> cache = new SnapshotCache<>(4);
+        cache.put("k", "v");
+        cache.flush();
+        cache.get("k");
+        cache.get("k");
+        cache.get("absent");
+        MatcherAssert.assertThat(
+            cache,
+            Matchers.hasToString("1/4 entries, 2 hits, 1 misses, 0 evictions")
+        );
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2012-2025 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the jcabi.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jcabi.immutable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SnapshotPublisher}.
+ * @since 2.0
+ */
+final class SnapshotPublisherTest {
+
+    @Test
+    void deliversCurrentVersionOnSubscribe() {
+        final SnapshotPublisher<ArraySet<String>> pub =
+            new SnapshotPublisher<>(
+                ArraySet.of("a", "b"), ArraySet::size, Runnable::run
+            );
+        final SnapshotPublisherTest.Sink<ArraySet<String>> sink =
+            new SnapshotPublisherTest.Sink<>();
+        pub.subscribe(sink);
+        sink.request(1L);
+        MatcherAssert.assertThat(
+            sink.versions(),
+            Matchers.contains(Matchers.hasToString("#0 (2)"))
+        );
+    }
+
+    @Test
+    void waitsForDemand() {
+        final SnapshotPublisher<ArraySet<Integer>> pub =
+            new SnapshotPublisher<>(
+                ArraySet.of(), ArraySet::size, Runnable::run
+            );
+        final SnapshotPublisherTest.Sink<ArraySet<Integer>> sink =
+            new SnapshotPublisherTest.Sink<>();
+        pub.subscribe(sink);
+        pub.publish(ArraySet.of(1));
+        MatcherAssert.assertThat(sink.versions(), Matchers.empty());
+    }
+
+    @Test
+    void coalescesVersionsForSlowSubscriber() {
+        final SnapshotPublisher<ArrayMap<Integer, Integer>> pub =
+            new SnapshotPublisher<>(
+                ArrayMap.of(), ArrayMap::size, Runnable::run
+            );
+        final SnapshotPublisherTest.Sink<ArrayMap<Integer, Integer>> sink =
+            new SnapshotPublisherTest.Sink<>();
+        pub.subscribe(sink);
+        sink.request(1L);
+        ArrayMap<Integer, Integer> map = ArrayMap.of();
+        for (int idx = 0; idx < 100; ++idx) {
+            map = map.with(idx, idx);
+            pub.publish(map);
+        }
+        sink.request(5L);
+        MatcherAssert.assertThat(
+            sink.versions(),
+            Matchers.contains(
+                Matchers.hasToString("#0 (0)"),
+                Matchers.hasToString("#100 (100)")
+            )
+        );
+    }
+
+    @Test
+    void completesWhenClosed() {
+        final SnapshotPublisher<ArraySet<String>> pub =
+            new SnapshotPublisher<>(
+                ArraySet.of("x"), ArraySet::size, Runnable::run
+            );
+        final SnapshotPublisherTest.Sink<ArraySet<String>> sink =
+            new SnapshotPublisherTest.Sink<>();
+        pub.subscribe(sink);
+        sink.request(Long.MAX_VALUE);
+        pub.publish(ArraySet.of("x", "y"));
+        pub.close();
+        MatcherAssert.assertThat(
+            sink.complete(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void rejectsNonPositiveRequest() {
+        final SnapshotPublisher<ArraySet<String>> pub =
+            new SnapshotPublisher<>(
+                ArraySet.of(), ArraySet::size, Runnable::run
+            );
+        final SnapshotPublisherTest.Sink<ArraySet<String>> sink =
+            new SnapshotPublisherTest.Sink<>();
+        pub.subscribe(sink);
+        sink.request(0L);
+        MatcherAssert.assertThat(
+            sink.error(),
+            Matchers.instanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    @Test
+    void signalsErrorAfterNext() {
+        final SnapshotPublisher<ArraySet<String>> pub =
+            new SnapshotPublisher<>(
+                ArraySet.of(), ArraySet::size, Runnable::run
+            );
+        final AtomicBoolean inside = new AtomicBoolean();
+        final List<String> signals = new CopyOnWriteArrayList<>();
+        pub.subscribe(
+            new Flow.Subscriber<SnapshotPublisher.Version<ArraySet<String>>>() {
+                /**
+                 * The subscription.
+                 */
+                private Flow.Subscription link;
+
+                @Override
+                public void onSubscribe(final Flow.Subscription sub) {
+                    this.link = sub;
+                    sub.request(1L);
+                }
+
+                @Override
+                public void onNext(
+                    final SnapshotPublisher.Version<ArraySet<String>> ver) {
+                    inside.set(true);
+                    signals.add("next");
+                    this.link.request(-1L);
+                    inside.set(false);
+                }
+
+                @Override
+                public void onError(final Throwable error) {
+                    signals.add(String.format("error:%b", inside.get()));
+                }
+
+                @Override
+                public void onComplete() {
+                    signals.add("complete");
+                }
+            }
+        );
+        MatcherAssert.assertThat(
+            signals, Matchers.contains("next", "error:false")
+        );
+    }
+
+    @Test
+    void cancelsSubscriberThatThrows() {
+        final SnapshotPublisher<ArraySet<String>> pub =
+            new SnapshotPublisher<>(
+                ArraySet.of(), ArraySet::size, Runnable::run
+            );
+        final SnapshotPublisherTest.Sink<ArraySet<String>> broken =
+            new SnapshotPublisherTest.Sink<>(true);
+        pub.subscribe(broken);
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> broken.request(Long.MAX_VALUE)
+        );
+        final SnapshotPublisherTest.Sink<ArraySet<String>> sink =
+            new SnapshotPublisherTest.Sink<>();
+        pub.subscribe(sink);
+        sink.request(Long.MAX_VALUE);
+        pub.publish(ArraySet.of("a"));
+        MatcherAssert.assertThat(
+            sink.versions(),
+            Matchers.contains(
+                Matchers.hasToString("#0 (0)"),
+                Matchers.hasToString("#1 (1)")
+            )
+        );
+    }
+
+    /**
+     * Subscriber, which remembers what it gets.
+     * @param <T> Type of snapshots
+     * @since 2.0
+     */
+    private static final class Sink<T>
+        implements Flow.Subscriber<SnapshotPublisher.Version<T>> {
+        /**
+         * Subscription.
+         */
+        private final AtomicReference<Flow.Subscription> subscription =
+            new AtomicReference<>();
+
+        /**
+         * Versions received.
+         */
+        private final List<SnapshotPublisher.Version<T>> received =
+            new CopyOnWriteArrayList<>();
+
+        /**
+         * Error received.
+         */
+        private final AtomicReference<Throwable> failure =
+            new AtomicReference<>();
+
+        /**
+         * Is it completed?
+         */
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        /**
+         * Does it throw from onNext()?
+         */
+        private final boolean broken;
+
+        /**
+         * Ctor.
+         */
+        Sink() {
+            this(false);
+        }
+
+        /**
+         * Ctor.
+         * @param fails Does it throw from onNext()?
+         */
+        Sink(final boolean fails) {
+            this.broken = fails;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription sub) {
+            this.subscription.set(sub);
+        }
+
+        @Override
+        public void onNext(final SnapshotPublisher.Version<T> item) {
+            if (this.broken) {
+                throw new IllegalStateException("subscriber is broken");
+            }
+            this.received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.failure.set(error);
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed.set(true);
+        }
+
+        /**
+         * Request more.
+         * @param count How many
+         */
+        void request(final long count) {
+            this.subscription.get().request(count);
+        }
+
+        /**
+         * Versions received.
+         * @return List of them
+         */
+        List<SnapshotPublisher.Version<T>> versions() {
+            return this.received;
+        }
+
+        /**
+         * Error received.
+         * @return Error or NULL
+         */
+        Throwable error() {
+            return this.failure.get();
+        }
+
+        /**
+         * Is it completed?
+         * @return TRUE if so
+         */
+        boolean complete() {
+            return this.completed.get();
+        }
+    }
+}